@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Compara el pool de hilos de plataforma de Tomcat con los hilos virtuales bajo la misma carga de k6 (tasks-load.js).
+# Levanta el servicio una vez por modo, con un directorio de datos vacío, ejecuta la prueba y al final imprime
+# throughput, p99 y p99.9 por operación, tasa de errores y el pico de hilos de plataforma de la JVM.
+# Requiere k6, jq, curl y un jar compilado con el perfil java21 (en Java 17 ambos modos usan hilos de plataforma).
+# Uso: loadtest/compare-threads.sh [jar]
+# Variables: VUS (10000), DURATION (2m), WRITE_RATIO (0.2), PORT (8080), TASKS_PERSISTENCE_MODE (wal), OUT (target/loadtest)
+set -euo pipefail
+
+JAR=${1:-target/tasks-service-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-8080}
+VUS=${VUS:-10000}
+DURATION=${DURATION:-2m}
+WRITE_RATIO=${WRITE_RATIO:-0.2}
+PERSISTENCE_MODE=${TASKS_PERSISTENCE_MODE:-wal}
+OUT=${OUT:-target/loadtest}
+BASE_URL="http://localhost:${PORT}"
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+mkdir -p "$OUT"
+ulimit -n 65536 2>/dev/null || echo "No se pudo subir el límite de descriptores (ulimit -n); con $VUS conexiones la prueba puede fallar" >&2
+
+SERVER_PID=""
+trap '[ -n "$SERVER_PID" ] && kill "$SERVER_PID" 2>/dev/null || true' EXIT
+
+run_mode() {
+    local mode=$1 virtual=$2
+    local data
+    data=$(mktemp -d)
+    echo "== $mode (TASKS_VIRTUAL_THREADS=$virtual, TASKS_PERSISTENCE_MODE=$PERSISTENCE_MODE)"
+    TASKS_VIRTUAL_THREADS=$virtual TASKS_PERSISTENCE_MODE=$PERSISTENCE_MODE TASKS_DATA_DIR=$data TASKS_SEED_ENABLED=false \
+        java -jar "$JAR" --server.port="$PORT" > "$OUT/$mode-server.log" 2>&1 &
+    SERVER_PID=$!
+    for _ in $(seq 1 60); do
+        curl -sf "$BASE_URL/actuator/health" > /dev/null && break
+        sleep 1
+    done
+    curl -sf "$BASE_URL/actuator/health" > /dev/null || { echo "El servicio no inició; ver $OUT/$mode-server.log" >&2; exit 1; }
+
+    # Un umbral incumplido hace que k6 termine con error, pero el resumen se exporta igual y se compara
+    k6 run --quiet -e BASE_URL="$BASE_URL" -e VUS="$VUS" -e DURATION="$DURATION" -e WRITE_RATIO="$WRITE_RATIO" \
+        --summary-export "$OUT/$mode.json" "$SCRIPT_DIR/tasks-load.js" || true
+    curl -sf "$BASE_URL/actuator/metrics/jvm.threads.peak" | jq '.measurements[0].value' > "$OUT/$mode-threads.txt"
+
+    kill "$SERVER_PID"
+    wait "$SERVER_PID" 2>/dev/null || true
+    SERVER_PID=""
+    rm -rf "$data"
+}
+
+run_mode platform false
+run_mode virtual true
+
+printf '\n%-9s %9s %13s %15s %15s %17s %9s %14s\n' \
+    "modo" "req/s" "p99 lectura" "p99.9 lectura" "p99 escritura" "p99.9 escritura" "errores" "hilos (pico)"
+for mode in platform virtual; do
+    jq -r --arg mode "$mode" --arg threads "$(cat "$OUT/$mode-threads.txt")" '
+        .metrics as $m
+        | [$mode,
+           ($m.http_reqs.rate | floor),
+           (($m["http_req_duration{operation:read}"]["p(99)"] | floor | tostring) + " ms"),
+           (($m["http_req_duration{operation:read}"]["p(99.9)"] | floor | tostring) + " ms"),
+           (($m["http_req_duration{operation:write}"]["p(99)"] | floor | tostring) + " ms"),
+           (($m["http_req_duration{operation:write}"]["p(99.9)"] | floor | tostring) + " ms"),
+           ((($m.http_req_failed.value * 10000 | floor) / 100 | tostring) + " %"),
+           ($threads | tonumber | floor)]
+        | @tsv' "$OUT/$mode.json" \
+        | awk -F'\t' '{ printf "%-9s %9s %13s %15s %15s %17s %9s %14s\n", $1, $2, $3, $4, $5, $6, $7, $8 }'
+done
+echo "Resúmenes completos en $OUT/platform.json y $OUT/virtual.json"
@@ -0,0 +1,62 @@
+// Prueba de carga del servicio de tareas con k6 (https://k6.io).
+// Mantiene VUS conexiones concurrentes: cada usuario virtual consulta tareas y, con probabilidad WRITE_RATIO, crea una.
+// Uso: k6 run -e BASE_URL=http://localhost:8080 -e VUS=10000 -e DURATION=2m loadtest/tasks-load.js
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '10000');
+const DURATION = __ENV.DURATION || '2m';
+const WRITE_RATIO = parseFloat(__ENV.WRITE_RATIO || '0.2');
+const DOCUMENTS = parseInt(__ENV.DOCUMENTS || '1000');
+
+const errors = new Counter('task_errors');
+
+export const options = {
+    scenarios: {
+        tasks: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(99)', 'p(99.9)', 'max'],
+    thresholds: {
+        'http_req_failed': ['rate<0.01'],
+        'http_req_duration{operation:read}': ['p(99)<500'],
+        'http_req_duration{operation:write}': ['p(99)<1000'],
+    },
+};
+
+const headers = { 'Content-Type': 'application/json' };
+
+export default function () {
+    const documentId = `doc-${Math.floor(Math.random() * DOCUMENTS)}`;
+    if (Math.random() < WRITE_RATIO) {
+        const body = JSON.stringify({
+            documentId: documentId,
+            title: `Tarea de carga ${__VU}-${__ITER}`,
+            description: 'Creada por la prueba de carga',
+            status: 'PENDING',
+            assignedUserId: `user-${__VU % 100}`,
+            priority: 'MEDIUM',
+            dueDate: '2030-01-01T00:00:00',
+        });
+        const response = http.post(`${BASE_URL}/api/tasks`, body, { headers, tags: { operation: 'write' } });
+        if (!check(response, { 'tarea creada': (r) => r.status === 201 })) {
+            errors.add(1);
+        }
+    } else {
+        const response = http.get(`${BASE_URL}/api/tasks/document/${documentId}/tasks?limit=50`,
+            { tags: { operation: 'read' } });
+        if (!check(response, { 'tareas obtenidas': (r) => r.status === 200 })) {
+            errors.add(1);
+        }
+    }
+}
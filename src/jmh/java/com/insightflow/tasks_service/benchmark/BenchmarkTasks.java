@@ -0,0 +1,82 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.OffHeapTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Utilidades para generar tareas sintéticas en los benchmarks.
+ */
+final class BenchmarkTasks {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+
+    private BenchmarkTasks() {
+    }
+
+    /**
+     * Crea una tarea sintética distribuida entre los documentos y usuarios indicados.
+     * @param index Posición de la tarea dentro del conjunto generado.
+     * @param documents Número de documentos distintos.
+     * @param users Número de usuarios distintos.
+     * @return La tarea generada.
+     */
+    static Task task(int index, int documents, int users) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusSeconds(index);
+        return Task.builder()
+                .id(UUID.randomUUID().toString())
+                .documentId("doc-" + (index % documents))
+                .title("Tarea " + index)
+                .description("Descripción de la tarea " + index)
+                .status(STATUSES[index % STATUSES.length])
+                .assignedUserId("user-" + (index % users))
+                .priority(PRIORITIES[index % PRIORITIES.length])
+                .dueDate(createdAt.plusDays(7))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .active(true)
+                .build();
+    }
+
+    /**
+     * Crea un repositorio vacío del tipo indicado, con los mismos valores que {@code tasks.store.type}.
+     * @param store "heap" u "offheap".
+     * @return El repositorio.
+     */
+    static TaskRepository repository(String store) {
+        return switch (store) {
+            case "heap" -> new InMemoryTaskRepository();
+            case "offheap" -> new OffHeapTaskRepository();
+            default -> throw new IllegalArgumentException("Tipo de almacén desconocido: " + store);
+        };
+    }
+
+    /**
+     * Crea un ObjectMapper con la misma configuración que la aplicación (spring.jackson.* en application.properties).
+     * @return El ObjectMapper.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .indentOutput(false)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+
+    /**
+     * Sube el nivel de log a WARN para que los benchmarks que invocan el servicio midan su lógica
+     * y no la escritura de los mensajes en la consola.
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
@@ -0,0 +1,113 @@
+package com.insightflow.tasks_service.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.insightflow.tasks_service.config.RequestLogger;
+import com.insightflow.tasks_service.config.TaskRequestLoggingProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el throughput de peticiones simuladas (trabajo de CPU fijo más sus logs) con varios hilos escribiendo en un archivo:
+ * {@code legacy} escribe las tres líneas INFO síncronas que antes generaba cada lectura (controlador y servicio),
+ * {@code sync} una línea de {@link RequestLogger} por petición en el mismo hilo, {@code async} la misma línea
+ * a través del AsyncAppender de logback-spring.xml y {@code asyncSampled} con el muestreo por defecto (1%).
+ * Con la cola del AsyncAppender saturada se descartan líneas INFO, igual que en la aplicación; las líneas
+ * escritas quedan en target/jmh-request-log.log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class RequestLoggingBenchmark {
+    private static final org.slf4j.Logger LEGACY_LOG = LoggerFactory.getLogger(RequestLoggingBenchmark.class);
+    private static final long HANDLER_TOKENS = 2_000;
+
+    @Param({"legacy", "sync", "async", "asyncSampled"})
+    private String mode;
+
+    private boolean legacy;
+    private RequestLogger requestLogger;
+    private FileAppender<ILoggingEvent> fileAppender;
+    private Appender<ILoggingEvent> appender;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Path file = Path.of("target", "jmh-request-log.log");
+        Files.createDirectories(file.getParent());
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %logger{36} - %msg%n");
+        encoder.start();
+        fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(file.toString());
+        fileAppender.setAppend(false);
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        appender = fileAppender;
+        if (mode.startsWith("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.addAppender(fileAppender);
+            async.start();
+            appender = async;
+        }
+        for (Class<?> type : new Class<?>[]{RequestLogger.class, RequestLoggingBenchmark.class}) {
+            Logger logger = context.getLogger(type);
+            logger.setLevel(ch.qos.logback.classic.Level.INFO);
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+        }
+
+        TaskRequestLoggingProperties properties = new TaskRequestLoggingProperties();
+        properties.setSampleRate("asyncSampled".equals(mode) ? 0.01 : 1.0);
+        requestLogger = new RequestLogger(properties);
+        legacy = "legacy".equals(mode);
+        ids = new String[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = BenchmarkTasks.task(i, 10, 10).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(RequestLogger.class).detachAppender(appender);
+        context.getLogger(RequestLoggingBenchmark.class).detachAppender(appender);
+        appender.stop();
+        fileAppender.stop();
+    }
+
+    @Benchmark
+    public void getTaskById() {
+        long start = System.nanoTime();
+        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        Blackhole.consumeCPU(HANDLER_TOKENS);
+        if (legacy) {
+            LEGACY_LOG.info("Recibida solicitud para obtener tarea con ID: {}", id);
+            LEGACY_LOG.info("Obteniendo tarea con ID: {}", id);
+            LEGACY_LOG.info("Tarea con ID {} obtenida exitosamente", id);
+        } else {
+            requestLogger.log("GET", "/api/tasks/{id}", "getTaskById", 200, System.nanoTime() - start, null);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochGenerator;
+import com.insightflow.tasks_service.service.TaskIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la generación de IDs de tarea con varios hilos: {@link UUID#randomUUID()} (SecureRandom en cada ID),
+ * el generador UUIDv7 de java-uuid-generator (lock y SecureRandom) y {@link TaskIdGenerator}
+ * (UUIDv7 sin locks con ThreadLocalRandom). Incluye la conversión a texto, que es como se almacenan los IDs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TaskIdGeneratorBenchmark {
+    private final TimeBasedEpochGenerator epochGenerator = Generators.timeBasedEpochGenerator();
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String javaUuidGeneratorEpoch() {
+        return epochGenerator.generate().toString();
+    }
+
+    @Benchmark
+    public String taskIdGenerator() {
+        return TaskIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,109 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.UpdateTaskStatusRequest;
+import com.insightflow.tasks_service.exception.TaskNotFoundException;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import com.insightflow.tasks_service.service.TaskResponseCache;
+import com.insightflow.tasks_service.service.TaskService;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de las búsquedas individuales de TaskService para tareas existentes ({@code hit}) e inexistentes
+ * ({@code miss}), como las que genera el tráfico de escaneo. {@code legacyMiss} reproduce la búsqueda anterior
+ * (Optional, excepción con traza de la pila y mensaje concatenado) como referencia.
+ * Pensado para ejecutarse con {@code -prof gc}, que reporta los bytes asignados por operación (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadPathBenchmark {
+    private static final UpdateTaskStatusRequest STATUS_REQUEST = new UpdateTaskStatusRequest("IN_PROGRESS");
+
+    @Param({"heap", "offheap"})
+    private String store;
+
+    @Param({"10000"})
+    private int taskCount;
+
+    private TaskRepository repository;
+    private TaskService taskService;
+    private String[] ids;
+    private String[] missingIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkTasks.quietLogging();
+        repository = BenchmarkTasks.repository(store);
+        ids = new String[taskCount];
+        missingIds = new String[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            ids[i] = repository.save(BenchmarkTasks.task(i, 1000, 100)).getId();
+            missingIds[i] = UUID.randomUUID().toString();
+        }
+        TaskCacheProperties cacheProperties = new TaskCacheProperties();
+        cacheProperties.setEnabled(false);
+        taskService = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskResponseCache(cacheProperties, BenchmarkTasks.objectMapper()));
+    }
+
+    private static String random(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    @Benchmark
+    public TaskResponse hit() {
+        return taskService.getTaskById(random(ids));
+    }
+
+    @Benchmark
+    public Object miss() {
+        try {
+            return taskService.getTaskById(random(missingIds));
+        } catch (TaskNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object updateMiss() {
+        try {
+            return taskService.updateTaskStatus(random(missingIds), STATUS_REQUEST, null);
+        } catch (TaskNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object deleteMiss() {
+        try {
+            taskService.deleteTask(random(missingIds));
+            return null;
+        } catch (TaskNotFoundException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object legacyMiss() {
+        String id = random(missingIds);
+        try {
+            Task task = repository.findById(id)
+                    .filter(Task::isActive)
+                    .orElseThrow(() -> new RuntimeException("Tarea con ID " + id + " no encontrada"));
+            return TaskResponse.fromEntity(task);
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+}
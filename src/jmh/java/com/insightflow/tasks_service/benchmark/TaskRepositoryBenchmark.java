@@ -0,0 +1,78 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las operaciones básicas del repositorio con 10k, 100k y 1M tareas en ambos almacenes.
+ * {@code save} reemplaza una tarea existente con otro estado, de modo que el tamaño del repositorio
+ * no crece durante la medición y cada escritura actualiza índices y contadores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskRepositoryBenchmark {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    @Param({"10000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"1000"})
+    private int documents;
+
+    @Param({"heap", "offheap"})
+    private String store;
+
+    private TaskRepository repository;
+    private Task[] tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkTasks.repository(store);
+        tasks = new Task[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            tasks[i] = repository.save(BenchmarkTasks.task(i, documents, 100));
+        }
+    }
+
+    private Task randomTask() {
+        return tasks[ThreadLocalRandom.current().nextInt(tasks.length)];
+    }
+
+    @Benchmark
+    public Task save() {
+        Task task = randomTask();
+        return repository.save(task.toBuilder()
+                .status(STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)])
+                .build());
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return repository.findById(randomTask().getId());
+    }
+
+    @Benchmark
+    public List<Task> findByDocumentId() {
+        return repository.findByDocumentId("doc-" + ThreadLocalRandom.current().nextInt(documents));
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public long count() {
+        return repository.count();
+    }
+}
@@ -0,0 +1,58 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.OffHeapTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mide el heap retenido por el repositorio (tareas, índices, contadores y diccionarios) por cada tarea almacenada.
+ * Las tareas se construyen con strings nuevos en cada una, como los que produce la deserialización
+ * de las peticiones, para que la medición refleje el efecto de los diccionarios del repositorio.
+ * Para el almacén fuera del heap informa además los bytes reservados en memoria directa.
+ * Uso: mvn -P benchmark compile exec:exec -Dbenchmark.main=com.insightflow.tasks_service.benchmark.TaskRepositoryFootprint -Djmh.args="100000 heap"
+ */
+public final class TaskRepositoryFootprint {
+    private static final int DOCUMENTS = 5_000;
+    private static final int USERS = 1_000;
+
+    private TaskRepositoryFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String store = args.length > 1 ? args[1] : "heap";
+        TaskRepository repository = BenchmarkTasks.repository(store);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        Task.TaskPriority[] priorities = Task.TaskPriority.values();
+        for (int i = 0; i < taskCount; i++) {
+            LocalDateTime createdAt = start.plusSeconds(i);
+            repository.save(Task.builder()
+                    .id(UUID.randomUUID().toString())
+                    .documentId(new StringBuilder("doc-").append(i % DOCUMENTS).toString())
+                    .title("Tarea " + i)
+                    .description("Descripción de la tarea " + i)
+                    .status(statuses[i % statuses.length])
+                    .assignedUserId(new StringBuilder("user-").append(i % USERS).toString())
+                    .priority(priorities[i % priorities.length])
+                    .dueDate(createdAt.plusDays(7))
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .active(true)
+                    .build());
+        }
+
+        GraphLayout layout = GraphLayout.parseInstance(repository);
+        System.out.printf("Almacén: %s, tareas: %d, documentos: %d, usuarios: %d%n", store, taskCount, DOCUMENTS, USERS);
+        System.out.printf("Heap retenido: %d bytes (%.1f bytes por tarea), %d objetos%n",
+                layout.totalSize(), (double) layout.totalSize() / taskCount, layout.totalCount());
+        if (repository instanceof OffHeapTaskRepository offHeap) {
+            System.out.printf("Fuera del heap: %d bytes reservados (%.1f bytes por tarea)%n",
+                    offHeap.offHeapBytes(), (double) offHeap.offHeapBytes() / taskCount);
+        }
+    }
+}
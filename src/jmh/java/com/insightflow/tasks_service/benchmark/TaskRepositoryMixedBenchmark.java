@@ -0,0 +1,107 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el throughput del repositorio con lectores y escritores concurrentes sobre las mismas tareas.
+ * El grupo {@code readMostly} reproduce el tráfico habitual (consultas por ID y páginas por documento
+ * junto a un escritor) y {@code writeHeavy} reparte los hilos por igual entre lecturas y escrituras.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskRepositoryMixedBenchmark {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"100000"})
+    private int taskCount;
+
+    @Param({"1000"})
+    private int documents;
+
+    @Param({"heap", "offheap"})
+    private String store;
+
+    private TaskRepository repository;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkTasks.repository(store);
+        ids = new String[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            ids[i] = repository.save(BenchmarkTasks.task(i, documents, 100)).getId();
+        }
+    }
+
+    private Optional<Task> readById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    private List<Task> readDocumentPage() {
+        return repository.findByDocumentId("doc-" + ThreadLocalRandom.current().nextInt(documents), null, PAGE_SIZE);
+    }
+
+    /**
+     * Cambia el estado de una tarea aleatoria como lo hace el servicio: copia, nueva versión y update.
+     * Si otro escritor la modificó antes, la operación cuenta igualmente como un intento.
+     */
+    private Task write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Task current = repository.findById(ids[random.nextInt(ids.length)]).orElseThrow();
+        try {
+            return repository.update(current.toBuilder()
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .version(current.getVersion() + 1)
+                    .build());
+        } catch (RuntimeException e) {
+            return current;
+        }
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(2)
+    public Optional<Task> readMostlyFindById() {
+        return readById();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public List<Task> readMostlyDocumentPage() {
+        return readDocumentPage();
+    }
+
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public Task readMostlyUpdate() {
+        return write();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(2)
+    public Optional<Task> writeHeavyFindById() {
+        return readById();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(2)
+    public Task writeHeavyUpdate() {
+        return write();
+    }
+}
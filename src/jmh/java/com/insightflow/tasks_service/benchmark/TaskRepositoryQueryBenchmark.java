@@ -0,0 +1,104 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import com.insightflow.tasks_service.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara las consultas de listados sobre índices preordenados con la ruta anterior,
+ * que recorría todo el mapa, filtraba y ordenaba el resultado en cada llamada.
+ * Las variantes por vencimiento piden las tareas sin completar que vencen en una ventana de una hora.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskRepositoryQueryBenchmark {
+    @Param({"10000", "100000"})
+    private int taskCount;
+
+    @Param({"1000"})
+    private int documents;
+
+    @Param({"heap", "offheap"})
+    private String store;
+
+    private TaskRepository repository;
+    private Map<String, Task> baselineStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = BenchmarkTasks.repository(store);
+        baselineStore = new ConcurrentHashMap<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = BenchmarkTasks.task(i, documents, 100);
+            repository.save(task);
+            baselineStore.put(task.getId(), task);
+        }
+    }
+
+    private LocalDateTime randomDueWindowStart() {
+        return LocalDateTime.of(2025, 1, 8, 0, 0).plusSeconds(ThreadLocalRandom.current().nextInt(taskCount));
+    }
+
+    private String randomDocument() {
+        return "doc-" + ThreadLocalRandom.current().nextInt(documents);
+    }
+
+    @Benchmark
+    public List<Task> findByDocumentIdIndexed() {
+        return repository.findByDocumentId(randomDocument());
+    }
+
+    @Benchmark
+    public List<Task> findByDocumentIdStreamSort() {
+        String documentId = randomDocument();
+        return baselineStore.values().stream()
+                .filter(task -> task.getDocumentId().equals(documentId) && task.isActive())
+                .sorted(Comparator.comparing(Task::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Task> findAllIndexed() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Task> findAllStreamSort() {
+        return baselineStore.values().stream()
+                .filter(Task::isActive)
+                .sorted(Comparator.comparing(Task::getCreatedAt).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Task> findOpenByDueDateIndexed() {
+        LocalDateTime from = randomDueWindowStart();
+        return repository.findOpenByDueDate(from, from.plusHours(1), null, TaskService.MAX_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Task> findOpenByDueDateStreamSort() {
+        LocalDateTime from = randomDueWindowStart();
+        LocalDateTime to = from.plusHours(1);
+        return baselineStore.values().stream()
+                .filter(task -> task.isActive() && task.getStatus() != Task.TaskStatus.COMPLETED)
+                .filter(task -> !task.getDueDate().isBefore(from) && task.getDueDate().isBefore(to))
+                .sorted(Comparator.comparing(Task::getDueDate))
+                .limit(TaskService.MAX_PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.SuccessResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import com.insightflow.tasks_service.service.TaskResponseCache;
+import com.insightflow.tasks_service.service.TaskService;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la ruta completa de GET /document/{documentId}/tasks (consulta, DTOs y JSON del SuccessResponse)
+ * con la caché de listados serializados activada ({@code on}, siempre con acierto) y desactivada ({@code off}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseCacheBenchmark {
+    @Param({"on", "off"})
+    private String cache;
+
+    @Param({"50", "500"})
+    private int tasksPerDocument;
+
+    private ObjectMapper objectMapper;
+    private TaskService taskService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkTasks.quietLogging();
+        objectMapper = BenchmarkTasks.objectMapper();
+        TaskRepository repository = BenchmarkTasks.repository("heap");
+        int documents = 10;
+        for (int i = 0; i < tasksPerDocument * documents; i++) {
+            repository.save(BenchmarkTasks.task(i, documents, 100));
+        }
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setEnabled("on".equals(cache));
+        taskService = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskResponseCache(properties, objectMapper));
+    }
+
+    @Benchmark
+    public byte[] getTasksByDocumentId() throws JsonProcessingException {
+        List<TaskResponse> tasks = taskService.getTasksByDocumentId("doc-1");
+        return objectMapper.writeValueAsBytes(SuccessResponse.<List<TaskResponse>>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Tareas obtenidas exitosamente")
+                .data(tasks)
+                .build());
+    }
+}
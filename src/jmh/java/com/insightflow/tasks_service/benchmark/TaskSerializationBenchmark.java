@@ -0,0 +1,81 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.dto.TaskDTOs.SuccessResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la conversión de tareas a DTO y la serialización JSON completa de las respuestas,
+ * con la misma configuración de Jackson que la aplicación.
+ * {@code pageSize} 1 corresponde a GET /{id}, 50 a una página por defecto y 500 a la página máxima.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+    @Param({"1", "50", "500"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<TaskResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = BenchmarkTasks.objectMapper();
+        tasks = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            tasks.add(BenchmarkTasks.task(i, 10, 10));
+        }
+        responses = toResponses();
+    }
+
+    @Benchmark
+    public TaskResponse fromEntity() {
+        return TaskResponse.fromEntity(tasks.get(0));
+    }
+
+    @Benchmark
+    public List<TaskResponse> toResponses() {
+        List<TaskResponse> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(TaskResponse.fromEntity(task));
+        }
+        return result;
+    }
+
+    /**
+     * Solo la escritura del JSON, con los DTOs ya construidos.
+     */
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(wrap(responses));
+    }
+
+    /**
+     * La ruta completa de un listado: conversión a DTO, envoltorio SuccessResponse y JSON.
+     */
+    @Benchmark
+    public byte[] toResponsesAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(wrap(toResponses()));
+    }
+
+    private static SuccessResponse<List<TaskResponse>> wrap(List<TaskResponse> data) {
+        return SuccessResponse.<List<TaskResponse>>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Tareas obtenidas exitosamente")
+                .data(data)
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.config.ServiceTimingInterceptor;
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskStatsResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.UpdateTaskStatusRequest;
+import com.insightflow.tasks_service.exception.TaskNotFoundException;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import com.insightflow.tasks_service.service.TaskResponseCache;
+import com.insightflow.tasks_service.service.TaskService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el costo de los timers de TaskService comparando el servicio sin instrumentar ({@code plain}) con el
+ * servicio envuelto por el interceptor de la aplicación ({@code interceptor}) y por el TimedAspect de Micrometer
+ * ({@code micrometer}), ambos sobre un registro Prometheus con la configuración de histograma de application.properties.
+ * El log se reduce a WARN para que la comparación sea contra la lógica del servicio, que es el peor caso
+ * para el porcentaje de overhead.
+ * {@code getTaskByIdMiss} busca tareas inexistentes, por lo que cada invocación termina en TaskNotFoundException
+ * y registra el timer con la etiqueta de la excepción; con {@code -prof gc} muestra si esa ruta sigue sin asignar
+ * más que la propia excepción.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceMetricsBenchmark {
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    @Param({"plain", "interceptor", "micrometer"})
+    private String instrumentation;
+
+    @Param({"10000"})
+    private int taskCount;
+
+    private TaskService taskService;
+    private String[] ids;
+    private String[] missingIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkTasks.quietLogging();
+        TaskRepository repository = BenchmarkTasks.repository("heap");
+        ids = new String[taskCount];
+        missingIds = new String[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            ids[i] = repository.save(BenchmarkTasks.task(i, 1000, 100)).getId();
+            missingIds[i] = UUID.randomUUID().toString();
+        }
+        TaskCacheProperties cacheProperties = new TaskCacheProperties();
+        cacheProperties.setEnabled(false);
+        TaskService service = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(),
+                new TaskResponseCache(cacheProperties, BenchmarkTasks.objectMapper()));
+        if (!"plain".equals(instrumentation)) {
+            PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            registry.config().meterFilter(new MeterFilter() {
+                @Override
+                public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                    return DistributionStatisticConfig.builder()
+                            .minimumExpectedValue((double) TimeUnit.MICROSECONDS.toNanos(10))
+                            .maximumExpectedValue((double) TimeUnit.SECONDS.toNanos(5))
+                            .build()
+                            .merge(config);
+                }
+            });
+            AspectJProxyFactory factory = new AspectJProxyFactory(service);
+            factory.setProxyTargetClass(true);
+            if ("interceptor".equals(instrumentation)) {
+                factory.addAdvisor(new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Timed.class, true),
+                        new ServiceTimingInterceptor(() -> registry)));
+            } else {
+                factory.addAspect(new TimedAspect(registry));
+            }
+            service = factory.getProxy();
+        }
+        taskService = service;
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    @Benchmark
+    public TaskResponse getTaskById() {
+        return taskService.getTaskById(randomId());
+    }
+
+    @Benchmark
+    public Object getTaskByIdMiss() {
+        try {
+            return taskService.getTaskById(missingIds[ThreadLocalRandom.current().nextInt(missingIds.length)]);
+        } catch (TaskNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public TaskStatsResponse getStats() {
+        return taskService.getStats("doc-1", "user-1");
+    }
+
+    @Benchmark
+    public TaskResponse updateTaskStatus() {
+        String status = STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+        return taskService.updateTaskStatus(randomId(), new UpdateTaskStatusRequest(status), null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.persistence.TaskSnapshotStore;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mide el tiempo de arranque en frío a partir de un snapshot mapeado en memoria:
+ * solo la decodificación del archivo y la carga completa en un repositorio con sus índices.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TaskSnapshotLoadBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    private Path directory;
+    private TaskSnapshotStore snapshotStore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot-benchmark");
+        snapshotStore = new TaskSnapshotStore(directory);
+        List<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(BenchmarkTasks.task(i, taskCount / 20, 1000));
+        }
+        snapshotStore.write(taskCount, tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long decodeSnapshot(Blackhole blackhole) throws IOException {
+        return snapshotStore.load(blackhole::consume);
+    }
+
+    @Benchmark
+    public TaskRepository loadRepository() throws IOException {
+        TaskRepository repository = new InMemoryTaskRepository();
+        snapshotStore.load(repository::restore);
+        return repository;
+    }
+}
@@ -0,0 +1,99 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el throughput de modificaciones concurrentes sobre un conjunto de tareas de tamaño {@code hotTasks}
+ * (1 es el caso de máxima contención: todos los hilos modifican la misma tarea).
+ * {@code atomic} usa {@link TaskRepository#computeIfActive}, que serializa las modificaciones de cada tarea con los
+ * locks por ID del repositorio; {@code optimistic} reproduce la lectura, modificación y escritura con control de
+ * versión y reintentos que usaba TaskService, y cuenta los reintentos en el contador auxiliar {@code retries}.
+ * Ejecutar con distintos números de hilos (-t 1, 4, 16 y 64) para observar cómo escala cada estrategia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class TaskUpdateContentionBenchmark {
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    @Param({"heap", "offheap"})
+    private String store;
+
+    @Param({"1", "64", "4096"})
+    private int hotTasks;
+
+    private TaskRepository repository;
+    private String[] ids;
+
+    /**
+     * Reintentos por conflicto de versión de cada hilo, reportados por JMH junto al throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retries {
+        public long retries;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retries = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkTasks.quietLogging();
+        repository = BenchmarkTasks.repository(store);
+        ids = new String[hotTasks];
+        for (int i = 0; i < hotTasks; i++) {
+            ids[i] = repository.save(BenchmarkTasks.task(i, 100, 100)).getId();
+        }
+    }
+
+    private String randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static Task.TaskStatus randomStatus() {
+        return STATUSES[ThreadLocalRandom.current().nextInt(STATUSES.length)];
+    }
+
+    @Benchmark
+    public Task atomic() {
+        Task.TaskStatus status = randomStatus();
+        LocalDateTime now = LocalDateTime.now();
+        return repository.computeIfActive(randomId(), current -> current.toBuilder()
+                .status(status)
+                .updatedAt(now)
+                .version(current.getVersion() + 1)
+                .build());
+    }
+
+    @Benchmark
+    public Task optimistic(Retries counters) {
+        Task.TaskStatus status = randomStatus();
+        String id = randomId();
+        while (true) {
+            Task current = repository.findActiveById(id);
+            try {
+                return repository.update(current.toBuilder()
+                        .status(status)
+                        .updatedAt(LocalDateTime.now())
+                        .version(current.getVersion() + 1)
+                        .build());
+            } catch (TaskVersionConflictException e) {
+                counters.retries++;
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.insightflow.tasks_service.dto.TaskDTOs.SuccessResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los formatos de respuesta para un listado de 5000 tareas envuelto en SuccessResponse:
+ * JSON indentado (el valor anterior de la aplicación), JSON compacto (el valor por defecto actual)
+ * y Smile con referencias a cadenas repetidas, como en {@code JacksonConfig}.
+ * El tiempo medido es la serialización; el tamaño en bytes de cada formato se imprime al preparar el benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWireFormatBenchmark {
+    @Param({"json-indented", "json", "smile"})
+    private String format;
+
+    @Param({"5000"})
+    private int taskCount;
+
+    private ObjectMapper objectMapper;
+    private SuccessResponse<List<TaskResponse>> response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = switch (format) {
+            case "json-indented" -> BenchmarkTasks.objectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            case "json" -> BenchmarkTasks.objectMapper();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile()
+                    .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                    .serializationInclusion(JsonInclude.Include.NON_NULL)
+                    .build();
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+        List<TaskResponse> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(TaskResponse.fromEntity(BenchmarkTasks.task(i, 10, 100)));
+        }
+        response = SuccessResponse.<List<TaskResponse>>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Tareas obtenidas exitosamente")
+                .data(tasks)
+                .build();
+        System.out.printf("%n%s: %d bytes para %d tareas%n", format, serialize().length, taskCount);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
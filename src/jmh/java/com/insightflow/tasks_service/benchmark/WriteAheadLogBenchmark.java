@@ -0,0 +1,63 @@
+package com.insightflow.tasks_service.benchmark;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.persistence.WriteAheadLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mide el throughput de escrituras durables del WAL con commit agrupado:
+ * cada operación encola un registro y espera a que su lote quede sincronizado en disco.
+ * Ejecutar con varios hilos (por ejemplo -t 32) para observar el agrupamiento de fsync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(32)
+public class WriteAheadLogBenchmark {
+    @Param({"0", "1"})
+    private int groupCommitDelayMillis;
+
+    private Path directory;
+    private WriteAheadLog writeAheadLog;
+    private Task[] tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("wal-benchmark");
+        writeAheadLog = new WriteAheadLog(directory, Duration.ofMillis(groupCommitDelayMillis));
+        writeAheadLog.start();
+        tasks = new Task[1024];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = BenchmarkTasks.task(i, 100, 100);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        writeAheadLog.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long durableAppend() {
+        long sequence = writeAheadLog.append(tasks[ThreadLocalRandom.current().nextInt(tasks.length)]);
+        writeAheadLog.awaitDurable(sequence);
+        return sequence;
+    }
+}
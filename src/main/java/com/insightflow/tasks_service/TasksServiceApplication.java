@@ -2,6 +2,8 @@ package com.insightflow.tasks_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.Contact;
@@ -11,6 +13,8 @@ import io.swagger.v3.oas.annotations.servers.Server;
  * Clase principal para iniciar la aplicación Spring Boot de Tasks Service.
  */ 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 @OpenAPIDefinition(
 	info = @Info(
 		title = "Tasks Service API",
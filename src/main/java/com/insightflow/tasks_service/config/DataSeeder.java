@@ -1,28 +1,34 @@
 package com.insightflow.tasks_service.config;
 import com.insightflow.tasks_service.model.Task;
 import com.insightflow.tasks_service.repository.TaskRepository;
+import com.insightflow.tasks_service.service.TaskIdGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
 * Componente para sembrar datos iniciales en la base de datos al iniciar la aplicación.
+* Solo siembra cuando el repositorio está vacío, por lo que no altera los datos recuperados
+* por la persistencia. Puede desactivarse con {@code tasks.seed.enabled=false}.
 */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tasks.seed", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class DataSeeder implements CommandLineRunner {
     private final TaskRepository taskRepository;
 
     @Override
     public void run(String... args) throws Exception {
+        if (!taskRepository.isEmpty()) {
+            log.info("El repositorio ya contiene tareas, se omite el sembrado de datos.");
+            return;
+        }
         log.info("Iniciando el sembrado de datos...");
 
-        taskRepository.clear();
-
         createSampleTasks();
         
         log.info("Sembrado de datos completado.");
@@ -37,26 +43,26 @@ public class DataSeeder implements CommandLineRunner {
         String user3 = "user-003";
         
         Task task1 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc1)
                 .title("Revisar el informe financiero")
                 .description("Verificar los datos del informe financiero del Q2.")
-                .status("PENDING")
+                .status(Task.TaskStatus.PENDING)
                 .assignedUserId(user1)
-                .priority("HIGH")
+                .priority(Task.TaskPriority.HIGH)
                 .dueDate(LocalDateTime.now().plusDays(3))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .active(true)
                 .build();
         Task task2 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc1)
                 .title("Actualizar la presentación de ventas")
                 .description("Incluir los últimos datos de ventas en la presentación.")
-                .status("IN_PROGRESS")
+                .status(Task.TaskStatus.IN_PROGRESS)
                 .assignedUserId(user2)
-                .priority("MEDIUM")
+                .priority(Task.TaskPriority.MEDIUM)
                 .dueDate(LocalDateTime.now().plusDays(5))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -64,13 +70,13 @@ public class DataSeeder implements CommandLineRunner {
                 .build();
 
         Task task3 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc2)
                 .title("Organizar la reunión de equipo")
                 .description("Coordinar una reunión para discutir el proyecto X.")
-                .status("COMPLETED")
+                .status(Task.TaskStatus.COMPLETED)
                 .assignedUserId(user3)
-                .priority("LOW")
+                .priority(Task.TaskPriority.LOW)
                 .dueDate(LocalDateTime.now().plusDays(1))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -78,13 +84,13 @@ public class DataSeeder implements CommandLineRunner {
                 .build();
 
         Task task4 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc3)
                 .title("Redactar el informe de progreso")
                 .description("Crear un informe detallado sobre el progreso del proyecto Y.")
-                .status("PENDING")
+                .status(Task.TaskStatus.PENDING)
                 .assignedUserId(user1)
-                .priority("HIGH")
+                .priority(Task.TaskPriority.HIGH)
                 .dueDate(LocalDateTime.now().plusDays(7))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -92,26 +98,26 @@ public class DataSeeder implements CommandLineRunner {
                 .build();
         
         Task task5 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc3)
                 .title("Diseñar el nuevo logo de la empresa")
                 .description("Crear un diseño moderno y atractivo para el logo.")
-                .status("IN_PROGRESS")
+                .status(Task.TaskStatus.IN_PROGRESS)
                 .assignedUserId(user2)
-                .priority("MEDIUM")
+                .priority(Task.TaskPriority.MEDIUM)
                 .dueDate(LocalDateTime.now().plusDays(10))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .active(true)
                 .build();
         Task task6 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc2)
                 .title("Planificar la campaña de marketing")
                 .description("Desarrollar una estrategia para la próxima campaña de marketing.")
-                .status("PENDING")
+                .status(Task.TaskStatus.PENDING)
                 .assignedUserId(user3)
-                .priority("HIGH")
+                .priority(Task.TaskPriority.HIGH)
                 .dueDate(LocalDateTime.now().plusDays(14))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -119,13 +125,13 @@ public class DataSeeder implements CommandLineRunner {
                 .build();
         
         Task task7 = Task.builder()
-                .id(UUID.randomUUID().toString())
+                .id(TaskIdGenerator.nextId())
                 .documentId(doc1)
                 .title("Configurar el servidor de desarrollo")
                 .description("Instalar y configurar el servidor para el entorno de desarrollo.")
-                .status("COMPLETED")
+                .status(Task.TaskStatus.COMPLETED)
                 .assignedUserId(user1)
-                .priority("LOW")
+                .priority(Task.TaskPriority.LOW)
                 .dueDate(LocalDateTime.now().plusDays(2))
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
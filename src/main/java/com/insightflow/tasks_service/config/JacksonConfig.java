@@ -0,0 +1,32 @@
+package com.insightflow.tasks_service.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración de los formatos de respuesta.
+ * Además de JSON, las respuestas pueden pedirse en Smile, la codificación binaria de Jackson,
+ * con {@code Accept: application/x-jackson-smile}. Se usan los mismos DTOs y la misma configuración
+ * de {@code spring.jackson.*} que para JSON, por lo que el contenido es idéntico.
+ */
+@Configuration
+public class JacksonConfig {
+    /**
+     * Convertidor Smile construido con la configuración de Jackson de la aplicación.
+     * Las cadenas repetidas (estados, prioridades, sus nombres visibles e IDs de documento y usuario) se escriben
+     * una vez y después como referencias, lo que reduce los listados largos.
+     * @param builder Builder de ObjectMapper con la configuración de spring.jackson.*.
+     * @return El convertidor de mensajes Smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+}
@@ -0,0 +1,95 @@
+package com.insightflow.tasks_service.config;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.OffHeapTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import com.insightflow.tasks_service.service.TaskChangeFeed;
+import com.insightflow.tasks_service.service.TaskChangeService;
+import com.insightflow.tasks_service.service.TaskResponseCache;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Configuración de métricas de la aplicación, publicadas en /actuator/prometheus.
+ * Registra el interceptor que mide las clases anotadas con {@code @Timed} y los gauges del repositorio de tareas.
+ * Los gauges se calculan al leerlos a partir de contadores del repositorio, sin recorrer el almacén.
+ */
+@Configuration
+public class MetricsConfig {
+    /**
+     * Aplica {@link ServiceTimingInterceptor} a los métodos públicos de las clases anotadas con {@code @Timed}.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Timed.class, true),
+                new ServiceTimingInterceptor(registry::getObject));
+    }
+
+    @Bean
+    public MeterBinder taskRepositoryMetrics(TaskRepository taskRepository) {
+        return registry -> {
+            Gauge.builder("tasks.store.active", taskRepository, TaskRepository::count)
+                    .description("Tareas activas")
+                    .register(registry);
+            for (Task.TaskStatus status : Task.TaskStatus.values()) {
+                Gauge.builder("tasks.status.active", taskRepository, repository -> repository.countByStatus(status))
+                        .description("Tareas activas por estado")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+            Gauge.builder("tasks.store.deleted", taskRepository, TaskRepository::countDeleted)
+                    .description("Tareas eliminadas lógicamente que siguen almacenadas")
+                    .register(registry);
+            Gauge.builder("tasks.index.keys", taskRepository, TaskRepository::countIndexedDocuments)
+                    .description("Valores distintos registrados en cada índice")
+                    .tag("index", "document")
+                    .register(registry);
+            Gauge.builder("tasks.index.keys", taskRepository, TaskRepository::countIndexedAssignedUsers)
+                    .description("Valores distintos registrados en cada índice")
+                    .tag("index", "assignedUser")
+                    .register(registry);
+            if (taskRepository instanceof OffHeapTaskRepository offHeap) {
+                Gauge.builder("tasks.store.offheap", offHeap, OffHeapTaskRepository::offHeapBytes)
+                        .description("Memoria directa reservada por el almacén fuera del heap")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("tasks.store.offheap.unreclaimed", offHeap, OffHeapTaskRepository::unreclaimedStringBytes)
+                        .description("Textos sin uso que siguen ocupando el área de solo anexado del almacén fuera del heap")
+                        .baseUnit("bytes")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder taskChangeMetrics(TaskChangeService taskChangeService, TaskChangeFeed taskChangeFeed) {
+        return registry -> {
+            Gauge.builder("tasks.changes.subscribers", taskChangeService, TaskChangeService::subscriberCount)
+                    .description("Suscriptores conectados al feed de cambios")
+                    .register(registry);
+            Gauge.builder("tasks.changes.sequence", taskChangeFeed, TaskChangeFeed::lastSequence)
+                    .description("Secuencia del último cambio publicado en el feed")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publica los aciertos, fallos, desalojos y tamaño de la caché de listados como métricas cache.* con cache=tasks.responses.
+     */
+    @Bean
+    public MeterBinder taskResponseCacheMetrics(TaskResponseCache taskResponseCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, taskResponseCache.nativeCache(), "tasks.responses");
+    }
+}
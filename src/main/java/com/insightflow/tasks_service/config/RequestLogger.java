@@ -0,0 +1,57 @@
+package com.insightflow.tasks_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra una línea por petición con campos clave=valor (method, route, operation, status, duration_us y sample_rate).
+ * Las peticiones con error se registran siempre; las correctas solo en la fracción configurada para su operación,
+ * de modo que el volumen de log no crece con el tráfico. sample_rate permite reponderar los conteos al analizarlos.
+ * Los argumentos del mensaje solo se construyen para las peticiones que se registran.
+ */
+@Slf4j
+public class RequestLogger {
+    private static final String FORMAT = "method={} route={} operation={} status={} duration_us={} sample_rate={}";
+
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final int alwaysLogStatus;
+
+    /**
+     * Constructor del registrador.
+     * @param properties Propiedades del log de peticiones.
+     */
+    public RequestLogger(TaskRequestLoggingProperties properties) {
+        this.defaultSampleRate = properties.getSampleRate();
+        this.sampleRates = Map.copyOf(properties.getSampleRates());
+        this.alwaysLogStatus = properties.getAlwaysLogStatus();
+    }
+
+    /**
+     * Registra una petición terminada si es un error o si resulta muestreada.
+     * @param method Método HTTP.
+     * @param route Patrón de la ruta que atendió la petición.
+     * @param operation Nombre del método del controlador.
+     * @param status Código de estado de la respuesta.
+     * @param durationNanos Duración de la petición en nanosegundos.
+     * @param error Excepción no manejada, o null.
+     */
+    public void log(String method, String route, String operation, int status, long durationNanos, Throwable error) {
+        if (error != null || status >= alwaysLogStatus) {
+            log.error(FORMAT + " error={}", method, route, operation, status,
+                    TimeUnit.NANOSECONDS.toMicros(durationNanos), 1.0, error != null ? error.getClass().getSimpleName() : "none");
+            return;
+        }
+        double rate = sampleRates.getOrDefault(operation, defaultSampleRate);
+        if (sampled(rate) && log.isInfoEnabled()) {
+            log.info(FORMAT, method, route, operation, status, TimeUnit.NANOSECONDS.toMicros(durationNanos), rate);
+        }
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,26 @@
+package com.insightflow.tasks_service.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra el log muestreado de peticiones sobre /api/**.
+ * Las líneas se escriben a través del appender asíncrono de logback-spring.xml, fuera del hilo de la petición.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.logging.requests", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLoggingConfig implements WebMvcConfigurer {
+    private final TaskRequestLoggingProperties properties;
+
+    public RequestLoggingConfig(TaskRequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestLoggingInterceptor(new RequestLogger(properties)))
+                .addPathPatterns("/api/**");
+    }
+}
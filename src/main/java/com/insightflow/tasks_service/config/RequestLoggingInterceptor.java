@@ -0,0 +1,44 @@
+package com.insightflow.tasks_service.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Mide cada petición a la API y la entrega a {@link RequestLogger} al terminar.
+ * En las respuestas asíncronas (transmisiones y feed de cambios) la duración abarca hasta el final del envío,
+ * ya que el inicio se conserva entre el despacho inicial y el asíncrono.
+ */
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor {
+    private static final String START_ATTRIBUTE = RequestLoggingInterceptor.class.getName() + ".start";
+
+    private final RequestLogger requestLogger;
+
+    public RequestLoggingInterceptor(RequestLogger requestLogger) {
+        this.requestLogger = requestLogger;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        requestLogger.log(request.getMethod(),
+                pattern != null ? pattern.toString() : request.getRequestURI(),
+                handler instanceof HandlerMethod method ? method.getMethod().getName() : "none",
+                response.getStatus(),
+                System.nanoTime() - start,
+                ex);
+    }
+}
@@ -0,0 +1,97 @@
+package com.insightflow.tasks_service.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mide la duración de los métodos públicos de las clases anotadas con {@link Timed}.
+ * Publica un timer por método con las etiquetas class, method y exception, igual que el TimedAspect de Micrometer,
+ * pero como un MethodInterceptor en lugar de un aspecto AspectJ, que en cada invocación construye el join point
+ * e invoca el advice por reflexión. Además resuelve el timer de cada método una sola vez: en la ruta sin
+ * excepciones cada invocación solo toma dos lecturas de reloj y registra la duración.
+ */
+public class ServiceTimingInterceptor implements MethodInterceptor {
+    /**
+     * Proveedor del registro de métricas. Se resuelve al registrar cada timer y no al crear el interceptor,
+     * porque los advisors se crean antes que el registro y su configuración (etiquetas comunes, filtros).
+     */
+    private final Supplier<MeterRegistry> registry;
+    /**
+     * Timers de las invocaciones sin excepción, por método.
+     */
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    /**
+     * Timers de las invocaciones que lanzan una excepción, por método y clase de excepción.
+     * Se guardan para que las excepciones esperadas (tarea no encontrada, conflicto de versión)
+     * no construyan y busquen el timer en el registro en cada invocación.
+     */
+    private final Map<Method, Map<Class<?>, Timer>> exceptionTimers = new ConcurrentHashMap<>();
+
+    public ServiceTimingInterceptor(Supplier<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            Method method = invocation.getMethod();
+            Timer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, key -> timer(key, "none"));
+            }
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            exceptionTimer(invocation.getMethod(), e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Obtiene el timer de un método para una clase de excepción, registrándolo la primera vez.
+     * @param method El método medido.
+     * @param exception La clase de la excepción lanzada.
+     * @return El timer.
+     */
+    private Timer exceptionTimer(Method method, Class<?> exception) {
+        Map<Class<?>, Timer> byException = exceptionTimers.get(method);
+        if (byException == null) {
+            byException = exceptionTimers.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byException.get(exception);
+        if (timer == null) {
+            timer = byException.computeIfAbsent(exception, key -> timer(method, key.getSimpleName()));
+        }
+        return timer;
+    }
+
+    /**
+     * Registra u obtiene el timer de un método con la configuración de la anotación de su clase.
+     * @param method El método medido.
+     * @param exception Nombre simple de la excepción lanzada, o "none".
+     * @return El timer.
+     */
+    private Timer timer(Method method, String exception) {
+        Timed timed = method.getDeclaringClass().getAnnotation(Timed.class);
+        return Timer.builder(timed.value())
+                .description(timed.description().isEmpty() ? null : timed.description())
+                .tags(timed.extraTags())
+                .tag("class", method.getDeclaringClass().getName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .publishPercentiles(timed.percentiles().length > 0 ? timed.percentiles() : null)
+                .publishPercentileHistogram(timed.histogram())
+                .register(registry.get());
+    }
+}
@@ -0,0 +1,21 @@
+package com.insightflow.tasks_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propiedades de la caché de listados serializados ({@code tasks.cache.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.cache")
+public class TaskCacheProperties {
+    /**
+     * Indica si los listados por documento y por usuario se guardan ya serializados.
+     */
+    private boolean enabled = true;
+    /**
+     * Tamaño máximo de la caché, medido en bytes de JSON almacenados.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(64);
+}
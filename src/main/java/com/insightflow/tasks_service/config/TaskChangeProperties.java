@@ -0,0 +1,35 @@
+package com.insightflow.tasks_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del feed de cambios de tareas ({@code tasks.changes.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.changes")
+public class TaskChangeProperties {
+    /**
+     * Número de cambios que conserva el buffer circular; se redondea a la siguiente potencia de dos.
+     * Un suscriptor que se atrasa más que esta cantidad recibe un evento reset.
+     */
+    private int capacity = 16_384;
+    /**
+     * Espera de cada suscriptor entre comprobaciones cuando no hay cambios nuevos.
+     */
+    private Duration pollInterval = Duration.ofMillis(50);
+    /**
+     * Intervalo máximo sin escribir en la conexión antes de enviar un comentario de keep-alive.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    /**
+     * Duración máxima de una suscripción; el cliente se reconecta con Last-Event-ID.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+    /**
+     * Número máximo de suscriptores simultáneos.
+     */
+    private int maxSubscribers = 1_000;
+}
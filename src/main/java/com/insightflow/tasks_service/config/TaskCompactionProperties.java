@@ -0,0 +1,30 @@
+package com.insightflow.tasks_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la compactación de tareas eliminadas lógicamente ({@code tasks.compaction.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.compaction")
+public class TaskCompactionProperties {
+    /**
+     * Indica si se compactan periódicamente las tareas eliminadas.
+     */
+    private boolean enabled = true;
+    /**
+     * Tiempo que una tarea eliminada se conserva antes de eliminarla físicamente.
+     */
+    private Duration retention = Duration.ofDays(7);
+    /**
+     * Intervalo entre compactaciones.
+     */
+    private Duration interval = Duration.ofMinutes(10);
+    /**
+     * Número de tareas eliminadas que se buscan por tanda.
+     */
+    private int batchSize = 1_000;
+}
@@ -0,0 +1,43 @@
+package com.insightflow.tasks_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Propiedades de persistencia del repositorio de tareas ({@code tasks.persistence.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.persistence")
+public class TaskPersistenceProperties {
+    /**
+     * Modo de persistencia: MEMORY (sin persistencia) o WAL (write-ahead log con snapshots).
+     */
+    private Mode mode = Mode.MEMORY;
+    /**
+     * Directorio donde se guardan los segmentos del WAL y los snapshots.
+     */
+    private Path directory = Path.of("data");
+    /**
+     * Espera adicional del hilo escritor antes de cada fsync para agrupar más escrituras.
+     */
+    private Duration groupCommitDelay = Duration.ZERO;
+    /**
+     * Intervalo entre comprobaciones para tomar un snapshot.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+    /**
+     * Número mínimo de registros nuevos en el WAL para tomar un snapshot.
+     */
+    private long snapshotMinRecords = 10_000;
+
+    /**
+     * Modos de persistencia disponibles.
+     */
+    public enum Mode {
+        MEMORY,
+        WAL
+    }
+}
@@ -0,0 +1,32 @@
+package com.insightflow.tasks_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Propiedades del log de peticiones de la API ({@code tasks.logging.requests.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "tasks.logging.requests")
+public class TaskRequestLoggingProperties {
+    /**
+     * Indica si se registra una línea por petición a /api/**.
+     */
+    private boolean enabled = true;
+    /**
+     * Fracción de las peticiones correctas que se registran (0 a 1).
+     */
+    private double sampleRate = 0.01;
+    /**
+     * Fracción registrada por operación, con el nombre del método del controlador como clave
+     * (por ejemplo {@code tasks.logging.requests.sample-rates[getTaskById]=0.001}).
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+    /**
+     * Código de estado a partir del cual una petición se considera un error y se registra siempre.
+     */
+    private int alwaysLogStatus = 500;
+}
@@ -1,5 +1,11 @@
 package com.insightflow.tasks_service.controller;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.insightflow.tasks_service.dto.TaskDTOs.*;
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
+import com.insightflow.tasks_service.service.TaskChangeService;
 import com.insightflow.tasks_service.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,12 +15,22 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static com.insightflow.tasks_service.dto.TaskDTOs.MAX_BATCH_SIZE;
 /**
  * Controlador REST para la gestión de tareas.
  * Proporciona endpoints para crear, actualizar, obtener y eliminar tareas.
@@ -26,7 +42,18 @@ import java.time.LocalDateTime;
 @Tag(name = "Tasks", description = "Endpoints para la gestión de tareas")
 //@CrossOrigin(origins = "*")
 public class TaskController {
+    /**
+     * Tipo de las respuestas en Smile, la codificación binaria de Jackson.
+     */
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    /**
+     * Formatos en los que se pueden servir las respuestas, en el orden de los convertidores de mensajes.
+     */
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, SMILE);
+
     private final TaskService taskService;
+    private final TaskChangeService taskChangeService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Crea una nueva tarea.
@@ -42,7 +69,7 @@ public class TaskController {
     public ResponseEntity<SuccessResponse<TaskResponse>> createTask(
             @Parameter(description = "Datos para crear la tarea", required = true)
             @Valid @RequestBody CreateTaskRequest createTaskRequest) {
-        log.info("Recibida solicitud para crear una nueva tarea");
+        log.debug("Recibida solicitud para crear una nueva tarea");
         TaskResponse taskResponse = taskService.createTask(createTaskRequest);
         SuccessResponse<TaskResponse> successResponse = SuccessResponse.<TaskResponse>builder()
                 .timestamp(LocalDateTime.now())
@@ -52,61 +79,315 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(successResponse);
     }
 
+    /**
+     * POST /batch
+     * Crea un lote de tareas en una sola petición.
+     * Cada tarea se valida por separado y su resultado se informa en la misma posición de la respuesta.
+     * @param request DTO con las tareas a crear.
+     * @return El resultado de cada creación.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Crear un lote de tareas", description = "Crea hasta " + MAX_BATCH_SIZE + " tareas en una sola petición y devuelve el resultado de cada una.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; cada resultado incluye su propio código"),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida")
+    })
+    public ResponseEntity<SuccessResponse<BatchResponse>> createTasks(
+            @Parameter(description = "Tareas a crear", required = true)
+            @Valid @RequestBody BatchCreateRequest request) {
+        log.debug("Recibida solicitud para crear un lote de {} tareas", request.getTasks().size());
+        return batchResponse("Lote de creación procesado", taskService.createTasks(request.getTasks()));
+    }
+
+    /**
+     * PATCH /batch
+     * Actualiza un lote de tareas en una sola petición.
+     * Cada actualización puede indicar la versión esperada, con la misma semántica que la cabecera If-Match.
+     * @param request DTO con las actualizaciones a aplicar.
+     * @return El resultado de cada actualización.
+     */
+    @PatchMapping("/batch")
+    @Operation(summary = "Actualizar un lote de tareas", description = "Actualiza hasta " + MAX_BATCH_SIZE + " tareas en una sola petición y devuelve el resultado de cada una.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; cada resultado incluye su propio código"),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida")
+    })
+    public ResponseEntity<SuccessResponse<BatchResponse>> updateTasks(
+            @Parameter(description = "Actualizaciones a aplicar", required = true)
+            @Valid @RequestBody BatchUpdateRequest request) {
+        log.debug("Recibida solicitud para actualizar un lote de {} tareas", request.getTasks().size());
+        return batchResponse("Lote de actualización procesado", taskService.updateTasks(request.getTasks()));
+    }
+
+    /**
+     * DELETE /batch
+     * Elimina lógicamente un lote de tareas en una sola petición.
+     * @param request DTO con los IDs de las tareas a eliminar.
+     * @return El resultado de cada eliminación.
+     */
+    @DeleteMapping("/batch")
+    @Operation(summary = "Eliminar un lote de tareas", description = "Elimina lógicamente hasta " + MAX_BATCH_SIZE + " tareas en una sola petición y devuelve el resultado de cada una.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote procesado; cada resultado incluye su propio código"),
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida")
+    })
+    public ResponseEntity<SuccessResponse<BatchResponse>> deleteTasks(
+            @Parameter(description = "IDs de las tareas a eliminar", required = true)
+            @Valid @RequestBody BatchDeleteRequest request) {
+        log.debug("Recibida solicitud para eliminar un lote de {} tareas", request.getIds().size());
+        return batchResponse("Lote de eliminación procesado", taskService.deleteTasks(request.getIds()));
+    }
+
     /**
      * GET /document/{documentId}/tasks
      * Obtiene todas las tareas asociadas a un documento específico.
+     * Si se indica limit o cursor, la respuesta se pagina y incluye nextCursor.
+     * La respuesta incluye un ETag con la versión de la colección del documento; si coincide con If-None-Match
+     * se responde 304 sin consultar las tareas.
      * @param documentId El ID del documento.
+     * @param limit Número máximo de tareas por página.
+     * @param cursor Cursor devuelto por la página anterior.
+     * @param ifNoneMatch ETags que el cliente ya tiene en caché.
+     * @param accept Cabecera Accept, que determina la representación y por tanto el ETag.
      * @return Lista de tareas asociadas al documento.
      */
     @GetMapping("/document/{documentId}/tasks")
     @Operation(summary = "Obtener tareas por ID de documento", description = "Obtiene todas las tareas asociadas a un documento específico.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "304", description = "Las tareas no cambiaron desde el ETag indicado"),
             @ApiResponse(responseCode = "404", description = "Documento no encontrado")
     })
     public ResponseEntity<SuccessResponse<List<TaskResponse>>> getTasksByDocumentId(
             @Parameter(description = "ID del documento")
-            @PathVariable String documentId) {
-        log.info("Recibida solicitud para obtener tareas del documento ID: {}", documentId);
+            @PathVariable String documentId,
+            @Parameter(description = "Número máximo de tareas por página")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "ETags de la colección que el cliente ya tiene")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para obtener tareas del documento ID: {}", documentId);
+        String eTag = representationETag(taskService.getTasksByDocumentIdETag(documentId), accept);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        if (limit != null || cursor != null) {
+            return pageResponse(taskService.getTasksByDocumentId(documentId, cursor, limit), eTag);
+        }
         List<TaskResponse> tasks = taskService.getTasksByDocumentId(documentId);
         SuccessResponse<List<TaskResponse>> successResponse = SuccessResponse.<List<TaskResponse>>builder()
                 .timestamp(LocalDateTime.now())
                 .message("Tareas obtenidas exitosamente")
                 .data(tasks)
                 .build();
+        return ResponseEntity.ok().eTag(eTag).body(successResponse);
+    }
+
+    /**
+     * GET /document/{documentId}/tasks/stream
+     * Transmite las tareas asociadas a un documento a medida que se leen del repositorio.
+     * @param documentId El ID del documento.
+     * @param accept Cabecera Accept: text/event-stream para Server-Sent Events, NDJSON en otro caso.
+     * @return Las tareas, una por línea (NDJSON) o una por evento (SSE).
+     */
+    @GetMapping(value = "/document/{documentId}/tasks/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Transmitir tareas por ID de documento", description = "Transmite las tareas de un documento en NDJSON o Server-Sent Events sin construir la lista completa.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tareas transmitidas exitosamente")
+    })
+    public ResponseEntity<StreamingResponseBody> streamTasksByDocumentId(
+            @Parameter(description = "ID del documento")
+            @PathVariable String documentId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para transmitir tareas del documento ID: {}", documentId);
+        return streamResponse(accept, taskService.streamTasksByDocumentId(documentId));
+    }
+
+    /**
+     * GET /stats
+     * Obtiene los contadores de tareas activas.
+     * @param documentId ID de documento cuyo contador se desea incluir.
+     * @param assignedUserId ID de usuario cuyo contador se desea incluir.
+     * @return DTO con los contadores de tareas.
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Obtener estadísticas de tareas", description = "Obtiene los contadores de tareas activas en total, por estado y opcionalmente por documento y usuario.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente")
+    })
+    public ResponseEntity<SuccessResponse<TaskStatsResponse>> getStats(
+            @Parameter(description = "ID del documento")
+            @RequestParam(required = false) String documentId,
+            @Parameter(description = "ID del usuario asignado")
+            @RequestParam(required = false) String assignedUserId) {
+        TaskStatsResponse stats = taskService.getStats(documentId, assignedUserId);
+        SuccessResponse<TaskStatsResponse> successResponse = SuccessResponse.<TaskStatsResponse>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Estadísticas obtenidas exitosamente")
+                .data(stats)
+                .build();
         return ResponseEntity.ok(successResponse);
     }
 
+    /**
+     * GET /query
+     * Busca tareas activas combinando filtros, con orden y campos opcionales.
+     * @param documentId ID del documento.
+     * @param assignedUserId ID del usuario asignado.
+     * @param status Estado de la tarea.
+     * @param priority Prioridad de la tarea.
+     * @param dueFrom Inicio del rango de vencimiento (inclusivo).
+     * @param dueTo Fin del rango de vencimiento (exclusivo).
+     * @param sort Claves de ordenamiento separadas por comas, con - para orden descendente.
+     * @param fields Campos a incluir en cada tarea, separados por comas.
+     * @param limit Número máximo de tareas.
+     * @param cursor Cursor de la página siguiente, solo con el orden por defecto.
+     * @return Las tareas encontradas y el cursor de la página siguiente.
+     */
+    @GetMapping("/query")
+    @Operation(summary = "Buscar tareas", description = "Busca tareas activas combinando filtros por documento, usuario, estado, prioridad y rango de vencimiento, con orden y campos opcionales.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Criterio, orden, campo o cursor inválido")
+    })
+    public ResponseEntity<SuccessResponse<List<?>>> queryTasks(
+            @Parameter(description = "ID del documento")
+            @RequestParam(required = false) String documentId,
+            @Parameter(description = "ID del usuario asignado")
+            @RequestParam(required = false) String assignedUserId,
+            @Parameter(description = "Estado de la tarea")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Prioridad de la tarea")
+            @RequestParam(required = false) String priority,
+            @Parameter(description = "Vencimiento desde (inclusivo), en formato ISO")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @Parameter(description = "Vencimiento hasta (exclusivo), en formato ISO")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @Parameter(description = "Claves de ordenamiento (createdAt, updatedAt, dueDate, priority, status, title); el prefijo - invierte el orden")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Campos a incluir en cada tarea, por ejemplo id,title,status")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Número máximo de tareas")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente")
+            @RequestParam(required = false) String cursor) {
+        TaskQueryResponse result = taskService.queryTasks(TaskQueryRequest.builder()
+                .documentId(documentId)
+                .assignedUserId(assignedUserId)
+                .status(status)
+                .priority(priority)
+                .dueFrom(dueFrom)
+                .dueTo(dueTo)
+                .sort(sort)
+                .fields(fields)
+                .limit(limit)
+                .cursor(cursor)
+                .build());
+        SuccessResponse<List<?>> successResponse = SuccessResponse.<List<?>>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Tareas obtenidas exitosamente")
+                .data(result.getTasks())
+                .nextCursor(result.getNextCursor())
+                .build();
+        return ResponseEntity.ok(successResponse);
+    }
+
+    /**
+     * GET /due
+     * Obtiene las tareas sin completar que vencen en un intervalo, de la que vence antes a la que vence después.
+     * @param from Inicio del intervalo (inclusivo); por defecto, el momento actual.
+     * @param to Fin del intervalo (exclusivo); por defecto, 24 horas después del inicio.
+     * @param limit Número máximo de tareas por página.
+     * @param cursor Cursor devuelto por la página anterior.
+     * @return Las tareas de la página y el cursor de la siguiente.
+     */
+    @GetMapping("/due")
+    @Operation(summary = "Obtener tareas por vencimiento", description = "Obtiene las tareas activas sin completar que vencen en un intervalo, por defecto las próximas 24 horas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Intervalo, límite o cursor inválido")
+    })
+    public ResponseEntity<SuccessResponse<List<TaskResponse>>> getTasksDue(
+            @Parameter(description = "Inicio del intervalo (inclusivo), en formato ISO")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Fin del intervalo (exclusivo), en formato ISO")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Número máximo de tareas por página")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente")
+            @RequestParam(required = false) String cursor) {
+        return duePageResponse(taskService.getTasksDueBetween(from, to, cursor, limit));
+    }
+
+    /**
+     * GET /overdue
+     * Obtiene las tareas vencidas sin completar, de la más atrasada a la más reciente.
+     * @param limit Número máximo de tareas por página.
+     * @param cursor Cursor devuelto por la página anterior.
+     * @return Las tareas de la página y el cursor de la siguiente.
+     */
+    @GetMapping("/overdue")
+    @Operation(summary = "Obtener tareas vencidas", description = "Obtiene las tareas activas sin completar cuya fecha de vencimiento ya pasó.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "400", description = "Límite o cursor inválido")
+    })
+    public ResponseEntity<SuccessResponse<List<TaskResponse>>> getOverdueTasks(
+            @Parameter(description = "Número máximo de tareas por página")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente")
+            @RequestParam(required = false) String cursor) {
+        return duePageResponse(taskService.getOverdueTasks(cursor, limit));
+    }
+
     /**
      * GET /{id}
      * Obtiene una tarea especifica por su ID.
+     * La respuesta incluye la versión de la tarea en la cabecera ETag; si coincide con If-None-Match
+     * se responde 304 sin serializar la tarea.
      * @param id El ID de la tarea.
+     * @param ifNoneMatch ETags que el cliente ya tiene en caché.
+     * @param accept Cabecera Accept, que determina la representación y por tanto el ETag.
      * @return DTO con los datos de la tarea.
      */    
     @GetMapping("/{id}")
     @Operation(summary = "Obtener tarea por ID", description = "Obtiene una tarea específica por su ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarea obtenida exitosamente"),
+            @ApiResponse(responseCode = "304", description = "La tarea no cambió desde el ETag indicado"),
             @ApiResponse(responseCode = "404", description = "Tarea no encontrada")
     })
     public ResponseEntity<SuccessResponse<TaskResponse>> getTaskById(
             @Parameter(description = "ID de la tarea")
-            @PathVariable String id) {
-        log.info("Recibida solicitud para obtener tarea con ID: {}", id);
+            @PathVariable String id,
+            @Parameter(description = "ETags de la tarea que el cliente ya tiene")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para obtener tarea con ID: {}", id);
         TaskResponse taskResponse = taskService.getTaskById(id);
+        String eTag = representationETag(String.valueOf(taskResponse.getVersion()), accept);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
         SuccessResponse<TaskResponse> successResponse = SuccessResponse.<TaskResponse>builder()
                 .timestamp(LocalDateTime.now())
                 .message("Tarea obtenida exitosamente")
                 .data(taskResponse)
                 .build();
-        return ResponseEntity.ok(successResponse);
+        return ResponseEntity.ok().eTag(eTag).body(successResponse);
     }
 
     /**
      * PUT /{id}/status
      * Actualiza el estado de una tarea existente.
+     * Si se envía la cabecera If-Match, la actualización solo se aplica si coincide con la versión actual.
      * @param id El ID de la tarea a actualizar.
      * @param request DTO con el nuevo estado de la tarea.
+     * @param ifMatch ETag de la versión que el cliente espera modificar.
+     * @param accept Cabecera Accept, que determina la representación y por tanto el ETag.
      * @return DTO con los datos de la tarea actualizada.
      */
     @PutMapping("/{id}/status")
@@ -114,27 +395,34 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Estado de la tarea actualizado exitosamente"),
             @ApiResponse(responseCode = "404", description = "Tarea no encontrada"),
-            @ApiResponse(responseCode = "400", description = "Solicitud inválida")
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+            @ApiResponse(responseCode = "412", description = "La tarea fue modificada por otra operación")
     })
     public ResponseEntity<SuccessResponse<TaskResponse>> updateTaskStatus(
             @Parameter(description = "ID de la tarea")
             @PathVariable String id,
-            @Valid @RequestBody UpdateTaskStatusRequest request) {
-        log.info("Recibida solicitud para actualizar el estado de la tarea con ID: {}", id);
-        TaskResponse updatedTask = taskService.updateTaskStatus(id, request);
+            @Valid @RequestBody UpdateTaskStatusRequest request,
+            @Parameter(description = "ETag de la versión esperada de la tarea")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para actualizar el estado de la tarea con ID: {}", id);
+        TaskResponse updatedTask = taskService.updateTaskStatus(id, request, expectedVersion(ifMatch));
         SuccessResponse<TaskResponse> successResponse = SuccessResponse.<TaskResponse>builder()
                 .timestamp(LocalDateTime.now())
                 .message("Estado de la tarea actualizado exitosamente")
                 .data(updatedTask)
                 .build();
-        return ResponseEntity.ok(successResponse);
+        return ResponseEntity.ok().eTag(representationETag(String.valueOf(updatedTask.getVersion()), accept)).body(successResponse);
     }
 
     /**
      * PATCH /{id}
      * Actualiza los detalles de una tarea existente.
+     * Si se envía la cabecera If-Match, la actualización solo se aplica si coincide con la versión actual.
      * @param id El ID de la tarea a actualizar.
      * @param request DTO con los nuevos datos de la tarea.
+     * @param ifMatch ETag de la versión que el cliente espera modificar.
+     * @param accept Cabecera Accept, que determina la representación y por tanto el ETag.
      * @return DTO con los datos de la tarea actualizada.
      */
     @PatchMapping("/{id}")
@@ -142,20 +430,24 @@ public class TaskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarea actualizada exitosamente"),
             @ApiResponse(responseCode = "404", description = "Tarea no encontrada"),
-            @ApiResponse(responseCode = "400", description = "Solicitud inválida")
+            @ApiResponse(responseCode = "400", description = "Solicitud inválida"),
+            @ApiResponse(responseCode = "412", description = "La tarea fue modificada por otra operación")
     })
     public ResponseEntity<SuccessResponse<TaskResponse>> updateTask(
             @Parameter(description = "ID de la tarea")
             @PathVariable String id,
-            @Valid @RequestBody UpdateTaskRequest request) {
-        log.info("Recibida solicitud para actualizar la tarea con ID: {}", id);
-        TaskResponse updatedTask = taskService.updateTask(id, request);
+            @Valid @RequestBody UpdateTaskRequest request,
+            @Parameter(description = "ETag de la versión esperada de la tarea")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para actualizar la tarea con ID: {}", id);
+        TaskResponse updatedTask = taskService.updateTask(id, request, expectedVersion(ifMatch));
         SuccessResponse<TaskResponse> successResponse = SuccessResponse.<TaskResponse>builder()
                 .timestamp(LocalDateTime.now())
                 .message("Tarea actualizada exitosamente")
                 .data(updatedTask)
                 .build();
-        return ResponseEntity.ok(successResponse);
+        return ResponseEntity.ok().eTag(representationETag(String.valueOf(updatedTask.getVersion()), accept)).body(successResponse);
     }
 
     /**
@@ -173,7 +465,7 @@ public class TaskController {
     public ResponseEntity<SuccessResponse<Void>> deleteTask(
             @Parameter(description = "ID de la tarea")
             @PathVariable String id) {
-        log.info("Recibida solicitud para eliminar la tarea con ID: {}", id);
+        log.debug("Recibida solicitud para eliminar la tarea con ID: {}", id);
         taskService.deleteTask(id);
         SuccessResponse<Void> successResponse = SuccessResponse.<Void>builder()
                 .timestamp(LocalDateTime.now())
@@ -186,46 +478,353 @@ public class TaskController {
     /**
      * GET /tasks
      * Obtiene todas las tareas del sistema.
+     * Si se indica limit o cursor, la respuesta se pagina y incluye nextCursor.
+     * La respuesta incluye un ETag con la versión de la colección; si coincide con If-None-Match
+     * se responde 304 sin consultar las tareas.
+     * @param limit Número máximo de tareas por página.
+     * @param cursor Cursor devuelto por la página anterior.
+     * @param ifNoneMatch ETags que el cliente ya tiene en caché.
+     * @param accept Cabecera Accept, que determina la representación y por tanto el ETag.
      * @return Lista de todas las tareas.
      */
     @GetMapping("/tasks")
     @Operation(summary = "Obtener todas las tareas", description = "Obtiene todas las tareas del sistema.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente")
+            @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "304", description = "Las tareas no cambiaron desde el ETag indicado")
     })
-    public ResponseEntity<SuccessResponse<List<TaskResponse>>> getAllTasks() {
-        log.info("Recibida solicitud para obtener todas las tareas");
+    public ResponseEntity<SuccessResponse<List<TaskResponse>>> getAllTasks(
+            @Parameter(description = "Número máximo de tareas por página")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "ETags de la colección que el cliente ya tiene")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para obtener todas las tareas");
+        String eTag = representationETag(taskService.getAllTasksETag(), accept);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        if (limit != null || cursor != null) {
+            return pageResponse(taskService.getAllTasks(cursor, limit), eTag);
+        }
         List<TaskResponse> tasks = taskService.getAllTasks();
         SuccessResponse<List<TaskResponse>> successResponse = SuccessResponse.<List<TaskResponse>>builder()
                 .timestamp(LocalDateTime.now())
                 .message("Tareas obtenidas exitosamente")
                 .data(tasks)
                 .build();
-        return ResponseEntity.ok(successResponse);
+        return ResponseEntity.ok().eTag(eTag).body(successResponse);
+    }
+
+    /**
+     * GET /tasks/stream
+     * Transmite todas las tareas a medida que se leen del repositorio.
+     * @param accept Cabecera Accept: text/event-stream para Server-Sent Events, NDJSON en otro caso.
+     * @return Las tareas, una por línea (NDJSON) o una por evento (SSE).
+     */
+    @GetMapping(value = "/tasks/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Transmitir todas las tareas", description = "Transmite todas las tareas en NDJSON o Server-Sent Events sin construir la lista completa.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tareas transmitidas exitosamente")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllTasks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para transmitir todas las tareas");
+        return streamResponse(accept, taskService.streamAllTasks());
+    }
+
+    /**
+     * GET /changes
+     * Suscribe al cliente a los cambios de tareas mediante Server-Sent Events.
+     * Cada cambio se envía como un evento "task" cuyo ID es su secuencia; al reconectarse, el cliente
+     * reanuda desde la cabecera Last-Event-ID o el parámetro since. Si los cambios pendientes ya no están
+     * en el buffer, se envía un evento "reset" con la secuencia desde la que continúa el feed.
+     * @param documentId ID de documento opcional para filtrar los cambios.
+     * @param assignedUserId ID de usuario asignado opcional para filtrar los cambios.
+     * @param since Secuencia del último cambio recibido, opcional.
+     * @param lastEventId Cabecera Last-Event-ID enviada por el navegador al reconectarse.
+     * @return El emisor de eventos de la suscripción.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los cambios de tareas", description = "Transmite las creaciones, actualizaciones y eliminaciones de tareas como Server-Sent Events, con filtro opcional por documento o usuario asignado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suscripción iniciada"),
+            @ApiResponse(responseCode = "503", description = "Se alcanzó el número máximo de suscriptores")
+    })
+    public SseEmitter subscribeToChanges(
+            @Parameter(description = "ID del documento") @RequestParam(required = false) String documentId,
+            @Parameter(description = "ID del usuario asignado") @RequestParam(required = false) String assignedUserId,
+            @Parameter(description = "Secuencia del último cambio recibido") @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("Recibida solicitud de suscripción a cambios de tareas");
+        Long from = since;
+        if (from == null && lastEventId != null) {
+            try {
+                from = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Last-Event-ID inválido: " + lastEventId);
+            }
+        }
+        return taskChangeService.subscribe(documentId, assignedUserId, from);
     }
 
     /**
      * GET /users/{userId}/tasks
      * Obtiene todas las tareas asignadas a un usuario específico.
+     * Si se indica limit o cursor, la respuesta se pagina y incluye nextCursor.
+     * La respuesta incluye un ETag con la versión de la colección del usuario; si coincide con If-None-Match
+     * se responde 304 sin consultar las tareas.
      * @param userId El ID del usuario asignado.
+     * @param limit Número máximo de tareas por página.
+     * @param cursor Cursor devuelto por la página anterior.
+     * @param ifNoneMatch ETags que el cliente ya tiene en caché.
+     * @param accept Cabecera Accept, que determina la representación y por tanto el ETag.
      * @return Lista de tareas asignadas al usuario.
      */
     @GetMapping("/users/{userId}/tasks")
     @Operation(summary = "Obtener tareas por ID de usuario asignado", description = "Obtiene todas las tareas asignadas a un usuario específico.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tareas obtenidas exitosamente"),
+            @ApiResponse(responseCode = "304", description = "Las tareas no cambiaron desde el ETag indicado"),
             @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
     })
     public ResponseEntity<SuccessResponse<List<TaskResponse>>> getTasksByAssignedUserId(
             @Parameter(description = "ID del usuario asignado")
-            @PathVariable String userId) {
-        log.info("Recibida solicitud para obtener tareas del usuario asignado ID: {}", userId);
+            @PathVariable String userId,
+            @Parameter(description = "Número máximo de tareas por página")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página siguiente")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "ETags de la colección que el cliente ya tiene")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para obtener tareas del usuario asignado ID: {}", userId);
+        String eTag = representationETag(taskService.getTasksByAssignedUserIdETag(userId), accept);
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return notModified(eTag);
+        }
+        if (limit != null || cursor != null) {
+            return pageResponse(taskService.getTasksByAssignedUserId(userId, cursor, limit), eTag);
+        }
         List<TaskResponse> tasks = taskService.getTasksByAssignedUserId(userId);
         SuccessResponse<List<TaskResponse>> successResponse = SuccessResponse.<List<TaskResponse>>builder()
                 .timestamp(LocalDateTime.now())
                 .message("Tareas obtenidas exitosamente")
                 .data(tasks)
                 .build();
+        return ResponseEntity.ok().eTag(eTag).body(successResponse);
+    }
+
+    /**
+     * GET /users/{userId}/tasks/stream
+     * Transmite las tareas asignadas a un usuario a medida que se leen del repositorio.
+     * @param userId El ID del usuario asignado.
+     * @param accept Cabecera Accept: text/event-stream para Server-Sent Events, NDJSON en otro caso.
+     * @return Las tareas, una por línea (NDJSON) o una por evento (SSE).
+     */
+    @GetMapping(value = "/users/{userId}/tasks/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Transmitir tareas por ID de usuario asignado", description = "Transmite las tareas de un usuario en NDJSON o Server-Sent Events sin construir la lista completa.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tareas transmitidas exitosamente")
+    })
+    public ResponseEntity<StreamingResponseBody> streamTasksByAssignedUserId(
+            @Parameter(description = "ID del usuario asignado")
+            @PathVariable String userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        log.debug("Recibida solicitud para transmitir tareas del usuario asignado ID: {}", userId);
+        return streamResponse(accept, taskService.streamTasksByAssignedUserId(userId));
+    }
+
+    /**
+     * Construye una respuesta que escribe las tareas a medida que se consume el stream.
+     * Cada tarea se serializa directamente en el buffer de la respuesta, sin la lista completa ni el envoltorio
+     * SuccessResponse, por lo que la memoria por petición no depende del número de tareas. La primera tarea se
+     * envía de inmediato; las siguientes salen cada vez que se llena el buffer, y la escritura bloquea mientras
+     * el cliente no consume, lo que frena la lectura del repositorio.
+     * @param accept Cabecera Accept de la petición.
+     * @param tasks Stream perezoso de las tareas.
+     * @return Respuesta NDJSON, o text/event-stream si el cliente lo solicita.
+     */
+    private ResponseEntity<StreamingResponseBody> streamResponse(String accept, Stream<TaskResponse> tasks) {
+        boolean eventStream = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = output -> {
+            try (Stream<TaskResponse> stream = tasks;
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.setRootValueSeparator(null);
+                Iterator<TaskResponse> iterator = stream.iterator();
+                boolean first = true;
+                while (iterator.hasNext()) {
+                    if (eventStream) {
+                        generator.writeRaw("data: ");
+                    }
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw(eventStream ? "\n\n" : "\n");
+                    if (first) {
+                        generator.flush();
+                        first = false;
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(eventStream ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    /**
+     * Construye la respuesta de un listado paginado.
+     * El ETag es el de la colección completa: la URL de cada página incluye su cursor y su límite,
+     * por lo que la página solo puede cambiar si cambia la colección.
+     * @param page La página de tareas.
+     * @param eTag ETag de la colección.
+     * @return Respuesta con las tareas de la página y el cursor de la siguiente.
+     */
+    private ResponseEntity<SuccessResponse<List<TaskResponse>>> pageResponse(TaskPageResponse page, String eTag) {
+        SuccessResponse<List<TaskResponse>> successResponse = SuccessResponse.<List<TaskResponse>>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Tareas obtenidas exitosamente")
+                .data(page.getTasks())
+                .nextCursor(page.getNextCursor())
+                .build();
+        return ResponseEntity.ok().eTag(eTag).body(successResponse);
+    }
+
+    /**
+     * Construye la respuesta de un listado por vencimiento. No lleva ETag porque el resultado
+     * depende del momento de la consulta y no solo de la colección.
+     * @param page La página de tareas.
+     * @return Respuesta con las tareas de la página y el cursor de la siguiente.
+     */
+    private ResponseEntity<SuccessResponse<List<TaskResponse>>> duePageResponse(TaskPageResponse page) {
+        SuccessResponse<List<TaskResponse>> successResponse = SuccessResponse.<List<TaskResponse>>builder()
+                .timestamp(LocalDateTime.now())
+                .message("Tareas obtenidas exitosamente")
+                .data(page.getTasks())
+                .nextCursor(page.getNextCursor())
+                .build();
         return ResponseEntity.ok(successResponse);
     }
-}
+
+    /**
+     * Construye la respuesta de una operación por lotes.
+     * @param message Mensaje de la respuesta.
+     * @param batch El resultado del lote.
+     * @return Respuesta con el resultado de cada operación.
+     */
+    private ResponseEntity<SuccessResponse<BatchResponse>> batchResponse(String message, BatchResponse batch) {
+        SuccessResponse<BatchResponse> successResponse = SuccessResponse.<BatchResponse>builder()
+                .timestamp(LocalDateTime.now())
+                .message(message)
+                .data(batch)
+                .build();
+        return ResponseEntity.ok(successResponse);
+    }
+
+    /**
+     * Construye una respuesta 304 sin cuerpo con el ETag vigente.
+     * No pasa por los convertidores de mensajes, por lo que declara aquí que varía según Accept.
+     * @param eTag El ETag, sin comillas.
+     * @return La respuesta 304.
+     */
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+    }
+
+    /**
+     * Construye el ETag de la representación que se va a devolver.
+     * El mismo recurso se sirve en JSON o en Smile según la cabecera Accept, y un ETag fuerte debe ser distinto
+     * para cada representación; por eso se añade un sufijo con el formato.
+     * @param eTag ETag del recurso, sin comillas.
+     * @param accept Cabecera Accept de la petición.
+     * @return El ETag de la representación, sin comillas.
+     */
+    private static String representationETag(String eTag, String accept) {
+        return eTag + (acceptsSmile(accept) ? "-smile" : "-json");
+    }
+
+    /**
+     * Indica si la negociación de contenido elegirá Smile para la cabecera Accept indicada.
+     * Reproduce el criterio de Spring MVC: gana el tipo con mayor calidad y, a igual calidad, el que aparece antes
+     * en la cabecera; un comodín que admite ambos formatos elige JSON, que es el primer convertidor registrado.
+     * @param accept Cabecera Accept de la petición.
+     * @return true si la respuesta se serializará en Smile.
+     */
+    private static boolean acceptsSmile(String accept) {
+        if (accept == null || !accept.contains(SMILE.getSubtype())) {
+            return false;
+        }
+        List<MediaType> acceptables;
+        try {
+            acceptables = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        MediaType selected = null;
+        double selectedQuality = 0;
+        for (MediaType acceptable : acceptables) {
+            for (MediaType producible : PRODUCIBLE) {
+                if (acceptable.includes(producible) && acceptable.getQualityValue() > selectedQuality) {
+                    selected = producible;
+                    selectedQuality = acceptable.getQualityValue();
+                }
+            }
+        }
+        return SMILE.equals(selected);
+    }
+
+    /**
+     * Indica si la cabecera If-None-Match contiene un ETag, con la comparación débil que exige esa cabecera.
+     * @param ifNoneMatch Valor de la cabecera, por ejemplo "3-json", W/"3-json", una lista separada por comas o *.
+     * @param eTag El ETag vigente, sin comillas.
+     * @return true si el cliente ya tiene la versión vigente.
+     */
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || eTag.equals(value.replace("\"", ""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene la versión esperada a partir de la cabecera If-Match.
+     * Se ignora el sufijo de la representación, de modo que el ETag de una respuesta JSON o Smile sirve igual.
+     * If-Match usa la comparación fuerte (RFC 9110), por lo que un ETag débil nunca cumple la precondición.
+     * @param ifMatch Valor de la cabecera, por ejemplo "3-json" o "3".
+     * @return La versión esperada, o null si no se indicó o es el comodín *.
+     * @throws TaskVersionConflictException Si la cabecera contiene un ETag débil.
+     * @throws IllegalArgumentException Si la cabecera no contiene una versión válida.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new TaskVersionConflictException("Un ETag débil no cumple la precondición If-Match: " + ifMatch);
+        }
+        value = value.replace("\"", "");
+        int suffix = value.indexOf('-');
+        try {
+            return Long.parseLong(suffix < 0 ? value : value.substring(0, suffix));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cabecera If-Match inválida: " + ifMatch);
+        }
+    }
+}
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.insightflow.tasks_service.dto;
 
 import com.insightflow.tasks_service.model.Task;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Data Transfer Objects (DTOs) para la entidad Task.
  */
 public class TaskDTOs {
+    /**
+     * Número máximo de operaciones por lote.
+     */
+    public static final int MAX_BATCH_SIZE = 500;
 
     /**
      * DTO para la creación de una nueva tarea.
@@ -64,6 +73,65 @@ public class TaskDTOs {
         private String status;
     }
 
+    /**
+     * DTO para crear un lote de tareas.
+     * Cada tarea se valida por separado, de modo que una tarea inválida no impide crear las demás.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchCreateRequest {
+        @NotEmpty(message = "El lote no puede estar vacío")
+        @Size(max = MAX_BATCH_SIZE, message = "El lote no puede superar las " + MAX_BATCH_SIZE + " tareas")
+        private List<CreateTaskRequest> tasks;
+    }
+
+    /**
+     * DTO para actualizar un lote de tareas.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchUpdateRequest {
+        @NotEmpty(message = "El lote no puede estar vacío")
+        @Size(max = MAX_BATCH_SIZE, message = "El lote no puede superar las " + MAX_BATCH_SIZE + " tareas")
+        private List<BatchUpdateItem> tasks;
+    }
+
+    /**
+     * Actualización de una tarea dentro de un lote.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchUpdateItem {
+        @NotBlank(message = "El id no puede estar vacío")
+        private String id;
+        /**
+         * Versión que el cliente espera modificar (equivalente a If-Match), o null para no verificarla.
+         */
+        private Long version;
+        @Valid
+        @NotNull(message = "Los cambios no pueden estar vacíos")
+        private UpdateTaskRequest changes;
+    }
+
+    /**
+     * DTO para eliminar un lote de tareas.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchDeleteRequest {
+        @NotEmpty(message = "El lote no puede estar vacío")
+        @Size(max = MAX_BATCH_SIZE, message = "El lote no puede superar las " + MAX_BATCH_SIZE + " tareas")
+        private List<String> ids;
+    }
+
     /**
      * DTO para la respuesta que contiene los detalles de una tarea.
      */
@@ -85,13 +153,14 @@ public class TaskDTOs {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private boolean active;
+        private long version;
 
         /**
          * Convierte una entidad Task a un DTO TaskResponse.
          */
         public static TaskResponse fromEntity(Task task) {
-            Task.TaskStatus taskStatus = Task.TaskStatus.valueOf(task.getStatus());
-            Task.TaskPriority taskPriority = Task.TaskPriority.valueOf(task.getPriority());
+            Task.TaskStatus taskStatus = task.getStatus();
+            Task.TaskPriority taskPriority = task.getPriority();
             return TaskResponse.builder()
                     .id(task.getId())
                     .documentId(task.getDocumentId())
@@ -104,12 +173,142 @@ public class TaskDTOs {
                     .createdAt(task.getCreatedAt())
                     .updatedAt(task.getUpdatedAt())
                     .active(task.isActive())
+                    .version(task.getVersion())
                     .statusDisplayName(taskStatus.getDisplayName())
                     .priorityDisplayName(taskPriority.getDisplayName())
                     .build();
         }
     }
 
+    /**
+     * DTO para una página de tareas obtenida mediante paginación por cursor.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskPageResponse {
+        private List<TaskResponse> tasks;
+        /**
+         * Cursor para solicitar la página siguiente, o null si no hay más tareas.
+         */
+        private String nextCursor;
+    }
+
+    /**
+     * DTO con los criterios de una búsqueda combinada de tareas activas. Los criterios nulos no filtran.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskQueryRequest {
+        private String documentId;
+        private String assignedUserId;
+        private String status;
+        private String priority;
+        /**
+         * Inicio del rango de fecha de vencimiento (inclusivo).
+         */
+        private LocalDateTime dueFrom;
+        /**
+         * Fin del rango de fecha de vencimiento (exclusivo).
+         */
+        private LocalDateTime dueTo;
+        /**
+         * Claves de ordenamiento separadas por comas; el prefijo - indica orden descendente.
+         */
+        private String sort;
+        /**
+         * Campos de cada tarea a incluir en la respuesta, separados por comas, o null para todos.
+         */
+        private String fields;
+        private String cursor;
+        private Integer limit;
+    }
+
+    /**
+     * DTO con el resultado de una búsqueda combinada. Cada tarea es un {@link TaskResponse}
+     * o, si se pidieron campos concretos, un mapa con solo esos campos.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskQueryResponse {
+        private List<?> tasks;
+        /**
+         * Cursor para solicitar la página siguiente, o null si no hay más tareas o se usó otro orden.
+         */
+        private String nextCursor;
+    }
+
+    /**
+     * DTO con los contadores de tareas activas.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskStatsResponse {
+        private long activeTasks;
+        private Map<Task.TaskStatus, Long> tasksByStatus;
+        private String documentId;
+        private Long documentTasks;
+        private String assignedUserId;
+        private Long assignedUserTasks;
+    }
+
+    /**
+     * DTO de un cambio de tarea enviado por el feed de cambios.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskChangeEvent {
+        /**
+         * Secuencia del cambio; se envía también como ID del evento para reanudar la suscripción.
+         */
+        private long sequence;
+        /**
+         * Tipo de cambio: CREATED, UPDATED o DELETED.
+         */
+        private String type;
+        private TaskResponse task;
+    }
+
+    /**
+     * DTO con el resultado de cada operación de un lote.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchResponse {
+        private List<BatchItemResult> results;
+        private int succeeded;
+        private int failed;
+    }
+
+    /**
+     * Resultado de una operación de un lote, con el código HTTP que habría tenido como petición individual.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchItemResult {
+        /**
+         * Posición de la operación dentro del lote.
+         */
+        private int index;
+        private String id;
+        private int status;
+        private TaskResponse task;
+        private String error;
+    }
+
     /**
      * DTO para respuesta de error
      */
@@ -135,5 +334,9 @@ public class TaskDTOs {
         private String message;
         private T data;
         private LocalDateTime timestamp;
+        /**
+         * Cursor de la página siguiente en los listados paginados.
+         */
+        private String nextCursor;
     }
 }
\ No newline at end of file
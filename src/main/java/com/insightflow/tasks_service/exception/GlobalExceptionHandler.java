@@ -1,7 +1,10 @@
 package com.insightflow.tasks_service.exception;
 
 import com.insightflow.tasks_service.dto.TaskDTOs.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,7 +12,9 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +25,32 @@ import java.util.Map;
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
+    private final Counter notFoundErrors;
+    private final Counter versionConflictErrors;
+    private final Counter validationErrors;
+    private final Counter invalidArgumentErrors;
+    private final Counter internalErrors;
+    private final Counter rejectedErrors;
+
+    /**
+     * Registra un contador de errores por cada tipo de excepción manejada, publicado como tasks.errors.
+     * @param registry Registro de métricas de la aplicación.
+     */
+    public GlobalExceptionHandler(MeterRegistry registry) {
+        this.notFoundErrors = errorCounter(registry, "not_found");
+        this.versionConflictErrors = errorCounter(registry, "version_conflict");
+        this.validationErrors = errorCounter(registry, "validation");
+        this.invalidArgumentErrors = errorCounter(registry, "invalid_argument");
+        this.internalErrors = errorCounter(registry, "internal");
+        this.rejectedErrors = errorCounter(registry, "rejected");
+    }
+
+    private static Counter errorCounter(MeterRegistry registry, String type) {
+        return Counter.builder("tasks.errors")
+                .description("Errores devueltos por la API según su tipo")
+                .tag("type", type)
+                .register(registry);
+    }
 
     /**
      * Maneja las excepciones de tipo TaskNotFoundException.
@@ -28,15 +59,34 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleTaskNotFoundException(TaskNotFoundException ex, HttpServletRequest request) {
-        log.error("Tarea no encontrada: {}", ex.getMessage());
+        notFoundErrors.increment();
+        String message = ex.getMessage();
+        log.debug("Tarea no encontrada: {}", message);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
                 .status(HttpStatus.NOT_FOUND.value())
-                .message(ex.getMessage())
+                .message(message)
                 .path(request.getRequestURI())
                 .build();
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
+    /**
+     * Maneja las excepciones de tipo TaskVersionConflictException.
+     * @param ex La excepción lanzada cuando la versión esperada de una tarea no coincide con la actual.
+     * @param request La solicitud HTTP que provocó la excepción.
+     */
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTaskVersionConflictException(TaskVersionConflictException ex, HttpServletRequest request) {
+        versionConflictErrors.increment();
+        log.warn("Conflicto de versión: {}", ex.getMessage());
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
     /**
      * Maneja las excepciones de validación de argumentos.
      * @param ex La excepción lanzada cuando la validación de argumentos falla.
@@ -45,6 +95,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(
         MethodArgumentNotValidException ex, HttpServletRequest request) {
+        validationErrors.increment();
         log.error("Error de validación: {}", ex.getMessage());
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
@@ -61,6 +112,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(responseBody);
     }
 
+    /**
+     * Maneja las excepciones de tipo ResponseStatusException, como el rechazo de suscripciones por capacidad.
+     * @param ex La excepción lanzada con el código HTTP de la respuesta.
+     * @param request La solicitud HTTP que provocó la excepción.
+     * @return Una respuesta con el código y el motivo de la excepción.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex, HttpServletRequest request) {
+        rejectedErrors.increment();
+        log.warn("Solicitud rechazada: {}", ex.getReason());
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(ex.getStatusCode().value())
+                .message(ex.getReason())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(ex.getStatusCode()).body(errorResponse);
+    }
+
+    /**
+     * Maneja los errores de escritura de una respuesta ya iniciada, como la desconexión de un suscriptor
+     * del feed de cambios. No hay respuesta de error que enviar, por lo que solo se registra.
+     * @param ex La excepción lanzada al escribir la respuesta.
+     * @param response La respuesta HTTP en curso.
+     * @throws IOException Si la respuesta todavía no se había iniciado.
+     */
+    @ExceptionHandler(IOException.class)
+    public void handleIOException(IOException ex, HttpServletResponse response) throws IOException {
+        if (!response.isCommitted()) {
+            throw ex;
+        }
+        log.debug("Cliente desconectado: {}", ex.getMessage());
+    }
+
     /**
      * Maneja todas las demás excepciones no controladas.
      * @param ex La excepción lanzada.
@@ -70,6 +155,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex, HttpServletRequest request) {
+        internalErrors.increment();
         log.error("Error interno del servidor: {}", ex.getMessage(), ex);
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -88,6 +174,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex, HttpServletRequest request) {
+        invalidArgumentErrors.increment();
         log.error("Argumento ilegal: {}", ex.getMessage());
         ErrorResponse errorResponse = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -2,14 +2,19 @@ package com.insightflow.tasks_service.exception;
 
 /**
  * Excepción lanzada cuando una tarea no es encontrada en el repositorio.
+ * No captura la traza de la pila: es un resultado esperado de la API (404) y no un error interno,
+ * por lo que crearla no debe costar más que el resto de la respuesta. La excepción sí la captura
+ * cuando envuelve una causa, porque entonces sirve para diagnosticar un fallo.
  */
 public class TaskNotFoundException extends RuntimeException {
+    private final String taskId;
+
     /**
      * Constructor de la excepción.
      * @param message Mensaje de error que describe la causa de la excepción.
      */
     public TaskNotFoundException(String message) {
-        super(message);
+        this(message, null, false, null);
     }
     /**
      * Constructor de la excepción con un mensaje predeterminado.
@@ -17,7 +22,40 @@ public class TaskNotFoundException extends RuntimeException {
      * @param cause Causa raíz del error.
      */
     public TaskNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        this(message, cause, cause != null, null);
+    }
+
+    /**
+     * Constructor común de la excepción.
+     * @param message Mensaje de error, o null si se construye a partir del ID de la tarea.
+     * @param cause Causa raíz del error, o null.
+     * @param writableStackTrace Si se captura la traza de la pila.
+     * @param taskId ID de la tarea no encontrada, o null si se indica un mensaje explícito.
+     */
+    private TaskNotFoundException(String message, Throwable cause, boolean writableStackTrace, String taskId) {
+        super(message, cause, false, writableStackTrace);
+        this.taskId = taskId;
+    }
+
+    /**
+     * Crea la excepción para el ID de una tarea. El mensaje se construye solo si se consulta.
+     * @param taskId El ID de la tarea no encontrada.
+     * @return La excepción.
+     */
+    public static TaskNotFoundException forId(String taskId) {
+        return new TaskNotFoundException(null, null, false, taskId);
+    }
+
+    /**
+     * Obtiene el ID de la tarea no encontrada.
+     * @return El ID, o null si la excepción se creó con un mensaje explícito.
+     */
+    public String getTaskId() {
+        return taskId;
+    }
+
+    @Override
+    public String getMessage() {
+        return taskId != null ? "Tarea con ID " + taskId + " no encontrada" : super.getMessage();
     }
-    
-}
\ No newline at end of file
+}
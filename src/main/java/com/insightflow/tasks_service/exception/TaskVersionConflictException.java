@@ -0,0 +1,16 @@
+package com.insightflow.tasks_service.exception;
+
+/**
+ * Excepción lanzada cuando una tarea fue modificada por otra operación
+ * y la versión esperada ya no coincide con la almacenada.
+ * No captura la traza de la pila, ya que las actualizaciones la utilizan para reintentar ante escrituras concurrentes.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+    /**
+     * Constructor de la excepción.
+     * @param message Mensaje de error que describe la causa de la excepción.
+     */
+    public TaskVersionConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
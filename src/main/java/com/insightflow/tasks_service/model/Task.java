@@ -1,19 +1,17 @@
 package com.insightflow.tasks_service.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.time.LocalDateTime;
 /**
  * Entidad que representa una tarea en el sistema.
+ * Es inmutable: cada modificación produce una nueva instancia (mediante toBuilder())
+ * con la versión incrementada, por lo que los lectores nunca observan cambios a medio aplicar.
  */
 
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
+@Value
+@Builder(toBuilder = true)
 public class Task {
     /**
      * Identificador de la tarea
@@ -32,17 +30,17 @@ public class Task {
      */
     private String description;
     /**
-     * Estado de la tarea (por ejemplo, PENDING, IN_PROGRESS, COMPLETED)
+     * Estado de la tarea (PENDING, IN_PROGRESS, COMPLETED)
      */
-    private String status;
+    private TaskStatus status;
     /**
      * Identificador del usuario asignado a la tarea
      */
     private String assignedUserId;
     /**
-     * Nivel de prioridad de la tarea (por ejemplo, LOW, MEDIUM, HIGH)
+     * Nivel de prioridad de la tarea (LOW, MEDIUM, HIGH)
      */
-    private String priority;
+    private TaskPriority priority;
     /**
      * Fecha y hora de vencimiento de la tarea
      */
@@ -59,6 +57,11 @@ public class Task {
      * Indicador de si la tarea está eliminada lógicamente
      */
     private boolean active;
+    /**
+     * Versión de la tarea, incrementada en cada modificación. Se utiliza para el control de concurrencia optimista.
+     */
+    @Builder.Default
+    private long version = 1;
 
     /**
      * Estados de las tareas
@@ -0,0 +1,131 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.model.Task;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codificación binaria de la imagen completa de una tarea, compartida por el WAL y los snapshots.
+ * Los textos se escriben como UTF-8 con prefijo de longitud (-1 para null) y las fechas
+ * como segundos desde epoch más nanosegundos, en UTC. El estado y la prioridad se escriben por nombre,
+ * de modo que el formato no depende del orden de declaración de los enums.
+ */
+final class TaskCodec {
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private TaskCodec() {
+    }
+
+    /**
+     * Escribe una tarea.
+     * @param out Destino de la escritura.
+     * @param task La tarea a escribir.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    static void write(DataOutput out, Task task) throws IOException {
+        writeString(out, task.getId());
+        writeString(out, task.getDocumentId());
+        writeString(out, task.getTitle());
+        writeString(out, task.getDescription());
+        writeString(out, name(task.getStatus()));
+        writeString(out, task.getAssignedUserId());
+        writeString(out, name(task.getPriority()));
+        writeDate(out, task.getDueDate());
+        writeDate(out, task.getCreatedAt());
+        writeDate(out, task.getUpdatedAt());
+        out.writeBoolean(task.isActive());
+        out.writeLong(task.getVersion());
+    }
+
+    /**
+     * Lee una tarea escrita con {@link #write(DataOutput, Task)}.
+     * @param in Origen de la lectura.
+     * @return La tarea leída.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    static Task read(DataInput in) throws IOException {
+        return Task.builder()
+                .id(readString(in))
+                .documentId(readString(in))
+                .title(readString(in))
+                .description(readString(in))
+                .status(constant(Task.TaskStatus.class, readString(in)))
+                .assignedUserId(readString(in))
+                .priority(constant(Task.TaskPriority.class, readString(in)))
+                .dueDate(readDate(in))
+                .createdAt(readDate(in))
+                .updatedAt(readDate(in))
+                .active(in.readBoolean())
+                .version(in.readLong())
+                .build();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_DATE);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDate(DataInput in) throws IOException {
+        long seconds = in.readLong();
+        if (seconds == NULL_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Obtiene el nombre persistido de una constante de enum.
+     * @param value La constante, o null.
+     * @return El nombre de la constante, o null.
+     */
+    static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    /**
+     * Obtiene la constante de enum correspondiente a un nombre persistido.
+     * @param type El tipo del enum.
+     * @param name El nombre, o null.
+     * @return La constante, o null si el nombre es nulo.
+     * @throws IOException Si el nombre no corresponde a ninguna constante.
+     */
+    static <E extends Enum<E>> E constant(Class<E> type, String name) throws IOException {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Valor inválido de " + type.getSimpleName() + ": " + name, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.model.Task;
+
+/**
+ * Registro de las modificaciones de tareas que permite reconstruir el repositorio tras un reinicio.
+ * El repositorio llama a {@link #append(Task)} dentro de la operación atómica de cada tarea,
+ * para que el orden del registro coincida con el orden de las escrituras, y espera la durabilidad
+ * con {@link #awaitDurable(long)} fuera de ella.
+ */
+public interface TaskJournal {
+    /**
+     * Registro que no persiste nada, utilizado en el modo en memoria.
+     */
+    TaskJournal NONE = new TaskJournal() {
+        @Override
+        public long append(Task task) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long sequence) {
+        }
+    };
+
+    /**
+     * Agrega al registro la imagen completa de una tarea.
+     * @param task La nueva versión de la tarea.
+     * @return El número de secuencia asignado al registro.
+     */
+    long append(Task task);
+
+    /**
+     * Bloquea hasta que el registro con la secuencia indicada (y todos los anteriores) esté en disco.
+     * @param sequence El número de secuencia devuelto por {@link #append(Task)}.
+     */
+    void awaitDurable(long sequence);
+}
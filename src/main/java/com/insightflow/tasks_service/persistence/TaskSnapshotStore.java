@@ -0,0 +1,354 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.model.Task;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshots compactados del repositorio de tareas.
+ * Cada snapshot contiene la imagen de todas las tareas y la secuencia del WAL hasta la cual es válido,
+ * de modo que el arranque solo reproduce la cola del log posterior a esa secuencia.
+ * Se escriben en un archivo temporal y se renombran de forma atómica una vez sincronizados en disco.
+ * <p>
+ * El archivo se carga con {@link FileChannel#map}: las tareas son registros de tamaño fijo y todos los
+ * textos (IDs, títulos, descripciones, estados) se guardan una sola vez en una tabla de strings,
+ * por lo que la carga consiste en leer campos en offsets fijos y el tiempo queda acotado por los page faults.
+ * Formato:
+ * <pre>
+ * cabecera  magic, formato, secuencia, registros, strings, CRC32 del cuerpo
+ * registros [id, documento, título, descripción, estado, usuario, prioridad] como índices de string (int),
+ *           dueDate, createdAt, updatedAt como segundos (long) y nanos (int), active (byte), versión (long)
+ * offsets   posición (long) de cada string dentro de los datos, más una posición final
+ * datos     strings en UTF-8
+ * </pre>
+ */
+public class TaskSnapshotStore {
+    /**
+     * Marca de inicio de los snapshots mapeables ("TSNM").
+     */
+    private static final int MAGIC = 0x54534E4D;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int STRING_FIELDS = 7;
+    private static final int RECORD_SIZE = STRING_FIELDS * Integer.BYTES + 3 * (Long.BYTES + Integer.BYTES) + 1 + Long.BYTES;
+    private static final int NULL_STRING = -1;
+    /**
+     * Registros por bloque de carga paralela.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+
+    /**
+     * Constructor del almacén de snapshots.
+     * @param directory Directorio donde se guardan los snapshots.
+     */
+    public TaskSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Escribe un snapshot de las tareas.
+     * @param sequence Última secuencia del WAL incluida en el snapshot.
+     * @param tasks Las tareas a guardar.
+     * @return El número de tareas escritas.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public long write(long sequence, Collection<Task> tasks) throws IOException {
+        Files.createDirectories(directory);
+        List<Task> snapshot = new ArrayList<>(tasks);
+        StringTable strings = new StringTable();
+        ByteBuffer records = ByteBuffer.allocate(Math.multiplyExact(snapshot.size(), RECORD_SIZE));
+        for (Task task : snapshot) {
+            records.putInt(strings.ref(task.getId()));
+            records.putInt(strings.ref(task.getDocumentId()));
+            records.putInt(strings.ref(task.getTitle()));
+            records.putInt(strings.ref(task.getDescription()));
+            records.putInt(strings.ref(TaskCodec.name(task.getStatus())));
+            records.putInt(strings.ref(task.getAssignedUserId()));
+            records.putInt(strings.ref(TaskCodec.name(task.getPriority())));
+            putDate(records, task.getDueDate());
+            putDate(records, task.getCreatedAt());
+            putDate(records, task.getUpdatedAt());
+            records.put((byte) (task.isActive() ? 1 : 0));
+            records.putLong(task.getVersion());
+        }
+        records.flip();
+
+        Path temporary = directory.resolve(fileName(sequence) + ".tmp");
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            try (DataOutputStream body = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(nonClosing(channel), crc), 1 << 16))) {
+                body.write(records.array(), 0, records.limit());
+                long offset = 0;
+                for (byte[] value : strings.values) {
+                    body.writeLong(offset);
+                    offset += value.length;
+                }
+                body.writeLong(offset);
+                for (byte[] value : strings.values) {
+                    body.write(value);
+                }
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(sequence)
+                    .putInt(snapshot.size())
+                    .putInt(strings.values.size())
+                    .putInt((int) crc.getValue())
+                    .putInt(0)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(fileName(sequence)), StandardCopyOption.ATOMIC_MOVE);
+        return snapshot.size();
+    }
+
+    /**
+     * Carga el snapshot más reciente.
+     * @param consumer Receptor de cada tarea del snapshot; puede invocarse desde varios hilos.
+     * @return La secuencia del WAL incluida en el snapshot, o 0 si no existe ninguno.
+     * @throws IOException Si el snapshot está dañado o no puede leerse.
+     */
+    public long load(Consumer<Task> consumer) throws IOException {
+        List<Path> snapshots = snapshots();
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        return load(snapshots.get(snapshots.size() - 1), consumer);
+    }
+
+    /**
+     * Carga un snapshot específico mapeándolo en memoria.
+     * Los registros se decodifican en bloques en paralelo, por lo que el receptor debe ser seguro entre hilos.
+     * @param snapshot Ruta del snapshot.
+     * @param consumer Receptor de cada tarea del snapshot.
+     * @return La secuencia del WAL incluida en el snapshot.
+     * @throws IOException Si el snapshot está dañado o no puede leerse.
+     */
+    public long load(Path snapshot, Consumer<Task> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Snapshot inválido: " + snapshot);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Snapshot inválido: " + snapshot);
+            }
+            long sequence = header.getLong();
+            int recordCount = header.getInt();
+            int stringCount = header.getInt();
+            int expectedCrc = header.getInt();
+
+            long recordsSize = (long) recordCount * RECORD_SIZE;
+            long offsetsSize = (stringCount + 1L) * Long.BYTES;
+            MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, recordsSize);
+            MappedByteBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + recordsSize, offsetsSize);
+            long dataSize = offsets.getLong(stringCount * Long.BYTES);
+            long dataStart = HEADER_SIZE + recordsSize + offsetsSize;
+            if (dataStart + dataSize != channel.size()) {
+                throw new IOException("Tamaño inválido del snapshot " + snapshot);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataStart, dataSize);
+
+            CRC32 crc = new CRC32();
+            crc.update(records.duplicate());
+            crc.update(offsets.duplicate());
+            crc.update(data.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("CRC inválido en el snapshot " + snapshot);
+            }
+
+            String[] strings = new String[stringCount];
+            int chunks = (recordCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            try {
+                IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                    int end = Math.min(recordCount, (chunk + 1) * CHUNK_SIZE);
+                    for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                        consumer.accept(record(records, i * RECORD_SIZE, strings, offsets, data));
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * Elimina los snapshots anteriores a una secuencia y los temporales abandonados.
+     * @param sequence Secuencia del snapshot vigente.
+     * @throws IOException Si no puede eliminarse un archivo.
+     */
+    public void deleteOlderThan(long sequence) throws IOException {
+        for (Path snapshot : snapshots()) {
+            if (sequence(snapshot) < sequence) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX + ".tmp")).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Decodifica el registro de tamaño fijo que comienza en la posición indicada.
+     * @throws UncheckedIOException Si el registro contiene un estado o prioridad desconocidos.
+     */
+    private static Task record(ByteBuffer records, int base, String[] strings, ByteBuffer offsets, ByteBuffer data) {
+        try {
+            return decodeRecord(records, base, strings, offsets, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Task decodeRecord(ByteBuffer records, int base, String[] strings, ByteBuffer offsets, ByteBuffer data)
+            throws IOException {
+        return Task.builder()
+                .id(string(strings, offsets, data, records.getInt(base)))
+                .documentId(string(strings, offsets, data, records.getInt(base + 4)))
+                .title(string(strings, offsets, data, records.getInt(base + 8)))
+                .description(string(strings, offsets, data, records.getInt(base + 12)))
+                .status(TaskCodec.constant(Task.TaskStatus.class, string(strings, offsets, data, records.getInt(base + 16))))
+                .assignedUserId(string(strings, offsets, data, records.getInt(base + 20)))
+                .priority(TaskCodec.constant(Task.TaskPriority.class, string(strings, offsets, data, records.getInt(base + 24))))
+                .dueDate(date(records, base + 28))
+                .createdAt(date(records, base + 40))
+                .updatedAt(date(records, base + 52))
+                .active(records.get(base + 64) != 0)
+                .version(records.getLong(base + 65))
+                .build();
+    }
+
+    /**
+     * Decodifica un string de la tabla una sola vez; las tareas que lo comparten reciben la misma instancia.
+     * Si dos hilos lo decodifican a la vez, ambos obtienen strings iguales, lo que no afecta al resultado.
+     */
+    private static String string(String[] strings, ByteBuffer offsets, ByteBuffer data, int ref) {
+        if (ref == NULL_STRING) {
+            return null;
+        }
+        String value = strings[ref];
+        if (value == null) {
+            long start = offsets.getLong(ref * Long.BYTES);
+            long end = offsets.getLong((ref + 1) * Long.BYTES);
+            byte[] bytes = new byte[(int) (end - start)];
+            data.get((int) start, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[ref] = value;
+        }
+        return value;
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDateTime value) {
+        if (value == null) {
+            buffer.putLong(NULL_DATE).putInt(0);
+            return;
+        }
+        buffer.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+    }
+
+    private static LocalDateTime date(ByteBuffer buffer, int offset) {
+        long seconds = buffer.getLong(offset);
+        if (seconds == NULL_DATE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, buffer.getInt(offset + Long.BYTES), ZoneOffset.UTC);
+    }
+
+    private List<Path> snapshots() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(sequence(a), sequence(b)))
+                    .toList();
+        }
+    }
+
+    private static String fileName(long sequence) {
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    private static long sequence(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * Flujo de salida sobre el canal que no lo cierra, para poder escribir la cabecera al final.
+     */
+    private static OutputStream nonClosing(FileChannel channel) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        };
+    }
+
+    /**
+     * Tabla de strings deduplicados del snapshot.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+
+        int ref(String value) {
+            if (value == null) {
+                return NULL_STRING;
+            }
+            return refs.computeIfAbsent(value, v -> {
+                values.add(v.getBytes(StandardCharsets.UTF_8));
+                return values.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.config.TaskPersistenceProperties;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Persistencia durable del repositorio de tareas mediante WAL y snapshots.
+ * Al iniciar carga el último snapshot, reproduce la cola del WAL y conecta el WAL al repositorio.
+ * Periódicamente rota el WAL, escribe un snapshot compactado y elimina los segmentos cubiertos por él.
+ * Solo se activa con {@code tasks.persistence.mode=wal}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tasks.persistence", name = "mode", havingValue = "wal")
+public class WalTaskPersistence {
+    private final TaskRepository taskRepository;
+    private final TaskPersistenceProperties properties;
+
+    private WriteAheadLog writeAheadLog;
+    private TaskSnapshotStore snapshotStore;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile long snapshotSequence;
+
+    /**
+     * Recupera el estado del repositorio y empieza a registrar las escrituras.
+     * @throws IOException Si los archivos de persistencia no pueden leerse o están dañados.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Path directory = properties.getDirectory();
+        writeAheadLog = new WriteAheadLog(directory, properties.getGroupCommitDelay());
+        snapshotStore = new TaskSnapshotStore(directory);
+
+        long startedAt = System.nanoTime();
+        snapshotSequence = snapshotStore.load(taskRepository::restore);
+        long replayed = writeAheadLog.replay(snapshotSequence, taskRepository::restore);
+        writeAheadLog.start();
+        taskRepository.attachJournal(writeAheadLog);
+        log.info("Repositorio recuperado desde {}: snapshot hasta la secuencia {}, {} registros del WAL reproducidos en {} ms",
+                directory.toAbsolutePath(), snapshotSequence, replayed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Toma un snapshot si el WAL acumuló suficientes registros desde el anterior.
+     */
+    @Scheduled(initialDelayString = "${tasks.persistence.snapshot-interval:PT5M}",
+            fixedDelayString = "${tasks.persistence.snapshot-interval:PT5M}")
+    public void snapshotIfNeeded() {
+        if (writeAheadLog.lastSequence() - snapshotSequence >= properties.getSnapshotMinRecords()) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Rota el WAL, escribe un snapshot del repositorio y elimina los archivos que quedan cubiertos por él.
+     * El snapshot se toma sin detener las escrituras: puede incluir cambios posteriores a la rotación,
+     * que al reproducirse se descartan por versión.
+     */
+    public void snapshot() {
+        snapshotLock.lock();
+        try {
+            long startedAt = System.nanoTime();
+            long boundary = writeAheadLog.rotate();
+            long tasks = snapshotStore.write(boundary, taskRepository.allTasks());
+            snapshotStore.deleteOlderThan(boundary);
+            writeAheadLog.deleteSegmentsUpTo(boundary);
+            snapshotSequence = boundary;
+            log.info("Snapshot de {} tareas hasta la secuencia {} escrito en {} ms", tasks, boundary,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (IOException e) {
+            log.error("Error al escribir el snapshot de tareas: {}", e.getMessage(), e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Escribe un snapshot final para acelerar el siguiente arranque y cierra el WAL.
+     */
+    @PreDestroy
+    public void stop() {
+        if (writeAheadLog.lastSequence() > snapshotSequence) {
+            snapshot();
+        }
+        writeAheadLog.close();
+    }
+}
@@ -0,0 +1,419 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.model.Task;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log binario de solo anexado con commit agrupado.
+ * Los hilos de las solicitudes codifican el registro y lo encolan; un único hilo escritor vuelca
+ * en disco todos los registros pendientes y ejecuta un solo fsync por lote, por lo que el costo
+ * del fsync se reparte entre todas las escrituras concurrentes.
+ * El log se divide en segmentos {@code wal-<secuencia inicial>.log} que se rotan al tomar un snapshot.
+ * Formato de cada registro: longitud (int), secuencia (long), tarea codificada y CRC32 (int).
+ */
+@Slf4j
+public class WriteAheadLog implements TaskJournal, AutoCloseable {
+    /**
+     * Marca de inicio de cada segmento ("TWAL").
+     */
+    private static final int MAGIC = 0x5457414C;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long groupCommitDelayNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+
+    /**
+     * Registros encolados que aún no se escriben. Protegido por {@code lock}.
+     */
+    private List<Entry> pending = new ArrayList<>();
+    private long lastSequence;
+    private long durableSequence;
+    private long currentSegment;
+    private IOException failure;
+    private boolean running;
+    /**
+     * Canal del segmento actual. Solo lo usa el hilo escritor.
+     */
+    private FileChannel channel;
+    private Thread writer;
+
+    /**
+     * Constructor del WAL.
+     * @param directory Directorio donde se guardan los segmentos.
+     * @param groupCommitDelay Espera adicional antes de cada fsync para agrupar más registros.
+     */
+    public WriteAheadLog(Path directory, Duration groupCommitDelay) {
+        this.directory = directory;
+        this.groupCommitDelayNanos = groupCommitDelay.toNanos();
+    }
+
+    /**
+     * Reproduce los registros posteriores a una secuencia.
+     * Si el último segmento termina con un registro incompleto (por ejemplo tras una caída),
+     * se trunca en el último registro válido. Debe invocarse antes de {@link #start()}.
+     * @param afterSequence Secuencia del snapshot cargado; los registros anteriores se omiten.
+     * @param consumer Receptor de cada tarea reproducida.
+     * @return El número de registros reproducidos.
+     * @throws IOException Si un segmento intermedio está dañado o no puede leerse.
+     */
+    public long replay(long afterSequence, Consumer<Task> consumer) throws IOException {
+        List<Path> segments = segments();
+        long replayed = 0;
+        lastSequence = afterSequence;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            boolean last = i == segments.size() - 1;
+            long validBytes = 0;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Segmento WAL inválido: " + segment);
+                }
+                validBytes = Integer.BYTES;
+                while (true) {
+                    int length;
+                    try {
+                        length = in.readInt();
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    if (length < 0 || length > MAX_RECORD_SIZE) {
+                        throw new IOException("Longitud de registro inválida " + length + " en " + segment);
+                    }
+                    long sequence = in.readLong();
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    int checksum = in.readInt();
+                    if (checksum != checksum(sequence, payload)) {
+                        throw new IOException("CRC inválido en el registro " + sequence + " de " + segment);
+                    }
+                    validBytes += Integer.BYTES + Long.BYTES + length + Integer.BYTES;
+                    if (sequence > afterSequence) {
+                        consumer.accept(TaskCodec.read(new DataInputStream(new ByteArrayInputStream(payload))));
+                        replayed++;
+                    }
+                    lastSequence = Math.max(lastSequence, sequence);
+                }
+            } catch (IOException e) {
+                if (!last) {
+                    throw e;
+                }
+                log.warn("Registro incompleto al final de {} ({}), truncando en el byte {}", segment, e.getMessage(), validBytes);
+                try (FileChannel truncate = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    truncate.truncate(validBytes);
+                    truncate.force(true);
+                }
+            }
+        }
+        durableSequence = lastSequence;
+        return replayed;
+    }
+
+    /**
+     * Abre un nuevo segmento y arranca el hilo escritor.
+     * @throws IOException Si no puede crearse el segmento.
+     */
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        currentSegment = lastSequence + 1;
+        channel = openSegment(currentSegment);
+        running = true;
+        writer = new Thread(this::writeLoop, "task-wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public long append(Task task) {
+        byte[] payload = encode(task);
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("El WAL de tareas está cerrado");
+            }
+            long sequence = ++lastSequence;
+            pending.add(new Entry(sequence, payload, 0));
+            workAvailable.signal();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new UncheckedIOException("No se pudo persistir el WAL de tareas", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el segmento actual y continúa en uno nuevo.
+     * Al retornar, todos los registros con secuencia menor o igual al valor devuelto están en
+     * segmentos anteriores y en disco, y los posteriores irán al nuevo segmento.
+     * @return La última secuencia contenida en los segmentos anteriores.
+     */
+    public long rotate() {
+        lock.lock();
+        try {
+            long boundary = lastSequence;
+            pending.add(new Entry(0, null, boundary + 1));
+            workAvailable.signal();
+            while ((currentSegment <= boundary || durableSequence < boundary) && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("No se pudo rotar el WAL de tareas", failure);
+            }
+            return boundary;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Elimina los segmentos cuyos registros están todos cubiertos por un snapshot.
+     * @param boundary Secuencia incluida en el snapshot.
+     * @throws IOException Si no puede eliminarse un segmento.
+     */
+    public void deleteSegmentsUpTo(long boundary) throws IOException {
+        for (Path segment : segments()) {
+            if (startSequence(segment) <= boundary) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la última secuencia asignada.
+     * @return La última secuencia.
+     */
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Error al cerrar el segmento WAL: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: toma todos los registros pendientes, los escribe y ejecuta un fsync por lote.
+     */
+    private void writeLoop() {
+        while (true) {
+            List<Entry> batch;
+            lock.lock();
+            try {
+                while (pending.isEmpty() && running) {
+                    workAvailable.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (groupCommitDelayNanos > 0) {
+                LockSupport.parkNanos(groupCommitDelayNanos);
+            }
+            lock.lock();
+            try {
+                batch = pending;
+                pending = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                write(batch);
+            } catch (IOException e) {
+                log.error("Error al escribir el WAL de tareas: {}", e.getMessage(), e);
+                lock.lock();
+                try {
+                    failure = e;
+                    running = false;
+                    durable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Escribe un lote de registros y publica la secuencia durable.
+     * Las marcas de rotación cierran el segmento actual y abren el siguiente.
+     */
+    private void write(List<Entry> batch) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(batchSize(batch));
+        long written = -1;
+        for (Entry entry : batch) {
+            if (entry.payload() == null) {
+                flush(buffer, written);
+                written = -1;
+                if (entry.nextSegment() > currentSegment) {
+                    channel.close();
+                    channel = openSegment(entry.nextSegment());
+                    publish(-1, entry.nextSegment());
+                }
+                continue;
+            }
+            buffer.putInt(entry.payload().length);
+            buffer.putLong(entry.sequence());
+            buffer.put(entry.payload());
+            buffer.putInt(checksum(entry.sequence(), entry.payload()));
+            written = entry.sequence();
+        }
+        flush(buffer, written);
+    }
+
+    private void flush(ByteBuffer buffer, long sequence) throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        buffer.clear();
+        publish(sequence, -1);
+    }
+
+    private void publish(long sequence, long segment) {
+        lock.lock();
+        try {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+            }
+            if (segment > currentSegment) {
+                currentSegment = segment;
+            }
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileChannel openSegment(long startSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, startSequence, SEGMENT_SUFFIX));
+        FileChannel segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segment.write(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+        segment.force(true);
+        return segment;
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted((a, b) -> Long.compare(startSequence(a), startSequence(b)))
+                    .toList();
+        }
+    }
+
+    private static long startSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int batchSize(List<Entry> batch) {
+        int size = 0;
+        for (Entry entry : batch) {
+            if (entry.payload() != null) {
+                size += Integer.BYTES + Long.BYTES + entry.payload().length + Integer.BYTES;
+            }
+        }
+        return size;
+    }
+
+    private static byte[] encode(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            TaskCodec.write(new DataOutputStream(bytes), task);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(sequence).flip());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Registro encolado. Un payload null representa una marca de rotación hacia {@code nextSegment}.
+     */
+    private record Entry(long sequence, byte[] payload, long nextSegment) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.insightflow.tasks_service.repository;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Tabla concurrente indexada por handles enteros densos (ordinales de enums o handles de {@link TaskDictionary}).
+ * Las lecturas son un acceso directo al arreglo, sin hashing ni boxing de la clave.
+ * Las celdas se crean una sola vez, bajo un lock que también protege el crecimiento del arreglo.
+ * @param <T> Tipo de los valores almacenados.
+ */
+class HandleTable<T> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Supplier<T> factory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile AtomicReferenceArray<T> cells = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    /**
+     * Constructor de la tabla.
+     * @param factory Crea el valor de una celda la primera vez que se solicita con {@link #getOrCreate(int)}.
+     */
+    HandleTable(Supplier<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Obtiene el valor de un handle.
+     * @param handle El handle.
+     * @return El valor, o null si todavía no se creó o el handle es negativo.
+     */
+    T get(int handle) {
+        AtomicReferenceArray<T> current = cells;
+        return handle >= 0 && handle < current.length() ? current.get(handle) : null;
+    }
+
+    /**
+     * Obtiene el valor de un handle, creándolo si no existe.
+     * La creación ocurre una vez por handle, por lo que se serializa con el crecimiento del arreglo.
+     * @param handle El handle, mayor o igual a cero.
+     * @return El valor del handle.
+     */
+    T getOrCreate(int handle) {
+        T value = get(handle);
+        if (value != null) {
+            return value;
+        }
+        lock.lock();
+        try {
+            AtomicReferenceArray<T> current = cells;
+            if (handle >= current.length()) {
+                current = grow(current, handle);
+            }
+            value = current.get(handle);
+            if (value == null) {
+                value = factory.get();
+                current.set(handle, value);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Asigna el valor de un handle, reemplazando el anterior.
+     * @param handle El handle, mayor o igual a cero.
+     * @param value El valor.
+     */
+    void set(int handle, T value) {
+        lock.lock();
+        try {
+            AtomicReferenceArray<T> current = cells;
+            if (handle >= current.length()) {
+                current = grow(current, handle);
+            }
+            current.set(handle, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Descarta todos los valores.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            cells = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Duplica la capacidad hasta contener el handle, copiando las celdas existentes.
+     * Debe invocarse con el lock tomado, que es el único contexto en el que se escriben celdas.
+     */
+    private AtomicReferenceArray<T> grow(AtomicReferenceArray<T> current, int handle) {
+        int capacity = current.length();
+        while (capacity <= handle) {
+            capacity <<= 1;
+        }
+        AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(capacity);
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        cells = grown;
+        return grown;
+    }
+}
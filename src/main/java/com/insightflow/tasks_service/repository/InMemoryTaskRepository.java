@@ -0,0 +1,116 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositorio de tareas en el heap.
+ * Implementa operaciones CRUD utilizando una estructura de datos en memoria.
+ * Los datos se almacenan en un ConcurrentHashMap para garantizar la seguridad en entornos concurrentes:
+ * cada escritura reemplaza la instancia bajo el lock de la tarea en {@link TaskLocks}. No se usa
+ * ConcurrentHashMap.compute porque sincroniza con un monitor, que fija el hilo virtual a su portador
+ * mientras se actualizan los índices y se registra la escritura en el journal.
+ * Por defecto los datos se reinician cada vez que se reinicia la aplicación, salvo que se
+ * conecte un {@link com.insightflow.tasks_service.persistence.TaskJournal}.
+ * Es la implementación por defecto ({@code tasks.store.type=heap}).
+ */
+@Repository
+@ConditionalOnProperty(prefix = "tasks.store", name = "type", havingValue = "heap", matchIfMissing = true)
+public class InMemoryTaskRepository extends IndexedTaskRepository {
+    /**
+     * Heap estimado de una tarea sin sus textos propios: la instancia de Task, sus tres LocalDateTime
+     * (con su LocalDate y LocalTime) y el nodo del mapa. Los IDs de documento y usuario son compartidos.
+     */
+    private static final long TASK_OVERHEAD_BYTES = 56 + 3 * 72 + 32;
+    /**
+     * Heap de un String sin sus bytes: el objeto y la cabecera del arreglo.
+     */
+    private static final long STRING_OVERHEAD_BYTES = 24 + 16;
+
+    /**
+     * Almacén en memoria de las tareas.
+     * La clave es el ID de la tarea y el valor es la entidad Task.
+     */
+    private final Map<String, Task> taskStore = new ConcurrentHashMap<>();
+    private final TaskLocks locks = new TaskLocks();
+
+    @Override
+    protected Task lookup(String id) {
+        return taskStore.get(id);
+    }
+
+    @Override
+    protected Task compute(String id, UnaryOperator<Task> remapping) {
+        ReentrantLock lock = locks.forId(id);
+        lock.lock();
+        try {
+            Task previous = taskStore.get(id);
+            Task next = remapping.apply(previous);
+            if (next == null) {
+                return previous;
+            }
+            taskStore.put(id, next);
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected long remove(String id, Predicate<Task> condition) {
+        ReentrantLock lock = locks.forId(id);
+        lock.lock();
+        try {
+            Task task = taskStore.get(id);
+            if (task == null || !condition.test(task)) {
+                return -1;
+            }
+            taskStore.remove(id);
+            return retainedBytes(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void clearStorage() {
+        taskStore.clear();
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return taskStore.containsKey(id);
+    }
+
+    @Override
+    public Collection<Task> allTasks() {
+        return Collections.unmodifiableCollection(taskStore.values());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return taskStore.isEmpty();
+    }
+
+    /**
+     * Estima el heap que retiene una tarea almacenada, con sus textos propios (ID, título y descripción)
+     * en la representación compacta de un byte por carácter.
+     */
+    private static long retainedBytes(Task task) {
+        return TASK_OVERHEAD_BYTES + stringBytes(task.getId()) + stringBytes(task.getTitle())
+                + stringBytes(task.getDescription());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + ((value.length() + 7) & ~7);
+    }
+}
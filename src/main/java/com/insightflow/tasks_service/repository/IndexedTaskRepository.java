@@ -0,0 +1,839 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.persistence.TaskJournal;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Base de los repositorios de tareas: índices secundarios, contadores, diccionarios y registro durable.
+ * Mantiene índices por documento, usuario asignado y estado para que las
+ * búsquedas cuesten el tamaño del resultado y no el tamaño del almacén.
+ * Todos los índices se conservan ordenados por fecha de creación descendente, por lo que
+ * los listados se devuelven en orden sin ordenarlos en cada consulta. La excepción es el índice por
+ * fecha de vencimiento de las tareas sin completar, ordenado por vencimiento para resolver rangos de fechas.
+ * Los IDs de documento y de usuario se codifican en diccionarios: las tareas almacenadas comparten
+ * una instancia canónica de cada ID y los índices y contadores se ubican por su handle entero.
+ * Cada escritura incrementa además la versión de las colecciones a las que afecta (todas las tareas,
+ * su documento y su usuario), que permiten saber si un listado cambió sin recorrerlo.
+ * Las tareas eliminadas lógicamente se registran por fecha de eliminación para que la compactación
+ * encuentre las más antiguas sin recorrer el almacén.
+ * Las subclases solo resuelven cómo se almacenan las tareas: una búsqueda por ID y una
+ * operación {@link #compute(String, UnaryOperator)} atómica por tarea, dentro de la cual se
+ * actualizan los índices y se registra la escritura en el {@link TaskJournal}.
+ */
+public abstract class IndexedTaskRepository implements TaskRepository {
+    /**
+     * Diccionario de IDs de documento.
+     */
+    private final TaskDictionary documents = new TaskDictionary();
+    /**
+     * Diccionario de IDs de usuario asignado.
+     */
+    private final TaskDictionary assignedUsers = new TaskDictionary();
+    /**
+     * Índice de tareas activas por ID de documento.
+     */
+    private final TaskIndex documentIndex = new TaskIndex();
+    /**
+     * Índice de tareas activas por ID de usuario asignado.
+     */
+    private final TaskIndex assignedUserIndex = new TaskIndex();
+    /**
+     * Índice de tareas activas por estado, ubicado por el ordinal del estado.
+     */
+    private final TaskIndex statusIndex = new TaskIndex();
+    /**
+     * Conjunto ordenado de todas las tareas activas, utilizado por findAll().
+     */
+    private final NavigableSet<TaskKey> activeIndex = new ConcurrentSkipListSet<>();
+    /**
+     * Tareas activas sin completar con fecha de vencimiento, ordenadas por vencimiento ascendente.
+     */
+    private final NavigableSet<TaskDueKey> dueIndex = new ConcurrentSkipListSet<>();
+    /**
+     * Tareas eliminadas lógicamente, ordenadas por fecha de eliminación ascendente.
+     */
+    private final NavigableSet<DeletedKey> deletedIndex = new ConcurrentSkipListSet<>();
+    /**
+     * Contador de tareas activas.
+     */
+    private final LongAdder activeCount = new LongAdder();
+    /**
+     * Contador de tareas almacenadas, activas o eliminadas.
+     */
+    private final LongAdder storedCount = new LongAdder();
+    /**
+     * Contadores de tareas activas por estado.
+     */
+    private final TaskCounters statusCounts = new TaskCounters();
+    /**
+     * Contadores de tareas activas por ID de documento.
+     */
+    private final TaskCounters documentCounts = new TaskCounters();
+    /**
+     * Contadores de tareas activas por ID de usuario asignado.
+     */
+    private final TaskCounters assignedUserCounts = new TaskCounters();
+    /**
+     * Versión de la colección de todas las tareas.
+     */
+    private final LongAdder version = new LongAdder();
+    /**
+     * Versiones de la colección de tareas por ID de documento.
+     */
+    private final TaskCounters documentVersions = new TaskCounters();
+    /**
+     * Versiones de la colección de tareas por ID de usuario asignado.
+     */
+    private final TaskCounters assignedUserVersions = new TaskCounters();
+    /**
+     * Identificador de esta instancia del almacén, para que las versiones no coincidan entre reinicios o instancias.
+     */
+    private volatile long epoch = ThreadLocalRandom.current().nextLong();
+    /**
+     * Registro durable de las escrituras. Por defecto no persiste nada.
+     */
+    private volatile TaskJournal journal = TaskJournal.NONE;
+    /**
+     * Receptor de las modificaciones. Por defecto las ignora.
+     */
+    private volatile TaskChangeListener changeListener = TaskChangeListener.NONE;
+
+    /**
+     * Busca la versión almacenada de una tarea, activa o eliminada.
+     * @param id El ID de la tarea.
+     * @return La tarea, o null si no existe.
+     */
+    protected abstract Task lookup(String id);
+
+    /**
+     * Reemplaza de forma atómica la tarea almacenada con un ID.
+     * Las invocaciones concurrentes sobre la misma tarea se serializan; sobre tareas distintas no se bloquean entre sí.
+     * @param id El ID de la tarea.
+     * @param remapping Recibe la tarea actual (o null) y devuelve la que debe almacenarse,
+     *                  o null para dejarla sin cambios.
+     * @return La tarea almacenada tras la operación, o null si no existe.
+     */
+    protected abstract Task compute(String id, UnaryOperator<Task> remapping);
+
+    /**
+     * Elimina físicamente la tarea almacenada con un ID si cumple una condición, de forma atómica respecto de
+     * {@link #compute(String, UnaryOperator)} sobre la misma tarea.
+     * @param id El ID de la tarea.
+     * @param condition Recibe la tarea actual e indica si debe eliminarse. Se evalúa con la tarea bloqueada,
+     *                  por lo que puede actualizar los índices.
+     * @return Los bytes liberados (estimados en el heap), o -1 si la tarea no existe o no cumple la condición.
+     */
+    protected abstract long remove(String id, Predicate<Task> condition);
+
+    /**
+     * Elimina todas las tareas del almacenamiento de la subclase.
+     */
+    protected abstract void clearStorage();
+
+    /**
+     * Normaliza una tarea antes de almacenarla. Por defecto reemplaza sus IDs de documento y de usuario
+     * por las instancias canónicas de los diccionarios.
+     * @param task La tarea recibida.
+     * @return La tarea tal como se almacena.
+     */
+    protected Task normalize(Task task) {
+        String documentId = documents.canonical(task.getDocumentId());
+        String assignedUserId = assignedUsers.canonical(task.getAssignedUserId());
+        if (documentId == task.getDocumentId() && assignedUserId == task.getAssignedUserId()) {
+            return task;
+        }
+        return task.toBuilder()
+                .documentId(documentId)
+                .assignedUserId(assignedUserId)
+                .build();
+    }
+
+    /**
+     * Obtiene el handle de un ID de documento ya registrado.
+     * @param documentId El ID del documento.
+     * @return El handle, o {@link TaskDictionary#NO_HANDLE} si es nulo o desconocido.
+     */
+    protected int documentHandle(String documentId) {
+        return documents.find(documentId);
+    }
+
+    /**
+     * Obtiene el ID de documento correspondiente a un handle.
+     * @param handle El handle.
+     * @return La instancia canónica del ID, o null.
+     */
+    protected String documentId(int handle) {
+        return documents.value(handle);
+    }
+
+    /**
+     * Obtiene el handle de un ID de usuario ya registrado.
+     * @param assignedUserId El ID del usuario.
+     * @return El handle, o {@link TaskDictionary#NO_HANDLE} si es nulo o desconocido.
+     */
+    protected int assignedUserHandle(String assignedUserId) {
+        return assignedUsers.find(assignedUserId);
+    }
+
+    /**
+     * Obtiene el ID de usuario correspondiente a un handle.
+     * @param handle El handle.
+     * @return La instancia canónica del ID, o null.
+     */
+    protected String assignedUserId(int handle) {
+        return assignedUsers.value(handle);
+    }
+
+    @Override
+    public void attachJournal(TaskJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public void attachChangeListener(TaskChangeListener listener) {
+        this.changeListener = listener;
+    }
+
+    @Override
+    public Task save(Task task) {
+        Task normalized = normalize(task);
+        return write(normalized.getId(), previous -> normalized);
+    }
+
+    @Override
+    public Optional<Task> findById(String id) {
+        return Optional.ofNullable(lookup(id));
+    }
+
+    @Override
+    public Task findActiveById(String id) {
+        Task task = lookup(id);
+        return task != null && task.isActive() ? task : null;
+    }
+
+    @Override
+    public List<Task> findByDocumentId(String documentId) {
+        return resolve(documentIndex.get(documents.find(documentId)))
+                .filter(task -> documentId.equals(task.getDocumentId()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findByDocumentId(String documentId, TaskKey after, int limit) {
+        return page(documentIndex.get(documents.find(documentId)), after, limit, task -> documentId.equals(task.getDocumentId()));
+    }
+
+    @Override
+    public List<Task> findAll() {
+        return resolve(activeIndex)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findAll(TaskKey after, int limit) {
+        return page(activeIndex, after, limit, task -> true);
+    }
+
+    @Override
+    public List<Task> findByAssignedUserId(String assignedUserId) {
+        return resolve(assignedUserIndex.get(assignedUsers.find(assignedUserId)))
+                .filter(task -> assignedUserId.equals(task.getAssignedUserId()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findByAssignedUserId(String assignedUserId, TaskKey after, int limit) {
+        return page(assignedUserIndex.get(assignedUsers.find(assignedUserId)), after, limit,
+                task -> assignedUserId.equals(task.getAssignedUserId()));
+    }
+
+    @Override
+    public List<Task> findByStatus(Task.TaskStatus status) {
+        return resolve(statusIndex.get(status.ordinal()))
+                .filter(task -> task.getStatus() == status)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<Task> streamByDocumentId(String documentId) {
+        return resolve(documentIndex.get(documents.find(documentId)))
+                .filter(task -> documentId.equals(task.getDocumentId()));
+    }
+
+    @Override
+    public Stream<Task> streamAll() {
+        return resolve(activeIndex);
+    }
+
+    @Override
+    public Stream<Task> streamByAssignedUserId(String assignedUserId) {
+        return resolve(assignedUserIndex.get(assignedUsers.find(assignedUserId)))
+                .filter(task -> assignedUserId.equals(task.getAssignedUserId()));
+    }
+
+    @Override
+    public Stream<Task> query(TaskQuery query, TaskKey after) {
+        NavigableSet<TaskKey> keys = activeIndex;
+        long candidates = activeCount.sum();
+        if (query.documentId() != null) {
+            int document = documents.find(query.documentId());
+            long count = documentCounts.get(document);
+            if (count < candidates) {
+                keys = documentIndex.get(document);
+                candidates = count;
+            }
+        }
+        if (query.assignedUserId() != null) {
+            int assignedUser = assignedUsers.find(query.assignedUserId());
+            long count = assignedUserCounts.get(assignedUser);
+            if (count < candidates) {
+                keys = assignedUserIndex.get(assignedUser);
+                candidates = count;
+            }
+        }
+        if (query.status() != null && statusCounts.get(query.status().ordinal()) < candidates) {
+            keys = statusIndex.get(query.status().ordinal());
+            candidates = statusCounts.get(query.status().ordinal());
+        }
+        if (query.hasDueDateRange()) {
+            Stream<Task> byDueDate = queryByDueDate(query, after, candidates);
+            if (byDueDate != null) {
+                return byDueDate;
+            }
+        }
+        NavigableSet<TaskKey> remaining = after != null ? keys.tailSet(after, false) : keys;
+        return resolve(remaining).filter(query::matches);
+    }
+
+    /**
+     * Recorre una búsqueda con rango de vencimiento desde el índice por vencimiento, si el rango tiene menos tareas
+     * que el índice elegido por los demás criterios. El rango se cuenta recorriendo sus claves y deteniéndose al
+     * alcanzar ese tamaño, sin resolver las tareas.
+     * El índice por vencimiento solo contiene tareas sin completar: si la búsqueda no filtra por estado, las completadas
+     * se toman del índice de estado y su tamaño se suma al del rango. Como el resultado debe seguir el orden de
+     * {@link #findAll()}, las coincidencias se ordenan por su clave antes de devolverse.
+     * @param query Los criterios de la búsqueda, con rango de vencimiento.
+     * @param after Clave a partir de la cual continuar (exclusiva), o null.
+     * @param candidates Tamaño del índice elegido por los demás criterios.
+     * @return Las tareas que cumplen los criterios, o null si conviene el otro índice.
+     */
+    private Stream<Task> queryByDueDate(TaskQuery query, TaskKey after, long candidates) {
+        if (query.status() == Task.TaskStatus.COMPLETED) {
+            return null;
+        }
+        int completed = Task.TaskStatus.COMPLETED.ordinal();
+        long budget = candidates - (query.status() == null ? statusCounts.get(completed) : 0);
+        NavigableSet<TaskDueKey> range = dueRange(query.dueFrom(), query.dueTo());
+        long size = 0;
+        for (Iterator<TaskDueKey> keys = range.iterator(); size < budget && keys.hasNext(); keys.next()) {
+            size++;
+        }
+        if (size >= budget) {
+            return null;
+        }
+        Stream<Task> matches = range.stream().map(this::resolveDue).filter(Objects::nonNull);
+        if (query.status() == null) {
+            matches = Stream.concat(matches, resolve(statusIndex.get(completed)));
+        }
+        NavigableMap<TaskKey, Task> ordered = matches.filter(query::matches)
+                .collect(Collectors.toMap(TaskKey::of, task -> task, (first, second) -> first, TreeMap::new));
+        return (after != null ? ordered.tailMap(after, false) : ordered).values().stream();
+    }
+
+    @Override
+    public List<Task> findOpenByDueDate(LocalDateTime from, LocalDateTime to, TaskDueKey after, int limit) {
+        NavigableSet<TaskDueKey> keys = dueRange(from, to);
+        if (after != null && to != null && after.compareTo(TaskDueKey.lowerBound(to)) >= 0) {
+            return new ArrayList<>();
+        }
+        if (after != null && (from == null || after.compareTo(TaskDueKey.lowerBound(from)) >= 0)) {
+            keys = keys.tailSet(after, false);
+        }
+        return keys.stream()
+                .map(this::resolveDue)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Task> findDeletedBefore(LocalDateTime deletedBefore, int limit) {
+        return deletedIndex.headSet(DeletedKey.lowerBound(deletedBefore), false).stream()
+                .map(key -> lookup(key.id()))
+                .filter(task -> task != null && !task.isActive())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long purge(String id, long version) {
+        return remove(id, task -> {
+            if (task.isActive() || task.getVersion() != version) {
+                return false;
+            }
+            deletedIndex.remove(DeletedKey.of(task));
+            storedCount.decrement();
+            return true;
+        });
+    }
+
+    @Override
+    public Task update(Task task) {
+        Task normalized = normalize(task);
+        return write(normalized.getId(), previous -> {
+            if (previous == null || previous.getVersion() != normalized.getVersion() - 1) {
+                throw new TaskVersionConflictException("La tarea con ID " + normalized.getId() + " fue modificada por otra operación");
+            }
+            return normalized;
+        });
+    }
+
+    @Override
+    public Task computeIfActive(String id, UnaryOperator<Task> change) {
+        return write(id, current -> {
+            if (current == null || !current.isActive()) {
+                return null;
+            }
+            Task next = change.apply(current);
+            return next != null ? normalize(next) : null;
+        });
+    }
+
+    @Override
+    public void deleteById(String id) {
+        write(id, task -> task == null || !task.isActive() ? null : normalize(task.toBuilder()
+                .active(false)
+                .updatedAt(LocalDateTime.now())
+                .version(task.getVersion() + 1)
+                .build()));
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        long[] sequence = new long[1];
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Task normalized = normalize(task);
+            saved.add(apply(normalized.getId(), previous -> normalized, sequence));
+        }
+        journal.awaitDurable(sequence[0]);
+        return saved;
+    }
+
+    @Override
+    public List<Task> updateAll(List<Task> tasks) {
+        long[] sequence = new long[1];
+        List<Task> updated = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Task normalized = normalize(task);
+            updated.add(apply(normalized.getId(), previous ->
+                    previous != null && previous.getVersion() == normalized.getVersion() - 1 ? normalized : null, sequence));
+        }
+        journal.awaitDurable(sequence[0]);
+        return updated;
+    }
+
+    @Override
+    public List<Task> deleteAllById(List<String> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        long[] sequence = new long[1];
+        List<Task> deleted = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            deleted.add(apply(id, task -> task == null || !task.isActive() ? null : normalize(task.toBuilder()
+                    .active(false)
+                    .updatedAt(now)
+                    .version(task.getVersion() + 1)
+                    .build()), sequence));
+        }
+        journal.awaitDurable(sequence[0]);
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return lookup(id) != null;
+    }
+
+    @Override
+    public long count() {
+        return activeCount.sum();
+    }
+
+    @Override
+    public long countByStatus(Task.TaskStatus status) {
+        return statusCounts.get(status.ordinal());
+    }
+
+    @Override
+    public long countByDocumentId(String documentId) {
+        return documentCounts.get(documents.find(documentId));
+    }
+
+    @Override
+    public long countByAssignedUserId(String assignedUserId) {
+        return assignedUserCounts.get(assignedUsers.find(assignedUserId));
+    }
+
+    @Override
+    public long countDeleted() {
+        return Math.max(0, storedCount.sum() - activeCount.sum());
+    }
+
+    @Override
+    public int countIndexedDocuments() {
+        return documents.size();
+    }
+
+    @Override
+    public int countIndexedAssignedUsers() {
+        return assignedUsers.size();
+    }
+
+    @Override
+    public long epoch() {
+        return epoch;
+    }
+
+    @Override
+    public long version() {
+        return version.sum();
+    }
+
+    @Override
+    public long versionByDocumentId(String documentId) {
+        return documentVersions.get(documents.find(documentId));
+    }
+
+    @Override
+    public long versionByAssignedUserId(String assignedUserId) {
+        return assignedUserVersions.get(assignedUsers.find(assignedUserId));
+    }
+
+    @Override
+    public void restore(Task task) {
+        Task normalized = normalize(task);
+        compute(normalized.getId(), previous -> {
+            if (previous != null && previous.getVersion() > normalized.getVersion()) {
+                return null;
+            }
+            reindex(previous, normalized);
+            return normalized;
+        });
+    }
+
+    @Override
+    public void clear() {
+        clearStorage();
+        activeIndex.clear();
+        dueIndex.clear();
+        deletedIndex.clear();
+        documentIndex.clear();
+        assignedUserIndex.clear();
+        statusIndex.clear();
+        activeCount.reset();
+        storedCount.reset();
+        statusCounts.clear();
+        documentCounts.clear();
+        assignedUserCounts.clear();
+        version.reset();
+        documentVersions.clear();
+        assignedUserVersions.clear();
+        documents.clear();
+        assignedUsers.clear();
+        epoch = ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Aplica una modificación y espera a que sea durable.
+     * @param id El ID de la tarea.
+     * @param change Recibe la tarea actual (o null) y devuelve la nueva versión, o null para no modificarla.
+     * @return La tarea escrita, o null si no se modificó.
+     */
+    private Task write(String id, UnaryOperator<Task> change) {
+        long[] sequence = new long[1];
+        Task written = apply(id, change, sequence);
+        journal.awaitDurable(sequence[0]);
+        return written;
+    }
+
+    /**
+     * Registra en el journal la tarea producida por la modificación, actualiza los índices, notifica al receptor de
+     * modificaciones y la almacena dentro de la misma operación atómica por tarea, de modo que escrituras concurrentes sobre la
+     * misma tarea no dejen los índices inconsistentes. El journal se escribe primero: si rechaza el registro (por ejemplo,
+     * con el WAL detenido tras un error de escritura), la excepción se propaga sin haber tocado los índices, los contadores
+     * ni el almacén, y la tarea no se publica. No espera la durabilidad: quien invoca espera
+     * una sola vez por la mayor secuencia, lo que permite agrupar lotes.
+     * Las versiones de colección se incrementan al terminar la operación, cuando la tarea ya es visible,
+     * para que un lector que obtiene una versión nunca la asocie al contenido anterior.
+     * @param id El ID de la tarea.
+     * @param change Recibe la tarea actual (o null) y devuelve la nueva versión, o null para no modificarla.
+     * @param sequence Mayor secuencia del journal registrada hasta ahora; se actualiza con la de esta escritura.
+     * @return La tarea escrita, o null si no se modificó.
+     */
+    private Task apply(String id, UnaryOperator<Task> change, long[] sequence) {
+        Task[] written = new Task[1];
+        Task[] replaced = new Task[1];
+        compute(id, previous -> {
+            Task next = change.apply(previous);
+            if (next == null) {
+                return null;
+            }
+            sequence[0] = Math.max(sequence[0], journal.append(next));
+            reindex(previous, next);
+            changeListener.onChange(previous, next);
+            written[0] = next;
+            replaced[0] = previous;
+            return next;
+        });
+        if (written[0] != null) {
+            touch(replaced[0], written[0]);
+        }
+        return written[0];
+    }
+
+    /**
+     * Incrementa la versión de las colecciones afectadas por una escritura: todas las tareas,
+     * y el documento y el usuario de la versión anterior y de la nueva.
+     * @param before La versión anterior de la tarea, o null si no existía.
+     * @param after La nueva versión de la tarea.
+     */
+    private void touch(Task before, Task after) {
+        int document = documents.find(after.getDocumentId());
+        int assignedUser = assignedUsers.find(after.getAssignedUserId());
+        documentVersions.increment(document);
+        assignedUserVersions.increment(assignedUser);
+        if (before != null) {
+            int previousDocument = documents.find(before.getDocumentId());
+            int previousAssignedUser = assignedUsers.find(before.getAssignedUserId());
+            if (previousDocument != document) {
+                documentVersions.increment(previousDocument);
+            }
+            if (previousAssignedUser != assignedUser) {
+                assignedUserVersions.increment(previousAssignedUser);
+            }
+        }
+        version.increment();
+    }
+
+    /**
+     * Mueve la tarea entre los buckets de los índices según la diferencia entre su versión anterior y la nueva.
+     * Solo las tareas activas permanecen indexadas.
+     * Debe invocarse dentro de {@link #compute(String, UnaryOperator)} para la tarea.
+     * @param before La versión anterior de la tarea, o null si no existía.
+     * @param after La nueva versión de la tarea.
+     */
+    private void reindex(Task before, Task after) {
+        IndexedKeys previous = before != null && before.isActive() ? indexedKeys(before) : null;
+        IndexedKeys current = after.isActive() ? indexedKeys(after) : null;
+        if (before == null) {
+            storedCount.increment();
+        }
+        recount(previous, current);
+        redelete(before, after);
+
+        if (previous != null) {
+            if (current == null || !previous.key().equals(current.key())) {
+                activeIndex.remove(previous.key());
+            }
+            if (current == null || !previous.key().equals(current.key())
+                    || previous.document() != current.document()) {
+                documentIndex.remove(previous.document(), previous.key());
+            }
+            if (current == null || !previous.key().equals(current.key())
+                    || previous.assignedUser() != current.assignedUser()) {
+                assignedUserIndex.remove(previous.assignedUser(), previous.key());
+            }
+            if (current == null || !previous.key().equals(current.key())
+                    || previous.status() != current.status()) {
+                statusIndex.remove(previous.status(), previous.key());
+            }
+            if (previous.due() != null && (current == null || !previous.due().equals(current.due()))) {
+                dueIndex.remove(previous.due());
+            }
+        }
+        if (current != null) {
+            activeIndex.add(current.key());
+            if (current.due() != null) {
+                dueIndex.add(current.due());
+            }
+            documentIndex.add(current.document(), current.key());
+            assignedUserIndex.add(current.assignedUser(), current.key());
+            statusIndex.add(current.status(), current.key());
+        }
+    }
+
+    /**
+     * Registra la tarea en el índice de eliminadas si su nueva versión está eliminada lógicamente,
+     * y retira la clave de la versión anterior si cambió.
+     * @param before La versión anterior de la tarea, o null si no existía.
+     * @param after La nueva versión de la tarea.
+     */
+    private void redelete(Task before, Task after) {
+        DeletedKey previous = before != null && !before.isActive() ? DeletedKey.of(before) : null;
+        DeletedKey current = !after.isActive() ? DeletedKey.of(after) : null;
+        if (previous != null && !previous.equals(current)) {
+            deletedIndex.remove(previous);
+        }
+        if (current != null) {
+            deletedIndex.add(current);
+        }
+    }
+
+    /**
+     * Ajusta los contadores de tareas activas según el cambio de valores indexados de una tarea.
+     * Solo se modifican los contadores cuyos valores cambiaron.
+     * @param previous Valores anteriores de la tarea, o null si no estaba activa.
+     * @param current Valores actuales de la tarea, o null si ya no está activa.
+     */
+    private void recount(IndexedKeys previous, IndexedKeys current) {
+        if (previous == null && current != null) {
+            activeCount.increment();
+        } else if (previous != null && current == null) {
+            activeCount.decrement();
+        }
+        int none = TaskDictionary.NO_HANDLE;
+        move(statusCounts, previous != null ? previous.status() : none, current != null ? current.status() : none);
+        move(documentCounts, previous != null ? previous.document() : none, current != null ? current.document() : none);
+        move(assignedUserCounts, previous != null ? previous.assignedUser() : none,
+                current != null ? current.assignedUser() : none);
+    }
+
+    /**
+     * Traslada una tarea del contador de un valor al de otro.
+     * @param counters Los contadores a ajustar.
+     * @param from Handle del valor anterior, o {@link TaskDictionary#NO_HANDLE} si no contaba.
+     * @param to Handle del valor actual, o {@link TaskDictionary#NO_HANDLE} si deja de contar.
+     */
+    private static void move(TaskCounters counters, int from, int to) {
+        if (from != to) {
+            counters.decrement(from);
+            counters.increment(to);
+        }
+    }
+
+    /**
+     * Resuelve las claves de un índice a tareas activas, conservando el orden del índice.
+     * Las tareas se vuelven a comprobar porque un lector puede ver el bucket mientras la tarea se reindexa.
+     * @param keys Las claves ordenadas de las tareas.
+     * @return Un stream ordenado con las tareas activas encontradas.
+     */
+    private Stream<Task> resolve(NavigableSet<TaskKey> keys) {
+        return keys.stream()
+                .map(key -> lookup(key.id()))
+                .filter(Objects::nonNull)
+                .filter(Task::isActive);
+    }
+
+    /**
+     * Obtiene las claves del índice por vencimiento de un intervalo.
+     * @param from Inicio del intervalo (inclusivo), o null para no acotarlo.
+     * @param to Fin del intervalo (exclusivo), o null para no acotarlo.
+     * @return Vista de las claves del intervalo.
+     */
+    private NavigableSet<TaskDueKey> dueRange(LocalDateTime from, LocalDateTime to) {
+        NavigableSet<TaskDueKey> keys = dueIndex;
+        if (from != null) {
+            keys = keys.tailSet(TaskDueKey.lowerBound(from), true);
+        }
+        if (to != null) {
+            keys = keys.headSet(TaskDueKey.lowerBound(to), false);
+        }
+        return keys;
+    }
+
+    /**
+     * Resuelve una clave del índice por vencimiento a su tarea, comprobando que la tarea sigue registrada
+     * con esa clave: un lector puede ver la clave mientras la tarea cambia de vencimiento, se completa o se elimina.
+     * @param key La clave del índice.
+     * @return La tarea, o null si ya no corresponde a la clave.
+     */
+    private Task resolveDue(TaskDueKey key) {
+        Task task = lookup(key.id());
+        return task != null && task.isActive() && key.equals(dueKey(task)) ? task : null;
+    }
+
+    /**
+     * Recorre un índice a partir de una clave y devuelve como máximo {@code limit} tareas.
+     * El costo es proporcional al tamaño de la página y no al del índice, y las tareas
+     * insertadas durante la paginación quedan antes del cursor, por lo que no alteran las páginas siguientes.
+     * @param keys Las claves ordenadas del índice.
+     * @param after Clave a partir de la cual continuar (exclusiva), o null para empezar desde el inicio.
+     * @param limit Número máximo de tareas a devolver.
+     * @param matches Condición que debe seguir cumpliendo la tarea resuelta.
+     * @return Las tareas de la página.
+     */
+    private List<Task> page(NavigableSet<TaskKey> keys, TaskKey after, int limit, Predicate<Task> matches) {
+        NavigableSet<TaskKey> remaining = after != null ? keys.tailSet(after, false) : keys;
+        return resolve(remaining)
+                .filter(matches)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene los handles con los que una tarea almacenada está registrada en los índices.
+     * Sus IDs ya están en los diccionarios porque toda tarea pasa por {@link #normalize(Task)} antes de almacenarse.
+     * @param task La tarea.
+     * @return La clave y los handles de la tarea.
+     */
+    private IndexedKeys indexedKeys(Task task) {
+        return new IndexedKeys(TaskKey.of(task),
+                documents.find(task.getDocumentId()),
+                assignedUsers.find(task.getAssignedUserId()),
+                task.getStatus() != null ? task.getStatus().ordinal() : TaskDictionary.NO_HANDLE,
+                dueKey(task));
+    }
+
+    /**
+     * Obtiene la clave con la que una tarea activa se registra en el índice por vencimiento.
+     * @param task La tarea.
+     * @return La clave, o null si la tarea está completada o no tiene fecha de vencimiento.
+     */
+    private static TaskDueKey dueKey(Task task) {
+        return task.getDueDate() != null && task.getStatus() != Task.TaskStatus.COMPLETED ? TaskDueKey.of(task) : null;
+    }
+
+    /**
+     * Valores de una tarea con los que está registrada en los índices.
+     * @param key Clave de ordenamiento de la tarea.
+     * @param document Handle del ID de documento.
+     * @param assignedUser Handle del ID de usuario asignado.
+     * @param status Ordinal del estado.
+     * @param due Clave en el índice por vencimiento, o null si la tarea no forma parte de él.
+     */
+    private record IndexedKeys(TaskKey key, int document, int assignedUser, int status, TaskDueKey due) {
+    }
+
+    /**
+     * Clave de una tarea eliminada lógicamente: su fecha de eliminación (la última actualización) y su ID,
+     * ordenada de la eliminación más antigua a la más reciente.
+     * @param deletedAt Fecha de eliminación en nanosegundos desde epoch, o {@link Long#MIN_VALUE} si no tiene.
+     * @param id Identificador de la tarea.
+     */
+    private record DeletedKey(long deletedAt, String id) implements Comparable<DeletedKey> {
+        static DeletedKey of(Task task) {
+            return new DeletedKey(TaskKey.toNanos(task.getUpdatedAt()), task.getId());
+        }
+
+        static DeletedKey lowerBound(LocalDateTime deletedAt) {
+            return new DeletedKey(TaskKey.toNanos(deletedAt), "");
+        }
+
+        @Override
+        public int compareTo(DeletedKey other) {
+            int byDate = Long.compare(deletedAt, other.deletedAt);
+            return byDate != 0 ? byDate : id.compareTo(other.id);
+        }
+    }
+}
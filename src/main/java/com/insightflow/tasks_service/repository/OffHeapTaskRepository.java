@@ -0,0 +1,278 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskColumns.TaskRow;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositorio de tareas con almacenamiento columnar fuera del heap, para despliegues con millones de tareas.
+ * Las tareas no se conservan como objetos: sus campos se guardan en {@link TaskColumns} (fechas en milisegundos
+ * desde epoch, ordinales de estado y prioridad, handles de diccionario para documento y usuario) y sus textos
+ * en un {@link StringArena}; el ID se ubica con el índice primitivo {@link TaskSlotIndex}.
+ * Cada lectura decodifica una nueva instancia inmutable de {@link Task}.
+ * Los índices secundarios y los diccionarios de {@link IndexedTaskRepository} se mantienen en el heap.
+ * <p>
+ * Las escrituras sobre una misma tarea se serializan con un lock de un conjunto fijo (por hash del ID);
+ * las lecturas no bloquean. Las fechas se almacenan con precisión de milisegundos.
+ * Al compactar una tarea se libera su posición en las columnas para reutilizarla; sus textos permanecen
+ * en el {@link StringArena}, que es de solo anexado, y se contabilizan en {@link #unreclaimedStringBytes()}
+ * junto con los títulos y descripciones reemplazados.
+ * Se activa con {@code tasks.store.type=offheap}.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "tasks.store", name = "type", havingValue = "offheap")
+public class OffHeapTaskRepository extends IndexedTaskRepository {
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final byte NULL_ORDINAL = -1;
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+
+    private final TaskLocks locks = new TaskLocks();
+    private final TaskColumns columns = new TaskColumns();
+    private final StringArena strings = new StringArena();
+    private final TaskSlotIndex slots = new TaskSlotIndex();
+
+    /**
+     * La posición encontrada puede liberarse o reutilizarse antes de leerla si la tarea se compacta,
+     * por lo que se comprueba que la fila leída siga siendo la del ID.
+     */
+    @Override
+    protected Task lookup(String id) {
+        int slot = find(id);
+        if (slot < 0) {
+            return null;
+        }
+        Task task = decode(columns.read(slot));
+        return task != null && task.getId().equals(id) ? task : null;
+    }
+
+    @Override
+    protected Task compute(String id, UnaryOperator<Task> remapping) {
+        ReentrantLock lock = locks.forId(id);
+        lock.lock();
+        try {
+            int slot = find(id);
+            TaskRow row = slot >= 0 ? columns.read(slot) : null;
+            Task previous = decode(row);
+            Task next = remapping.apply(previous);
+            if (next == null) {
+                return previous;
+            }
+            if (slot >= 0) {
+                TaskRow encoded = encode(next, previous, row);
+                columns.write(slot, encoded);
+                if (encoded.title() != row.title()) {
+                    strings.discard(row.title());
+                }
+                if (encoded.description() != row.description()) {
+                    strings.discard(row.description());
+                }
+            } else {
+                slot = columns.allocate();
+                columns.write(slot, encode(next, null, null));
+                slots.insert(id.hashCode(), slot);
+            }
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Además de canonizar los IDs, trunca las fechas a milisegundos para que la tarea devuelta
+     * coincida con la que se leerá después desde las columnas.
+     */
+    @Override
+    protected Task normalize(Task task) {
+        Task canonical = super.normalize(task);
+        LocalDateTime dueDate = toMillis(canonical.getDueDate());
+        LocalDateTime createdAt = toMillis(canonical.getCreatedAt());
+        LocalDateTime updatedAt = toMillis(canonical.getUpdatedAt());
+        if (dueDate == canonical.getDueDate() && createdAt == canonical.getCreatedAt()
+                && updatedAt == canonical.getUpdatedAt()) {
+            return canonical;
+        }
+        return canonical.toBuilder()
+                .dueDate(dueDate)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    @Override
+    protected long remove(String id, Predicate<Task> condition) {
+        ReentrantLock lock = locks.forId(id);
+        lock.lock();
+        try {
+            int slot = find(id);
+            TaskRow row = slot >= 0 ? columns.read(slot) : null;
+            Task task = decode(row);
+            if (task == null || !condition.test(task)) {
+                return -1;
+            }
+            slots.remove(id.hashCode(), slot);
+            columns.release(slot);
+            strings.discard(row.id());
+            strings.discard(row.title());
+            strings.discard(row.description());
+            return TaskColumns.ROW_BYTES;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void clearStorage() {
+        columns.clear();
+        strings.clear();
+        slots.clear();
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return find(id) >= 0;
+    }
+
+    @Override
+    public Collection<Task> allTasks() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<Task> iterator() {
+                return new SlotIterator();
+            }
+
+            @Override
+            public int size() {
+                return columns.size() - columns.freeCount();
+            }
+        };
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return columns.size() == columns.freeCount();
+    }
+
+    /**
+     * Obtiene los bytes reservados fuera del heap por las columnas y los textos.
+     * @return Los bytes reservados.
+     */
+    public long offHeapBytes() {
+        return columns.reservedBytes() + strings.reservedBytes();
+    }
+
+    /**
+     * Obtiene los bytes de textos que ya no pertenecen a ninguna tarea (de tareas compactadas o títulos y
+     * descripciones reemplazados) y siguen ocupando el área de textos, que no se reutiliza.
+     * @return Los bytes no recuperados.
+     */
+    public long unreclaimedStringBytes() {
+        return strings.discardedBytes();
+    }
+
+    /**
+     * Busca la posición de un ID comparándolo con los bytes guardados, sin decodificar los candidatos.
+     */
+    private int find(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        return slots.find(id.hashCode(), slot -> strings.matches(columns.idRef(slot), bytes));
+    }
+
+    /**
+     * Convierte una tarea a sus valores de columna. Los textos que no cambiaron respecto de la
+     * versión anterior conservan su referencia en lugar de volver a anexarse.
+     */
+    private TaskRow encode(Task task, Task previous, TaskRow row) {
+        return new TaskRow(
+                row != null ? row.id() : strings.append(task.getId()),
+                documentHandle(task.getDocumentId()),
+                row != null && Objects.equals(previous.getTitle(), task.getTitle()) ? row.title() : strings.append(task.getTitle()),
+                row != null && Objects.equals(previous.getDescription(), task.getDescription())
+                        ? row.description() : strings.append(task.getDescription()),
+                task.getStatus() != null ? (byte) task.getStatus().ordinal() : NULL_ORDINAL,
+                assignedUserHandle(task.getAssignedUserId()),
+                task.getPriority() != null ? (byte) task.getPriority().ordinal() : NULL_ORDINAL,
+                epochMillis(task.getDueDate()),
+                epochMillis(task.getCreatedAt()),
+                epochMillis(task.getUpdatedAt()),
+                task.isActive(),
+                task.getVersion());
+    }
+
+    private Task decode(TaskRow row) {
+        if (row == null || row.id() == StringArena.NULL_REF) {
+            return null;
+        }
+        return Task.builder()
+                .id(strings.read(row.id()))
+                .documentId(documentId(row.document()))
+                .title(strings.read(row.title()))
+                .description(strings.read(row.description()))
+                .status(row.status() != NULL_ORDINAL ? STATUSES[row.status()] : null)
+                .assignedUserId(assignedUserId(row.assignedUser()))
+                .priority(row.priority() != NULL_ORDINAL ? PRIORITIES[row.priority()] : null)
+                .dueDate(dateTime(row.dueDate()))
+                .createdAt(dateTime(row.createdAt()))
+                .updatedAt(dateTime(row.updatedAt()))
+                .active(row.active())
+                .version(row.version())
+                .build();
+    }
+
+    private static LocalDateTime toMillis(LocalDateTime value) {
+        return value == null || value.getNano() % 1_000_000 == 0 ? value : value.truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static long epochMillis(LocalDateTime value) {
+        return value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : NULL_TIME;
+    }
+
+    private static LocalDateTime dateTime(long epochMillis) {
+        if (epochMillis == NULL_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Recorre las posiciones reservadas en orden, omitiendo las que todavía no fueron escritas y las liberadas.
+     */
+    private final class SlotIterator implements Iterator<Task> {
+        private final int end = columns.size();
+        private int slot;
+        private Task next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && slot < end) {
+                next = decode(columns.read(slot++));
+            }
+            return next != null;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task task = next;
+            next = null;
+            return task;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.insightflow.tasks_service.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Área de solo anexado, fuera del heap, para los textos del almacén columnar (IDs, títulos y descripciones).
+ * Cada texto se guarda como su longitud (int) seguida de sus bytes UTF-8 y se referencia con un long que
+ * combina el número de bloque y la posición dentro del bloque.
+ * Los bytes escritos nunca se modifican, por lo que los lectores pueden leer cualquier referencia
+ * publicada sin sincronización; el espacio de los textos reemplazados no se reutiliza.
+ * Los textos que dejan de estar referenciados se contabilizan con {@link #discard(long)}, para que
+ * la memoria que ocupan sin uso quede a la vista.
+ */
+class StringArena {
+    /**
+     * Referencia de los valores nulos.
+     */
+    static final long NULL_REF = -1;
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private ByteBuffer current;
+    private volatile long usedBytes;
+    private final AtomicLong discardedBytes = new AtomicLong();
+
+    /**
+     * Anexa un texto.
+     * @param value El texto, o null.
+     * @return La referencia del texto, o {@link #NULL_REF} si es nulo.
+     */
+    long append(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Integer.BYTES + bytes.length;
+        lock.lock();
+        try {
+            if (current == null || current.remaining() < length) {
+                current = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+                ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+                grown[grown.length - 1] = current;
+                chunks = grown;
+            }
+            int offset = current.position();
+            current.putInt(bytes.length).put(bytes);
+            usedBytes += length;
+            return ((long) (chunks.length - 1) << 32) | offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lee un texto.
+     * @param ref La referencia del texto.
+     * @return El texto, o null si la referencia es {@link #NULL_REF}.
+     */
+    String read(long ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        ByteBuffer chunk = chunks[(int) (ref >>> 32)];
+        int offset = (int) ref;
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compara un texto almacenado con unos bytes UTF-8 sin decodificarlo.
+     * @param ref La referencia del texto.
+     * @param bytes Los bytes a comparar.
+     * @return true si el texto almacenado tiene exactamente esos bytes.
+     */
+    boolean matches(long ref, byte[] bytes) {
+        if (ref == NULL_REF) {
+            return false;
+        }
+        ByteBuffer chunk = chunks[(int) (ref >>> 32)];
+        int offset = (int) ref;
+        if (chunk.getInt(offset) != bytes.length) {
+            return false;
+        }
+        return chunk.slice(offset + Integer.BYTES, bytes.length).equals(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Obtiene los bytes ocupados por los textos, incluidos los reemplazados.
+     * @return Los bytes utilizados.
+     */
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Registra que un texto dejó de estar referenciado. Su espacio no se libera ni se reutiliza,
+     * porque un lector concurrente puede estar leyéndolo todavía.
+     * @param ref La referencia del texto; {@link #NULL_REF} se ignora.
+     */
+    void discard(long ref) {
+        if (ref != NULL_REF) {
+            discardedBytes.addAndGet(Integer.BYTES + chunks[(int) (ref >>> 32)].getInt((int) ref));
+        }
+    }
+
+    /**
+     * Obtiene los bytes de los textos que ya no están referenciados y siguen ocupando el área.
+     * @return Los bytes descartados.
+     */
+    long discardedBytes() {
+        return discardedBytes.get();
+    }
+
+    /**
+     * Obtiene los bytes reservados fuera del heap.
+     * @return La suma del tamaño de los bloques.
+     */
+    long reservedBytes() {
+        long total = 0;
+        for (ByteBuffer chunk : chunks) {
+            total += chunk.capacity();
+        }
+        return total;
+    }
+
+    /**
+     * Descarta todos los textos. La memoria se libera cuando los bloques dejan de estar referenciados.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            chunks = new ByteBuffer[0];
+            current = null;
+            usedBytes = 0;
+            discardedBytes.set(0);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
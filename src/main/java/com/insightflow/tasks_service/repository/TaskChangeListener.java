@@ -0,0 +1,26 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+
+/**
+ * Receptor de las modificaciones de tareas aplicadas por el repositorio.
+ * El repositorio lo invoca dentro de la operación atómica de cada tarea, después de registrarla en el journal,
+ * por lo que el orden de las notificaciones de una misma tarea coincide con el de sus escrituras.
+ * Las implementaciones no deben bloquear: se ejecutan en el camino de cada escritura.
+ * Las tareas restauradas desde el almacenamiento durable no se notifican.
+ */
+@FunctionalInterface
+public interface TaskChangeListener {
+    /**
+     * Receptor que ignora las modificaciones, utilizado mientras no se conecta ninguno.
+     */
+    TaskChangeListener NONE = (previous, current) -> {
+    };
+
+    /**
+     * Notifica una nueva versión de una tarea.
+     * @param previous La versión anterior de la tarea, o null si se acaba de crear.
+     * @param current La nueva versión de la tarea.
+     */
+    void onChange(Task previous, Task current);
+}
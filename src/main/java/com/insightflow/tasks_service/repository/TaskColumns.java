@@ -0,0 +1,279 @@
+package com.insightflow.tasks_service.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Columnas fuera del heap del almacén de tareas, organizadas en segmentos de posiciones consecutivas.
+ * Dentro de cada segmento los valores de un mismo campo son contiguos (formato columnar):
+ * fechas en milisegundos desde epoch, versión y referencias de texto como long, handles de
+ * diccionario como int, y ordinales de estado y prioridad e indicador de activa como byte.
+ * <p>
+ * Cada posición tiene un contador de secuencia (seqlock): el escritor lo deja impar mientras
+ * escribe y par al terminar, y los lectores repiten la lectura si cambió o era impar.
+ * Así las lecturas no bloquean y nunca combinan campos de versiones distintas de una tarea.
+ * Se admite un único escritor por posición, lo que garantiza el lock por tarea del repositorio.
+ * Las posiciones de las tareas compactadas se liberan (su ID pasa a ser {@link StringArena#NULL_REF})
+ * y se reutilizan en las siguientes reservas.
+ */
+class TaskColumns {
+    private static final int SEGMENT_SHIFT = 14;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private static final int SEQUENCE = 0;
+    private static final int VERSION = 1;
+    private static final int CREATED_AT = 2;
+    private static final int UPDATED_AT = 3;
+    private static final int DUE_DATE = 4;
+    private static final int ID = 5;
+    private static final int TITLE = 6;
+    private static final int DESCRIPTION = 7;
+    private static final int LONG_COLUMNS = 8;
+
+    private static final int DOCUMENT = 0;
+    private static final int ASSIGNED_USER = 1;
+    private static final int INT_COLUMNS = 2;
+
+    private static final int STATUS = 0;
+    private static final int PRIORITY = 1;
+    private static final int ACTIVE = 2;
+    private static final int BYTE_COLUMNS = 3;
+
+    /**
+     * Bytes fuera del heap de cada posición.
+     */
+    static final long ROW_BYTES = LONG_COLUMNS * Long.BYTES + INT_COLUMNS * Integer.BYTES + BYTE_COLUMNS;
+    /**
+     * Bytes fuera del heap de cada segmento.
+     */
+    static final long SEGMENT_BYTES = SEGMENT_SIZE * ROW_BYTES;
+
+    private static final VarHandle SEQUENCES = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Segment[] segments = new Segment[0];
+    private volatile int size;
+    /**
+     * Posiciones liberadas pendientes de reutilizar, usadas como pila.
+     */
+    private int[] free = new int[0];
+    private int freeCount;
+
+    /**
+     * Reserva una posición liberada o, si no hay, la siguiente posición libre, creando un segmento si hace falta.
+     * @return La posición reservada, todavía sin escribir o liberada.
+     */
+    int allocate() {
+        lock.lock();
+        try {
+            if (freeCount > 0) {
+                return free[--freeCount];
+            }
+            int slot = size;
+            if ((slot >>> SEGMENT_SHIFT) == segments.length) {
+                Segment[] grown = Arrays.copyOf(segments, segments.length + 1);
+                grown[grown.length - 1] = new Segment();
+                segments = grown;
+            }
+            size = slot + 1;
+            return slot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de posiciones reservadas, incluidas las liberadas.
+     * @return El número de posiciones.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene el número de posiciones liberadas pendientes de reutilizar.
+     * @return El número de posiciones libres.
+     */
+    int freeCount() {
+        lock.lock();
+        try {
+            return freeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera una posición para reutilizarla. La fila queda con el ID en {@link StringArena#NULL_REF},
+     * de modo que los lectores que todavía la consultan la tratan como vacía.
+     * Quien libera debe ser el único escritor de la posición, igual que en {@link #write(int, TaskRow)}.
+     * @param slot La posición.
+     */
+    void release(int slot) {
+        Segment segment = segments[slot >>> SEGMENT_SHIFT];
+        int index = slot & SEGMENT_MASK;
+        int sequenceOffset = longOffset(SEQUENCE, index);
+        long sequence = (long) SEQUENCES.get(segment.longs, sequenceOffset);
+        SEQUENCES.setOpaque(segment.longs, sequenceOffset, sequence + 1);
+        VarHandle.storeStoreFence();
+        segment.longs.putLong(longOffset(ID, index), StringArena.NULL_REF);
+        segment.bytes.put(byteOffset(ACTIVE, index), (byte) 0);
+        SEQUENCES.setRelease(segment.longs, sequenceOffset, sequence + 2);
+        lock.lock();
+        try {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, Math.max(16, free.length * 2));
+            }
+            free[freeCount++] = slot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene los bytes reservados fuera del heap.
+     * @return El tamaño de todos los segmentos.
+     */
+    long reservedBytes() {
+        return segments.length * SEGMENT_BYTES;
+    }
+
+    /**
+     * Lee la referencia del ID de una posición sin seqlock. El ID solo cambia cuando la posición se libera
+     * o se reutiliza, por lo que quien consulta debe comprobar el ID de la fila que lee después.
+     * @param slot La posición, ya publicada.
+     * @return La referencia del ID en el {@link StringArena}.
+     */
+    long idRef(int slot) {
+        Segment segment = segments[slot >>> SEGMENT_SHIFT];
+        return segment.longs.getLong(longOffset(ID, slot & SEGMENT_MASK));
+    }
+
+    /**
+     * Lee una fila completa y consistente.
+     * @param slot La posición.
+     * @return La fila, o null si la posición todavía no fue escrita. Una posición liberada devuelve una fila
+     *         con el ID en {@link StringArena#NULL_REF}.
+     */
+    TaskRow read(int slot) {
+        Segment segment = segments[slot >>> SEGMENT_SHIFT];
+        int index = slot & SEGMENT_MASK;
+        int sequenceOffset = longOffset(SEQUENCE, index);
+        while (true) {
+            long sequence = (long) SEQUENCES.getAcquire(segment.longs, sequenceOffset);
+            if (sequence == 0) {
+                return null;
+            }
+            if ((sequence & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            TaskRow row = new TaskRow(
+                    segment.longs.getLong(longOffset(ID, index)),
+                    segment.ints.getInt(intOffset(DOCUMENT, index)),
+                    segment.longs.getLong(longOffset(TITLE, index)),
+                    segment.longs.getLong(longOffset(DESCRIPTION, index)),
+                    segment.bytes.get(byteOffset(STATUS, index)),
+                    segment.ints.getInt(intOffset(ASSIGNED_USER, index)),
+                    segment.bytes.get(byteOffset(PRIORITY, index)),
+                    segment.longs.getLong(longOffset(DUE_DATE, index)),
+                    segment.longs.getLong(longOffset(CREATED_AT, index)),
+                    segment.longs.getLong(longOffset(UPDATED_AT, index)),
+                    segment.bytes.get(byteOffset(ACTIVE, index)) != 0,
+                    segment.longs.getLong(longOffset(VERSION, index)));
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCES.getVolatile(segment.longs, sequenceOffset) == sequence) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Escribe una fila completa. Solo puede haber un escritor a la vez por posición.
+     * @param slot La posición, previamente reservada.
+     * @param row Los valores de la fila.
+     */
+    void write(int slot, TaskRow row) {
+        Segment segment = segments[slot >>> SEGMENT_SHIFT];
+        int index = slot & SEGMENT_MASK;
+        int sequenceOffset = longOffset(SEQUENCE, index);
+        long sequence = (long) SEQUENCES.get(segment.longs, sequenceOffset);
+        SEQUENCES.setOpaque(segment.longs, sequenceOffset, sequence + 1);
+        VarHandle.storeStoreFence();
+        segment.longs.putLong(longOffset(ID, index), row.id());
+        segment.ints.putInt(intOffset(DOCUMENT, index), row.document());
+        segment.longs.putLong(longOffset(TITLE, index), row.title());
+        segment.longs.putLong(longOffset(DESCRIPTION, index), row.description());
+        segment.bytes.put(byteOffset(STATUS, index), row.status());
+        segment.ints.putInt(intOffset(ASSIGNED_USER, index), row.assignedUser());
+        segment.bytes.put(byteOffset(PRIORITY, index), row.priority());
+        segment.longs.putLong(longOffset(DUE_DATE, index), row.dueDate());
+        segment.longs.putLong(longOffset(CREATED_AT, index), row.createdAt());
+        segment.longs.putLong(longOffset(UPDATED_AT, index), row.updatedAt());
+        segment.bytes.put(byteOffset(ACTIVE, index), (byte) (row.active() ? 1 : 0));
+        segment.longs.putLong(longOffset(VERSION, index), row.version());
+        SEQUENCES.setRelease(segment.longs, sequenceOffset, sequence + 2);
+    }
+
+    /**
+     * Descarta todas las posiciones. La memoria se libera cuando los segmentos dejan de estar referenciados.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            segments = new Segment[0];
+            size = 0;
+            free = new int[0];
+            freeCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int longOffset(int column, int index) {
+        return (column * SEGMENT_SIZE + index) * Long.BYTES;
+    }
+
+    private static int intOffset(int column, int index) {
+        return (column * SEGMENT_SIZE + index) * Integer.BYTES;
+    }
+
+    private static int byteOffset(int column, int index) {
+        return column * SEGMENT_SIZE + index;
+    }
+
+    /**
+     * Valores primitivos de una tarea tal como se guardan en las columnas.
+     * @param id Referencia del ID en el {@link StringArena}.
+     * @param document Handle del ID de documento.
+     * @param title Referencia del título.
+     * @param description Referencia de la descripción.
+     * @param status Ordinal del estado, o -1.
+     * @param assignedUser Handle del ID de usuario asignado.
+     * @param priority Ordinal de la prioridad, o -1.
+     * @param dueDate Fecha de vencimiento en milisegundos desde epoch (UTC), o {@link Long#MIN_VALUE}.
+     * @param createdAt Fecha de creación en milisegundos desde epoch (UTC), o {@link Long#MIN_VALUE}.
+     * @param updatedAt Fecha de actualización en milisegundos desde epoch (UTC), o {@link Long#MIN_VALUE}.
+     * @param active Indicador de tarea activa.
+     * @param version Versión de la tarea.
+     */
+    record TaskRow(long id, int document, long title, long description, byte status, int assignedUser,
+                   byte priority, long dueDate, long createdAt, long updatedAt, boolean active, long version) {
+    }
+
+    /**
+     * Bloque de {@value #SEGMENT_SIZE} posiciones con un buffer directo por tipo de columna.
+     */
+    private static final class Segment {
+        final ByteBuffer longs = ByteBuffer.allocateDirect(LONG_COLUMNS * SEGMENT_SIZE * Long.BYTES)
+                .order(ByteOrder.nativeOrder());
+        final ByteBuffer ints = ByteBuffer.allocateDirect(INT_COLUMNS * SEGMENT_SIZE * Integer.BYTES)
+                .order(ByteOrder.nativeOrder());
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_COLUMNS * SEGMENT_SIZE);
+    }
+}
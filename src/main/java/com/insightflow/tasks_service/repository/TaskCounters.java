@@ -0,0 +1,54 @@
+package com.insightflow.tasks_service.repository;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores segmentados de tareas activas por valor de un atributo (estado, documento o usuario).
+ * Se basan en LongAdder para que los escritores concurrentes no compitan por una única variable
+ * y las lecturas cuesten O(1) en lugar de recorrer el almacén.
+ * Los valores se identifican por su handle entero, igual que en {@link TaskIndex}.
+ */
+class TaskCounters {
+    /**
+     * Contador por handle del valor.
+     */
+    private final HandleTable<LongAdder> counters = new HandleTable<>(LongAdder::new);
+
+    /**
+     * Incrementa el contador de un valor.
+     * @param handle El handle del valor.
+     */
+    void increment(int handle) {
+        if (handle != TaskDictionary.NO_HANDLE) {
+            counters.getOrCreate(handle).increment();
+        }
+    }
+
+    /**
+     * Decrementa el contador de un valor.
+     * Los contadores en cero se conservan para no perder incrementos concurrentes.
+     * @param handle El handle del valor.
+     */
+    void decrement(int handle) {
+        if (handle != TaskDictionary.NO_HANDLE) {
+            counters.getOrCreate(handle).decrement();
+        }
+    }
+
+    /**
+     * Obtiene el valor actual del contador de un valor.
+     * @param handle El handle del valor.
+     * @return El número de tareas activas con ese valor.
+     */
+    long get(int handle) {
+        LongAdder counter = counters.get(handle);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Reinicia todos los contadores.
+     */
+    void clear() {
+        counters.clear();
+    }
+}
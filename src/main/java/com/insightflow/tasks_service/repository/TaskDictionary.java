@@ -0,0 +1,113 @@
+package com.insightflow.tasks_service.repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Diccionario de valores repetidos de las tareas (IDs de documento y de usuario).
+ * Asigna a cada valor distinto un handle entero denso, que los índices y contadores usan como posición,
+ * y una instancia canónica del string, de modo que todas las tareas de un documento o usuario
+ * comparten el mismo objeto en lugar de conservar la copia creada al deserializar cada petición.
+ * Los valores no se eliminan: el diccionario crece con el número de documentos y usuarios distintos.
+ */
+class TaskDictionary {
+    /**
+     * Handle de los valores nulos o desconocidos.
+     */
+    static final int NO_HANDLE = -1;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * Valores por handle, para decodificar los handles almacenados.
+     */
+    private final HandleTable<String> values = new HandleTable<>(() -> null);
+    private final AtomicInteger nextHandle = new AtomicInteger();
+    /**
+     * Serializa el registro de valores nuevos. Es un ReentrantLock y no ConcurrentHashMap.computeIfAbsent
+     * para no fijar hilos virtuales a su portador mientras se espera el lock de {@link HandleTable}.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Registra un valor si no existía y devuelve su entrada.
+     * @param value El valor.
+     * @return La entrada con el handle y la instancia canónica, o null si el valor es nulo.
+     */
+    Entry intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        Entry entry = entries.get(value);
+        if (entry != null) {
+            return entry;
+        }
+        lock.lock();
+        try {
+            entry = entries.get(value);
+            if (entry == null) {
+                entry = new Entry(nextHandle.getAndIncrement(), value);
+                values.set(entry.handle(), value);
+                entries.put(value, entry);
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene la instancia canónica de un valor, registrándolo si no existía.
+     * @param value El valor.
+     * @return La instancia canónica, o null si el valor es nulo.
+     */
+    String canonical(String value) {
+        Entry entry = intern(value);
+        return entry != null ? entry.value() : null;
+    }
+
+    /**
+     * Obtiene el handle de un valor sin registrarlo, para que las consultas no hagan crecer el diccionario.
+     * @param value El valor.
+     * @return El handle, o {@link #NO_HANDLE} si el valor es nulo o nunca se registró.
+     */
+    int find(String value) {
+        Entry entry = value != null ? entries.get(value) : null;
+        return entry != null ? entry.handle() : NO_HANDLE;
+    }
+
+    /**
+     * Obtiene el valor registrado con un handle.
+     * @param handle El handle.
+     * @return La instancia canónica del valor, o null si el handle es {@link #NO_HANDLE} o desconocido.
+     */
+    String value(int handle) {
+        return values.get(handle);
+    }
+
+    /**
+     * Obtiene el número de valores distintos registrados.
+     * @return El tamaño del diccionario.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Elimina todos los valores y reinicia la numeración de handles.
+     */
+    void clear() {
+        entries.clear();
+        values.clear();
+        nextHandle.set(0);
+    }
+
+    /**
+     * Valor registrado en el diccionario.
+     * @param handle Handle entero del valor.
+     * @param value Instancia canónica del valor.
+     */
+    record Entry(int handle, String value) {
+    }
+}
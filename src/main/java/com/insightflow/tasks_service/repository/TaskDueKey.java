@@ -0,0 +1,88 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Clave de una tarea dentro del índice por fecha de vencimiento.
+ * El orden natural es por fecha de vencimiento ascendente (la que vence antes primero) y, ante empates, por ID,
+ * de modo que un rango de fechas es un subconjunto contiguo del índice.
+ * También se utiliza como cursor de los listados por vencimiento, codificada como un token opaco.
+ * La fecha se guarda como segundos y nanosegundos por separado y no como nanosegundos desde epoch:
+ * la fecha de vencimiento la indica el cliente, y un long de nanosegundos solo cubre de 1677 a 2262.
+ * @param dueSecond Segundos desde epoch (UTC) de la fecha de vencimiento.
+ * @param dueNano Nanosegundos dentro del segundo.
+ * @param id Identificador de la tarea.
+ */
+public record TaskDueKey(long dueSecond, int dueNano, String id) implements Comparable<TaskDueKey> {
+
+    /**
+     * Construye la clave de vencimiento de una tarea.
+     * @param task La tarea, que debe tener fecha de vencimiento.
+     * @return La clave de la tarea.
+     */
+    public static TaskDueKey of(Task task) {
+        return of(task.getDueDate(), task.getId());
+    }
+
+    /**
+     * Construye la menor clave posible para una fecha: precede a todas las tareas que vencen en esa fecha,
+     * por lo que sirve como extremo de un rango.
+     * @param dueDate La fecha de vencimiento.
+     * @return La clave límite.
+     */
+    public static TaskDueKey lowerBound(LocalDateTime dueDate) {
+        return of(dueDate, "");
+    }
+
+    private static TaskDueKey of(LocalDateTime dueDate, String id) {
+        return new TaskDueKey(dueDate.toEpochSecond(ZoneOffset.UTC), dueDate.getNano(), id);
+    }
+
+    /**
+     * Codifica la clave como un cursor opaco apto para URLs.
+     * @return El cursor codificado.
+     */
+    public String encode() {
+        String raw = dueSecond + "." + dueNano + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #encode()}.
+     * @param cursor El cursor codificado.
+     * @return La clave representada por el cursor.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static TaskDueKey decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            int point = raw.indexOf('.');
+            if (point <= 0 || point > separator) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            return new TaskDueKey(Long.parseLong(raw.substring(0, point)),
+                    Integer.parseInt(raw.substring(point + 1, separator)), raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    @Override
+    public int compareTo(TaskDueKey other) {
+        int bySecond = Long.compare(dueSecond, other.dueSecond);
+        if (bySecond != 0) {
+            return bySecond;
+        }
+        int byNano = Integer.compare(dueNano, other.dueNano);
+        return byNano != 0 ? byNano : id.compareTo(other.id);
+    }
+}
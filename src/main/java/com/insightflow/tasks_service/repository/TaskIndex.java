@@ -0,0 +1,62 @@
+package com.insightflow.tasks_service.repository;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice secundario concurrente que asocia un valor de atributo (documento, usuario, estado)
+ * con las claves de las tareas que lo poseen.
+ * Los valores se identifican por su handle entero (ordinal del enum o handle de {@link TaskDictionary}),
+ * por lo que ubicar un bucket es un acceso directo a un arreglo.
+ * Cada bucket se mantiene ordenado por fecha de creación descendente, por lo que las lecturas
+ * recorren las tareas ya ordenadas sin necesidad de ordenarlas en cada consulta.
+ * Los buckets se crean una sola vez por valor y se conservan aunque queden vacíos,
+ * de modo que altas y bajas concurrentes nunca operan sobre un bucket descartado.
+ */
+class TaskIndex {
+    /**
+     * Buckets del índice, indexados por el handle del valor.
+     */
+    private final HandleTable<NavigableSet<TaskKey>> buckets = new HandleTable<>(ConcurrentSkipListSet::new);
+
+    /**
+     * Agrega una tarea al bucket del valor indicado.
+     * @param handle El handle del valor indexado.
+     * @param taskKey La clave de ordenamiento de la tarea.
+     */
+    void add(int handle, TaskKey taskKey) {
+        if (handle != TaskDictionary.NO_HANDLE) {
+            buckets.getOrCreate(handle).add(taskKey);
+        }
+    }
+
+    /**
+     * Elimina una tarea del bucket del valor indicado.
+     * @param handle El handle del valor indexado.
+     * @param taskKey La clave de ordenamiento de la tarea.
+     */
+    void remove(int handle, TaskKey taskKey) {
+        NavigableSet<TaskKey> keys = buckets.get(handle);
+        if (keys != null) {
+            keys.remove(taskKey);
+        }
+    }
+
+    /**
+     * Obtiene las claves de las tareas asociadas a un valor, de la más reciente a la más antigua.
+     * @param handle El handle del valor indexado.
+     * @return Vista ordenada de solo lectura, vacía si el valor no existe.
+     */
+    NavigableSet<TaskKey> get(int handle) {
+        NavigableSet<TaskKey> keys = buckets.get(handle);
+        return keys != null ? Collections.unmodifiableNavigableSet(keys) : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * Elimina todas las entradas del índice.
+     */
+    void clear() {
+        buckets.clear();
+    }
+}
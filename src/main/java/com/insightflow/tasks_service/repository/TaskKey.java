@@ -0,0 +1,82 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Clave de ordenamiento de una tarea dentro de los índices.
+ * El orden natural es por fecha de creación descendente y, ante empates, por ID descendente,
+ * que es el orden en que se devuelven los listados de tareas.
+ * La fecha se guarda como un long para que las comparaciones de los índices no recorran
+ * los objetos LocalDateTime de cada tarea.
+ * También se utiliza como cursor de paginación, codificada como un token opaco.
+ * @param createdAt Timestamp de creación de la tarea en nanosegundos desde epoch, o {@link Long#MIN_VALUE} si no tiene.
+ * @param id Identificador de la tarea.
+ */
+public record TaskKey(long createdAt, String id) implements Comparable<TaskKey> {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Construye la clave de ordenamiento de una tarea.
+     * @param task La tarea.
+     * @return La clave de la tarea.
+     */
+    public static TaskKey of(Task task) {
+        return new TaskKey(toNanos(task.getCreatedAt()), task.getId());
+    }
+
+    /**
+     * Codifica la clave como un cursor opaco apto para URLs.
+     * @return El cursor codificado.
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor generado por {@link #encode()}.
+     * @param cursor El cursor codificado.
+     * @return La clave representada por el cursor.
+     * @throws IllegalArgumentException Si el cursor no es válido.
+     */
+    public static TaskKey decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            long createdAt = Long.parseLong(raw.substring(0, separator));
+            return new TaskKey(createdAt, raw.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+
+    /**
+     * Compara las claves dejando primero las más recientes y las fechas nulas al final.
+     * Se implementa sin comparadores compuestos porque es la operación más frecuente de los índices.
+     */
+    @Override
+    public int compareTo(TaskKey other) {
+        int byDate = Long.compare(other.createdAt, createdAt);
+        return byDate != 0 ? byDate : other.id.compareTo(id);
+    }
+
+    /**
+     * Convierte una fecha en nanosegundos desde epoch (UTC), el formato en que las claves guardan sus fechas.
+     * @param value La fecha, o null.
+     * @return Los nanosegundos, o {@link Long#MIN_VALUE} si la fecha es nula.
+     */
+    static long toNanos(LocalDateTime value) {
+        if (value == null) {
+            return Long.MIN_VALUE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + value.getNano();
+    }
+}
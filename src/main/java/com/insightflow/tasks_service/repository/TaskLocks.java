@@ -0,0 +1,29 @@
+package com.insightflow.tasks_service.repository;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto fijo de locks que serializa las escrituras sobre una misma tarea, ubicados por hash del ID.
+ * Se usan ReentrantLock y no monitores (synchronized) para que un hilo virtual que espera el lock,
+ * o que se bloquea dentro de la sección crítica (por ejemplo, al encolar en el WAL), libere su hilo portador.
+ */
+final class TaskLocks {
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    TaskLocks() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Obtiene el lock que protege las escrituras de una tarea.
+     * @param id El ID de la tarea.
+     * @return El lock de la tarea, compartido con las tareas cuyo ID cae en el mismo grupo.
+     */
+    ReentrantLock forId(String id) {
+        return locks[(id.hashCode() & 0x7fffffff) % STRIPES];
+    }
+}
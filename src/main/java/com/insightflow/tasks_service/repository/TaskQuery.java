@@ -0,0 +1,50 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios combinados de búsqueda de tareas activas. Los criterios nulos no filtran.
+ * El rango de fecha de vencimiento incluye {@code dueFrom} y excluye {@code dueTo};
+ * las tareas sin fecha de vencimiento no cumplen un rango.
+ * @param documentId ID del documento.
+ * @param assignedUserId ID del usuario asignado.
+ * @param status Estado de la tarea.
+ * @param priority Prioridad de la tarea.
+ * @param dueFrom Inicio del rango de vencimiento (inclusivo).
+ * @param dueTo Fin del rango de vencimiento (exclusivo).
+ */
+public record TaskQuery(String documentId, String assignedUserId, Task.TaskStatus status, Task.TaskPriority priority,
+                        LocalDateTime dueFrom, LocalDateTime dueTo) {
+
+    /**
+     * Indica si una tarea cumple todos los criterios.
+     * @param task La tarea.
+     * @return true si la tarea cumple los criterios.
+     */
+    public boolean matches(Task task) {
+        return (documentId == null || documentId.equals(task.getDocumentId()))
+                && (assignedUserId == null || assignedUserId.equals(task.getAssignedUserId()))
+                && (status == null || status == task.getStatus())
+                && (priority == null || priority == task.getPriority())
+                && matchesDueDate(task.getDueDate());
+    }
+
+    /**
+     * Indica si la búsqueda filtra por fecha de vencimiento.
+     * @return true si se indicó alguno de los extremos del rango.
+     */
+    public boolean hasDueDateRange() {
+        return dueFrom != null || dueTo != null;
+    }
+
+    private boolean matchesDueDate(LocalDateTime dueDate) {
+        if (!hasDueDateRange()) {
+            return true;
+        }
+        return dueDate != null
+                && (dueFrom == null || !dueDate.isBefore(dueFrom))
+                && (dueTo == null || dueDate.isBefore(dueTo));
+    }
+}
@@ -1,36 +1,46 @@
 package com.insightflow.tasks_service.repository;
 
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
 import com.insightflow.tasks_service.model.Task;
-import org.springframework.stereotype.Repository;
+import com.insightflow.tasks_service.persistence.TaskJournal;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la gestión de tareas.
- * Implementa operaciones CRUD utilizando una estructura de datos en memoria.
- * Los datos se almacenan en un ConcurrentHashMap para garantizar la seguridad en entornos concurrentes.
- * Los datos se reinician cada vez que se reinicia la aplicación.
+ * Las tareas son inmutables: cada escritura reemplaza la versión almacenada de forma atómica por tarea,
+ * por lo que las lecturas no necesitan bloqueos y nunca observan una tarea a medio actualizar.
+ * Los listados se devuelven ordenados por fecha de creación descendente.
+ * Existen dos implementaciones, seleccionadas con {@code tasks.store.type}:
+ * {@link InMemoryTaskRepository} (heap, por defecto) y {@link OffHeapTaskRepository} (segmentos columnares fuera del heap).
  */
+public interface TaskRepository {
 
-@Repository
-public class TaskRepository {
     /**
-     * Almacén en memoria de las tareas.
-     * La clave es el ID de la tarea y el valor es la entidad Task.
+     * Conecta un registro durable al repositorio. Las escrituras posteriores se registran en él
+     * y solo retornan una vez que son durables.
+     * @param journal El registro de escrituras.
      */
-    private final Map<String, Task> taskStore = new ConcurrentHashMap<>();
+    void attachJournal(TaskJournal journal);
+
+    /**
+     * Conecta un receptor que es notificado de cada escritura posterior (creación, actualización o eliminación).
+     * @param listener El receptor de las modificaciones.
+     */
+    void attachChangeListener(TaskChangeListener listener);
+
     /**
      * Guarda una nueva tarea en el repositorio.
      *
      * @param task La tarea a guardar.
      * @return La tarea guardada.
      */
-    public Task save(Task task) {
-        taskStore.put(task.getId(), task);
-        return task;
-    }
+    Task save(Task task);
 
     /**
      * Busca una tarea por su ID.
@@ -38,102 +48,300 @@ public class TaskRepository {
      * @param id El ID de la tarea.
      * @return Un Optional que contiene la tarea si se encuentra, o vacío si no.
      */
-    public Optional<Task> findById(String id) {
-        return Optional.ofNullable(taskStore.get(id));
-    }
+    Optional<Task> findById(String id);
+
+    /**
+     * Busca una tarea activa por su ID sin envolverla en un Optional, para las rutas de lectura más frecuentes.
+     *
+     * @param id El ID de la tarea.
+     * @return La tarea si existe y no fue eliminada, o null si no.
+     */
+    Task findActiveById(String id);
 
     /**
      * Busca todas las tareas activas asociadas a un documento específico.
      * @param documentId El ID del documento.
      * @return Una lista de todas las tareas activas.
      */
-    public List<Task> findByDocumentId(String documentId) {
-        return taskStore.values().stream()
-                .filter(task -> task.getDocumentId().equals(documentId) && task.isActive())
-                .filter(Task::isActive)
-                .sorted(Comparator.comparing(Task::getCreatedAt).reversed())
-                .collect(Collectors.toList());
-    }
+    List<Task> findByDocumentId(String documentId);
+
+    /**
+     * Busca una página de las tareas activas asociadas a un documento específico.
+     * @param documentId El ID del documento.
+     * @param after Clave de la última tarea de la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas a devolver.
+     * @return Las tareas de la página, de la más reciente a la más antigua.
+     */
+    List<Task> findByDocumentId(String documentId, TaskKey after, int limit);
+
     /**
      * Busca todas las tareas activas en el repositorio.
      * @return Una lista de todas las tareas activas.
      */
-    public List<Task> findAll() {
-        return taskStore.values().stream()
-                .filter(Task::isActive)
-                .sorted(Comparator.comparing(Task::getCreatedAt).reversed())
-                .collect(Collectors.toList());
-    }
+    List<Task> findAll();
+
+    /**
+     * Busca una página de las tareas activas del repositorio.
+     * @param after Clave de la última tarea de la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas a devolver.
+     * @return Las tareas de la página, de la más reciente a la más antigua.
+     */
+    List<Task> findAll(TaskKey after, int limit);
 
     /**
      * Busca tareas por el ID del usuario asignado.
      * @param assignedUserId El ID del usuario asignado.
      * @return Una lista de tareas asignadas al usuario especificado.
      */
-    public List<Task> findByAssignedUserId(String assignedUserId) {
-        return taskStore.values().stream()
-                .filter(task -> task.getAssignedUserId().equals(assignedUserId) && task.isActive())
-                .sorted(Comparator.comparing(Task::getCreatedAt).reversed())
-                .collect(Collectors.toList());
-    }
+    List<Task> findByAssignedUserId(String assignedUserId);
+
+    /**
+     * Busca una página de las tareas activas asignadas a un usuario.
+     * @param assignedUserId El ID del usuario asignado.
+     * @param after Clave de la última tarea de la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas a devolver.
+     * @return Las tareas de la página, de la más reciente a la más antigua.
+     */
+    List<Task> findByAssignedUserId(String assignedUserId, TaskKey after, int limit);
+
     /**
      * Busca tareas por estado
      * @param status El estado de la tarea.
      * @return Una lista de tareas con el estado especificado.
      */
-    public List<Task> findByStatus(Task.TaskStatus status) {
-        return taskStore.values().stream()
-                .filter(task -> task.getStatus().equals(status) && task.isActive())
-                .sorted(Comparator.comparing(Task::getCreatedAt).reversed())
-                .collect(Collectors.toList());
-    }
+    List<Task> findByStatus(Task.TaskStatus status);
+
+    /**
+     * Recorre las tareas activas de un documento sin materializar el resultado.
+     * Las tareas se resuelven a medida que se consume el stream, en el mismo orden que {@link #findByDocumentId(String)};
+     * el recorrido es débilmente consistente con las escrituras concurrentes.
+     * @param documentId El ID del documento.
+     * @return Un stream perezoso de las tareas activas del documento.
+     */
+    Stream<Task> streamByDocumentId(String documentId);
+
+    /**
+     * Recorre todas las tareas activas sin materializar el resultado, en el mismo orden que {@link #findAll()}.
+     * @return Un stream perezoso de las tareas activas.
+     */
+    Stream<Task> streamAll();
+
+    /**
+     * Recorre las tareas activas asignadas a un usuario sin materializar el resultado,
+     * en el mismo orden que {@link #findByAssignedUserId(String)}.
+     * @param assignedUserId El ID del usuario asignado.
+     * @return Un stream perezoso de las tareas activas del usuario.
+     */
+    Stream<Task> streamByAssignedUserId(String assignedUserId);
+
+    /**
+     * Recorre las tareas activas que cumplen todos los criterios de una búsqueda, sin materializar el resultado.
+     * El recorrido parte del índice más selectivo entre los criterios indexados (documento, usuario asignado
+     * y estado), elegido por sus contadores, y aplica el resto de los criterios a cada tarea. Si el intervalo
+     * de vencimiento acota menos tareas, parte del índice de vencimientos y materializa solo esas coincidencias
+     * para devolverlas en el orden habitual. Sin criterios indexados recorre todas las tareas activas.
+     * El orden es el de {@link #findAll()}.
+     * @param query Los criterios de la búsqueda.
+     * @param after Clave a partir de la cual continuar (exclusiva), o null para empezar desde el inicio.
+     * @return Un stream perezoso de las tareas que cumplen los criterios.
+     */
+    Stream<Task> query(TaskQuery query, TaskKey after);
+
+    /**
+     * Busca una página de las tareas activas sin completar cuya fecha de vencimiento está en un rango,
+     * de la que vence antes a la que vence después. Se resuelve sobre un índice ordenado por vencimiento:
+     * el costo es logarítmico para ubicar el rango más el tamaño de la página.
+     * Las tareas completadas, eliminadas o sin fecha de vencimiento no forman parte del índice.
+     * @param from Inicio del rango (inclusivo), o null para no acotarlo.
+     * @param to Fin del rango (exclusivo), o null para no acotarlo.
+     * @param after Clave de la última tarea de la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas a devolver.
+     * @return Las tareas de la página.
+     */
+    List<Task> findOpenByDueDate(LocalDateTime from, LocalDateTime to, TaskDueKey after, int limit);
 
     /**
      * Actualiza una tarea existente en el repositorio.
-     * @param task La tarea con los datos actualizados.
+     * La nueva instancia solo se almacena si la versión guardada es la inmediatamente anterior
+     * a la de la tarea recibida (copy-on-write con control de concurrencia optimista).
+     * @param task La nueva versión de la tarea.
      * @return La tarea actualizada.
+     * @throws TaskVersionConflictException Si la tarea no existe o fue modificada por otra operación.
+     */
+    Task update(Task task);
+
+    /**
+     * Modifica de forma atómica la tarea activa con un ID (lectura, modificación y escritura en un solo paso).
+     * Las modificaciones de una misma tarea se serializan y las de tareas distintas se aplican en paralelo,
+     * por lo que la modificación siempre recibe la versión vigente y ninguna escritura concurrente se pierde.
+     * La modificación se ejecuta con la tarea bloqueada: debe ser breve y no acceder a otras tareas.
+     * Las excepciones que lance se propagan sin modificar la tarea.
+     * @param id El ID de la tarea.
+     * @param change Recibe la versión actual de la tarea y devuelve la nueva, o null para no modificarla.
+     * @return La tarea almacenada, o null si no existe, fue eliminada o no se modificó.
+     */
+    Task computeIfActive(String id, UnaryOperator<Task> change);
+
+    /**
+     * Guarda un lote de tareas en una sola pasada.
+     * Cada tarea se escribe de forma atómica y el lote espera una única vez a que todas sean durables.
+     * @param tasks Las tareas a guardar.
+     * @return Las tareas guardadas, en el mismo orden.
+     */
+    List<Task> saveAll(List<Task> tasks);
+
+    /**
+     * Actualiza un lote de tareas en una sola pasada, con el mismo control de versión que {@link #update(Task)}.
+     * Un conflicto en una tarea no impide actualizar las demás.
+     * @param tasks Las nuevas versiones de las tareas.
+     * @return Las tareas actualizadas, en el mismo orden, con null en las posiciones cuya tarea
+     *         no existe o fue modificada por otra operación.
+     */
+    List<Task> updateAll(List<Task> tasks);
+
+    /**
+     * Elimina lógicamente un lote de tareas activas en una sola pasada.
+     * @param ids Los IDs de las tareas a eliminar.
+     * @return Las tareas eliminadas, en el mismo orden, con null en las posiciones cuya tarea
+     *         no existe o ya estaba eliminada.
      */
-    public Task update(Task task) {
-        taskStore.put(task.getId(), task);
-        return task;
-    }
+    List<Task> deleteAllById(List<String> ids);
+
+    /**
+     * Busca las tareas eliminadas lógicamente antes de una fecha, de la eliminación más antigua a la más reciente.
+     * La fecha de eliminación es la última actualización de la tarea. Se resuelve sobre un índice ordenado
+     * por fecha de eliminación, sin recorrer el almacén.
+     * @param deletedBefore Fecha límite (exclusiva).
+     * @param limit Número máximo de tareas a devolver.
+     * @return Las tareas eliminadas.
+     */
+    List<Task> findDeletedBefore(LocalDateTime deletedBefore, int limit);
+
+    /**
+     * Elimina físicamente una tarea eliminada lógicamente, liberando su espacio en el almacén.
+     * Solo se elimina si sigue eliminada y en la versión indicada, por lo que una escritura concurrente
+     * que la modifique o la vuelva a crear la conserva. Bloquea solo esa tarea.
+     * Esta operación no se registra en el journal: el siguiente snapshot ya no incluye la tarea.
+     * @param id El ID de la tarea.
+     * @param version La versión eliminada observada.
+     * @return Los bytes liberados (estimados en el almacén heap; en el almacén fuera del heap, solo la fila
+     *         de columnas, porque los textos no se recuperan), o -1 si la tarea no se eliminó.
+     */
+    long purge(String id, long version);
 
     /**
      * Elimina lógicamente una tarea del repositorio.
+     * Si la tarea no existe o ya estaba eliminada no se escribe nada: no cambia su versión ni su fecha de
+     * modificación (que determina cuándo se purga) y no se registra en el journal ni se notifica.
      * @param id El ID de la tarea a eliminar.
      */
-    public void deleteById(String id) {
-        Task task = taskStore.get(id);
-        if (task != null) {
-            task.setActive(false);
-            task.setUpdatedAt(java.time.LocalDateTime.now());
-            taskStore.put(id, task);
-        }
-    }
+    void deleteById(String id);
 
     /**
      * Verifica si existe una tarea con el ID especificado.
      * @param id El ID de la tarea.
      * @return true si la tarea existe, false en caso contrario.
      */
-    public boolean existsById(String id) {
-        return taskStore.containsKey(id);
-    }
+    boolean existsById(String id);
 
     /**
      * Cuenta el número total de tareas activas en el repositorio.
      * @return El número total de tareas activas.
      */
-    public long count() {
-        return taskStore.values().stream()
-                .filter(Task::isActive)
-                .count();
-    }
+    long count();
+
+    /**
+     * Cuenta las tareas activas con un estado específico.
+     * @param status El estado de la tarea.
+     * @return El número de tareas activas con ese estado.
+     */
+    long countByStatus(Task.TaskStatus status);
+
+    /**
+     * Cuenta las tareas activas asociadas a un documento.
+     * @param documentId El ID del documento.
+     * @return El número de tareas activas del documento.
+     */
+    long countByDocumentId(String documentId);
+
+    /**
+     * Cuenta las tareas activas asignadas a un usuario.
+     * @param assignedUserId El ID del usuario asignado.
+     * @return El número de tareas activas del usuario.
+     */
+    long countByAssignedUserId(String assignedUserId);
+
+    /**
+     * Cuenta las tareas eliminadas lógicamente que siguen almacenadas.
+     * @return El número de tareas eliminadas.
+     */
+    long countDeleted();
+
+    /**
+     * Cuenta los IDs de documento registrados en el índice por documento.
+     * @return El número de documentos indexados.
+     */
+    int countIndexedDocuments();
+
+    /**
+     * Cuenta los IDs de usuario registrados en el índice por usuario asignado.
+     * @return El número de usuarios indexados.
+     */
+    int countIndexedAssignedUsers();
+
+    /**
+     * Obtiene el identificador de esta instancia del almacén. Cambia al crear el repositorio y en {@link #clear()},
+     * por lo que las versiones de colección solo son comparables mientras no cambie.
+     * @return El identificador del almacén.
+     */
+    long epoch();
+
+    /**
+     * Obtiene la versión de la colección de todas las tareas, que aumenta con cada escritura.
+     * Se incrementa después de que la escritura es visible para las lecturas.
+     * @return La versión de la colección.
+     */
+    long version();
+
+    /**
+     * Obtiene la versión de la colección de tareas de un documento, que aumenta con cada escritura
+     * sobre una tarea que pertenece o perteneció al documento.
+     * @param documentId El ID del documento.
+     * @return La versión de la colección, o 0 si el documento nunca tuvo tareas.
+     */
+    long versionByDocumentId(String documentId);
+
+    /**
+     * Obtiene la versión de la colección de tareas de un usuario asignado, que aumenta con cada escritura
+     * sobre una tarea que está o estuvo asignada al usuario.
+     * @param assignedUserId El ID del usuario asignado.
+     * @return La versión de la colección, o 0 si el usuario nunca tuvo tareas.
+     */
+    long versionByAssignedUserId(String assignedUserId);
+
+    /**
+     * Restaura una tarea recuperada del almacenamiento durable, sin volver a registrarla.
+     * Si el repositorio ya contiene una versión más reciente de la tarea, se conserva esa.
+     * @param task La tarea recuperada.
+     */
+    void restore(Task task);
+
+    /**
+     * Obtiene una vista de todas las tareas almacenadas, incluidas las eliminadas lógicamente.
+     * La vista es débilmente consistente y refleja las escrituras concurrentes.
+     * @return Vista de solo lectura de todas las tareas.
+     */
+    Collection<Task> allTasks();
+
+    /**
+     * Verifica si el repositorio no contiene ninguna tarea, activa o eliminada.
+     * @return true si el repositorio está vacío.
+     */
+    boolean isEmpty();
 
     /**
      * Elimina todas las tareas del repositorio.
+     * Esta operación no se registra en el journal.
      */
-    public void clear() {
-        taskStore.clear();
-    }
-}
\ No newline at end of file
+    void clear();
+}
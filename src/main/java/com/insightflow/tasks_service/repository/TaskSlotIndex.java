@@ -0,0 +1,167 @@
+package com.insightflow.tasks_service.repository;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice primitivo de direccionamiento abierto (sondeo lineal) que asocia el ID de una tarea
+ * con su posición en el almacén columnar.
+ * Guarda solo el hash del ID y la posición; la comparación exacta se delega en quien consulta,
+ * que compara con el ID almacenado en la propia columna, por lo que el índice no retiene Strings.
+ * Las búsquedas no bloquean; las inserciones y eliminaciones se serializan y la tabla se duplica al superar
+ * la mitad de ocupación. Las entradas de las tareas compactadas se marcan como borradas para no cortar
+ * las secuencias de sondeo; se descartan al redimensionar la tabla.
+ */
+class TaskSlotIndex {
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private int size;
+    /**
+     * Entradas marcadas como borradas en la tabla actual, que siguen ocupando su celda.
+     */
+    private int deleted;
+
+    /**
+     * Busca la posición de un ID.
+     * @param hash Hash del ID.
+     * @param matches Indica si la tarea almacenada en una posición tiene el ID buscado.
+     * @return La posición, o -1 si el ID no está en el índice.
+     */
+    int find(int hash, IntPredicate matches) {
+        Table current = table;
+        int mask = current.hashes.length - 1;
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            int entry = current.slots.get(i);
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (entry != DELETED && current.hashes[i] == hash && matches.test(entry - 1)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Registra la posición de un ID que no estaba en el índice.
+     * La tarea debe estar escrita en la posición antes de registrarla.
+     * @param hash Hash del ID.
+     * @param slot Posición de la tarea.
+     */
+    void insert(int hash, int slot) {
+        lock.lock();
+        try {
+            Table current = table;
+            if ((size + deleted + 1) * 2 > current.hashes.length) {
+                current = resize(current, size + 1);
+                table = current;
+                deleted = 0;
+            }
+            put(current, hash, slot);
+            size++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Elimina la entrada de una posición. Los lectores que ya la habían encontrado pueden seguir leyendo
+     * la posición, por lo que deben comprobar el ID almacenado en ella.
+     * @param hash Hash del ID.
+     * @param slot Posición de la tarea.
+     * @return true si la entrada existía.
+     */
+    boolean remove(int hash, int slot) {
+        lock.lock();
+        try {
+            Table current = table;
+            int mask = current.hashes.length - 1;
+            for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+                int entry = current.slots.get(i);
+                if (entry == EMPTY) {
+                    return false;
+                }
+                if (entry == slot + 1) {
+                    current.slots.set(i, DELETED);
+                    size--;
+                    deleted++;
+                    return true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de IDs registrados.
+     * @return El número de entradas.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Elimina todas las entradas.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            table = new Table(INITIAL_CAPACITY);
+            size = 0;
+            deleted = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Escribe el hash antes que la posición: la escritura volátil de la posición publica ambos valores.
+     */
+    private static void put(Table target, int hash, int slot) {
+        int mask = target.hashes.length - 1;
+        int i = spread(hash) & mask;
+        while (target.slots.get(i) != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        target.hashes[i] = hash;
+        target.slots.set(i, slot + 1);
+    }
+
+    /**
+     * Construye una tabla sin las entradas borradas, del doble de capacidad si las entradas vigentes lo requieren.
+     * La tabla anterior sigue siendo válida para los lectores en curso.
+     */
+    private static Table resize(Table current, int entries) {
+        int capacity = entries * 2 > current.hashes.length ? current.hashes.length << 1 : current.hashes.length;
+        Table grown = new Table(capacity);
+        for (int i = 0; i < current.hashes.length; i++) {
+            int entry = current.slots.get(i);
+            if (entry != EMPTY && entry != DELETED) {
+                put(grown, current.hashes[i], entry - 1);
+            }
+        }
+        return grown;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    /**
+     * Arreglos paralelos de hashes y posiciones (desplazadas en uno para que 0 signifique vacío y -1 borrada).
+     */
+    private static final class Table {
+        final int[] hashes;
+        final AtomicIntegerArray slots;
+
+        Table(int capacity) {
+            hashes = new int[capacity];
+            slots = new AtomicIntegerArray(capacity);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.config.TaskCompactionProperties;
+import com.insightflow.tasks_service.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compactación periódica de las tareas eliminadas lógicamente.
+ * Las tareas eliminadas hace más que {@code tasks.compaction.retention} se buscan en el índice de eliminadas
+ * del repositorio, de la más antigua a la más reciente y por tandas, y se eliminan físicamente una a una con
+ * {@link TaskRepository#purge(String, long)}. Cada eliminación bloquea solo su tarea, igual que una escritura,
+ * por lo que los escritores nunca esperan a la compactación completa.
+ * Publica las tareas compactadas y los bytes liberados como tasks.compaction.purged y tasks.compaction.reclaimed;
+ * las eliminadas pendientes se publican en tasks.store.deleted. En el almacén fuera del heap los bytes liberados
+ * son solo los de las columnas: los textos de la tarea quedan en tasks.store.offheap.unreclaimed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tasks.compaction", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TaskTombstoneCompactor {
+    private final TaskRepository taskRepository;
+    private final TaskCompactionProperties properties;
+    private final Counter purgedTasks;
+    private final Counter reclaimedBytes;
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    /**
+     * Constructor del compactador.
+     * @param taskRepository El repositorio de tareas.
+     * @param properties Propiedades de la compactación.
+     * @param registry Registro de métricas de la aplicación.
+     */
+    public TaskTombstoneCompactor(TaskRepository taskRepository, TaskCompactionProperties properties, MeterRegistry registry) {
+        this.taskRepository = taskRepository;
+        this.properties = properties;
+        this.purgedTasks = Counter.builder("tasks.compaction.purged")
+                .description("Tareas eliminadas lógicamente que la compactación eliminó físicamente")
+                .register(registry);
+        this.reclaimedBytes = Counter.builder("tasks.compaction.reclaimed")
+                .description("Memoria liberada por la compactación de tareas eliminadas")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Ejecuta la compactación programada.
+     */
+    @Scheduled(initialDelayString = "${tasks.compaction.interval:PT10M}",
+            fixedDelayString = "${tasks.compaction.interval:PT10M}")
+    public void compactScheduled() {
+        compact();
+    }
+
+    /**
+     * Elimina físicamente las tareas eliminadas antes del período de retención.
+     * Si ya hay una compactación en curso, retorna sin hacer nada.
+     * @return El número de tareas compactadas.
+     */
+    public long compact() {
+        if (!compactionLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+            long purged = 0;
+            long bytes = 0;
+            while (true) {
+                List<Task> batch = taskRepository.findDeletedBefore(cutoff, properties.getBatchSize());
+                long purgedInBatch = 0;
+                for (Task task : batch) {
+                    long released = taskRepository.purge(task.getId(), task.getVersion());
+                    if (released >= 0) {
+                        purgedInBatch++;
+                        bytes += released;
+                    }
+                }
+                purged += purgedInBatch;
+                // Las tareas que no se compactaron fueron modificadas y ya no están en el rango; sin avance no se reintenta
+                if (batch.size() < properties.getBatchSize() || purgedInBatch == 0) {
+                    break;
+                }
+            }
+            purgedTasks.increment(purged);
+            reclaimedBytes.increment(bytes);
+            if (purged > 0) {
+                log.info("Compactadas {} tareas eliminadas antes de {} ({} bytes liberados) en {} ms", purged, cutoff, bytes,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            }
+            return purged;
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.insightflow.tasks_service.service;
+
+import com.insightflow.tasks_service.config.TaskChangeProperties;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskChangeListener;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular con los últimos cambios de tareas, numerados con una secuencia creciente.
+ * El repositorio publica cada escritura sin bloquear: toma la siguiente secuencia y reemplaza la posición
+ * correspondiente del buffer, aunque algún suscriptor no la haya leído. Cada suscriptor lleva su propio cursor,
+ * de modo que un consumidor lento solo se atrasa a sí mismo y, si el buffer da la vuelta, detecta el hueco.
+ */
+@Component
+public class TaskChangeFeed implements TaskChangeListener {
+    private final AtomicReferenceArray<TaskChange> buffer;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong(1);
+
+    /**
+     * Constructor del feed. Se conecta al repositorio como receptor de sus modificaciones.
+     * @param taskRepository El repositorio de tareas.
+     * @param properties Propiedades del feed de cambios.
+     */
+    public TaskChangeFeed(TaskRepository taskRepository, TaskChangeProperties properties) {
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getCapacity()) - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        taskRepository.attachChangeListener(this);
+    }
+
+    @Override
+    public void onChange(Task previous, Task current) {
+        long sequence = nextSequence.getAndIncrement();
+        buffer.set((int) (sequence & mask), new TaskChange(sequence, TaskChange.Type.of(previous, current), current,
+                previous != null ? previous.getDocumentId() : null,
+                previous != null ? previous.getAssignedUserId() : null));
+    }
+
+    /**
+     * Obtiene la secuencia del último cambio publicado.
+     * @return La secuencia, o 0 si todavía no hubo cambios.
+     */
+    public long lastSequence() {
+        return nextSequence.get() - 1;
+    }
+
+    /**
+     * Obtiene la secuencia más antigua que todavía puede leerse del buffer.
+     * @return La secuencia más antigua disponible.
+     */
+    public long oldestSequence() {
+        return Math.max(1, nextSequence.get() - buffer.length());
+    }
+
+    /**
+     * Obtiene el cambio con una secuencia.
+     * @param sequence La secuencia buscada.
+     * @return El cambio, o null si todavía no se publicó.
+     * @throws IllegalStateException Si el cambio ya fue reemplazado en el buffer.
+     */
+    public TaskChange get(long sequence) {
+        TaskChange change = buffer.get((int) (sequence & mask));
+        if (change == null || change.sequence() < sequence) {
+            if (sequence < oldestSequence()) {
+                throw new IllegalStateException("El cambio " + sequence + " ya no está disponible");
+            }
+            return null;
+        }
+        if (change.sequence() > sequence) {
+            throw new IllegalStateException("El cambio " + sequence + " ya no está disponible");
+        }
+        return change;
+    }
+
+    /**
+     * Cambio de una tarea publicado en el feed.
+     * @param sequence Secuencia del cambio.
+     * @param type Tipo de cambio.
+     * @param task La nueva versión de la tarea.
+     * @param previousDocumentId ID de documento de la versión anterior, o null si se creó.
+     * @param previousAssignedUserId ID de usuario asignado de la versión anterior, o null si se creó.
+     */
+    public record TaskChange(long sequence, Type type, Task task, String previousDocumentId, String previousAssignedUserId) {
+        /**
+         * Indica si el cambio afecta a un documento y a un usuario, antes o después de aplicarse,
+         * para que quien observa un documento también vea las tareas que salen de él.
+         * @param documentId ID de documento a observar, o null para cualquiera.
+         * @param assignedUserId ID de usuario a observar, o null para cualquiera.
+         * @return true si el cambio debe entregarse.
+         */
+        public boolean matches(String documentId, String assignedUserId) {
+            return (documentId == null || documentId.equals(task.getDocumentId()) || documentId.equals(previousDocumentId))
+                    && (assignedUserId == null || assignedUserId.equals(task.getAssignedUserId())
+                    || assignedUserId.equals(previousAssignedUserId));
+        }
+
+        /**
+         * Tipos de cambio.
+         */
+        public enum Type {
+            CREATED,
+            UPDATED,
+            DELETED;
+
+            static Type of(Task previous, Task current) {
+                if (previous == null) {
+                    return CREATED;
+                }
+                return current.isActive() ? UPDATED : DELETED;
+            }
+        }
+    }
+}
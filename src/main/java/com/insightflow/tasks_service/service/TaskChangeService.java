@@ -0,0 +1,201 @@
+package com.insightflow.tasks_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insightflow.tasks_service.config.TaskChangeProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskChangeEvent;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.service.TaskChangeFeed.TaskChange;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Servicio que entrega los cambios de tareas a los suscriptores mediante Server-Sent Events.
+ * Cada suscriptor se atiende en un hilo propio que recorre el {@link TaskChangeFeed} con su cursor,
+ * filtra los cambios y los escribe en su conexión; si no hay cambios nuevos espera el intervalo de sondeo.
+ * Las escrituras del repositorio nunca esperan a los suscriptores: uno lento solo acumula retraso
+ * y, si el buffer lo adelanta, recibe un evento reset y continúa desde el cambio más antiguo disponible.
+ */
+@Slf4j
+@Service
+public class TaskChangeService {
+    private final TaskChangeFeed feed;
+    private final TaskChangeProperties properties;
+    private final ObjectWriter writer;
+    private final Semaphore slots;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService executor;
+
+    /**
+     * Constructor del servicio de cambios.
+     * @param feed El buffer de cambios de tareas.
+     * @param properties Propiedades del feed de cambios.
+     * @param objectMapper El ObjectMapper de la aplicación, del que se deriva un escritor compacto.
+     */
+    public TaskChangeService(TaskChangeFeed feed, TaskChangeProperties properties, ObjectMapper objectMapper) {
+        this.feed = feed;
+        this.properties = properties;
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.slots = new Semaphore(properties.getMaxSubscribers());
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "task-changes-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Suscribe un cliente a los cambios de tareas.
+     * @param documentId ID de documento cuyos cambios se entregan, o null para todos.
+     * @param assignedUserId ID de usuario asignado cuyos cambios se entregan, o null para todos.
+     * @param since Secuencia del último cambio recibido por el cliente, o null para recibir solo los nuevos.
+     * @return El emisor de eventos de la suscripción.
+     * @throws ResponseStatusException Si se alcanzó el número máximo de suscriptores.
+     */
+    public SseEmitter subscribe(String documentId, String assignedUserId, Long since) {
+        if (!slots.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Se alcanzó el número máximo de suscriptores");
+        }
+        long cursor = since != null ? Math.max(0, Math.min(since, feed.lastSequence())) : feed.lastSequence();
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscription subscription = new Subscription(emitter, documentId, assignedUserId, cursor);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscribers.incrementAndGet();
+        try {
+            executor.execute(subscription);
+        } catch (RuntimeException e) {
+            subscribers.decrementAndGet();
+            slots.release();
+            throw e;
+        }
+        log.info("Nueva suscripción a cambios desde la secuencia {} (documento: {}, usuario: {})", cursor, documentId, assignedUserId);
+        return emitter;
+    }
+
+    /**
+     * Obtiene el número de suscriptores conectados.
+     * @return El número de suscriptores.
+     */
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * Detiene los hilos de los suscriptores al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Suscripción de un cliente, con su filtro y la secuencia del último cambio procesado.
+     */
+    private final class Subscription implements Runnable {
+        private final SseEmitter emitter;
+        private final String documentId;
+        private final String assignedUserId;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long cursor;
+
+        Subscription(SseEmitter emitter, String documentId, String assignedUserId, long cursor) {
+            this.emitter = emitter;
+            this.documentId = documentId;
+            this.assignedUserId = assignedUserId;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void run() {
+            long pollNanos = properties.getPollInterval().toNanos();
+            long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+            try {
+                emitter.send(SseEmitter.event().comment("secuencia " + cursor));
+                long lastWrite = System.nanoTime();
+                while (!closed.get() && !Thread.currentThread().isInterrupted()) {
+                    if (drain()) {
+                        lastWrite = System.nanoTime();
+                    } else if (System.nanoTime() - lastWrite >= heartbeatNanos) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        lastWrite = System.nanoTime();
+                    } else {
+                        LockSupport.parkNanos(pollNanos);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // El cliente se desconectó: se cierra la respuesta sin propagar el error a los manejadores de excepciones
+                log.debug("Suscripción a cambios cerrada: {}", e.getMessage());
+                emitter.complete();
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Entrega los cambios publicados después del cursor.
+         * @return true si se escribió algún evento en la conexión.
+         */
+        private boolean drain() throws IOException {
+            boolean written = false;
+            while (cursor < feed.lastSequence()) {
+                TaskChange change;
+                try {
+                    change = feed.get(cursor + 1);
+                } catch (IllegalStateException e) {
+                    long oldest = feed.oldestSequence();
+                    log.warn("Suscriptor atrasado: se omiten los cambios {} a {}", cursor + 1, oldest - 1);
+                    emitter.send(SseEmitter.event().name("reset").data(oldest - 1));
+                    cursor = oldest - 1;
+                    written = true;
+                    continue;
+                }
+                if (change == null) {
+                    break;
+                }
+                cursor = change.sequence();
+                if (change.matches(documentId, assignedUserId)) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name("task")
+                            .data(serialize(change)));
+                    written = true;
+                }
+            }
+            return written;
+        }
+
+        /**
+         * Serializa el evento como texto JSON compacto, que se escribe tal cual en la línea data del evento.
+         */
+        private String serialize(TaskChange change) throws IOException {
+            return writer.writeValueAsString(TaskChangeEvent.builder()
+                    .sequence(change.sequence())
+                    .type(change.type().name())
+                    .task(TaskResponse.fromEntity(change.task()))
+                    .build());
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.decrementAndGet();
+                slots.release();
+            }
+        }
+    }
+}
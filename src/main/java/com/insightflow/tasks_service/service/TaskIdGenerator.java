@@ -0,0 +1,51 @@
+package com.insightflow.tasks_service.service;
+
+import com.fasterxml.uuid.UUIDType;
+import com.fasterxml.uuid.impl.UUIDUtil;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera los IDs de las tareas como UUID versión 7 (RFC 9562): los primeros 48 bits son los milisegundos desde epoch,
+ * seguidos de un contador de 12 bits dentro del milisegundo y 62 bits aleatorios.
+ * Los IDs crecen con el orden de creación, también en su forma de texto (hexadecimal de ancho fijo), por lo que
+ * ordenar por ID equivale a ordenar por fecha de creación y las tareas creadas juntas quedan contiguas en los índices.
+ * A diferencia de {@link UUID#randomUUID()} y del generador de java-uuid-generator, no usa SecureRandom ni locks:
+ * el instante y el contador se reservan con una sola operación atómica, y la parte aleatoria sale de
+ * {@link ThreadLocalRandom}. Los IDs identifican tareas y no deben usarse como secretos.
+ */
+public final class TaskIdGenerator {
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * Último milisegundo y contador reservados, como milisegundos << 12 | contador.
+     */
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private TaskIdGenerator() {
+    }
+
+    /**
+     * Genera un nuevo ID de tarea.
+     * @return El ID en la forma de texto estándar de un UUID.
+     */
+    public static String nextId() {
+        return next().toString();
+    }
+
+    /**
+     * Genera un nuevo UUID ordenado por tiempo, mayor que todos los generados antes en el proceso.
+     * Si se generan más de 4096 IDs en el mismo milisegundo, o el reloj retrocede, el contador
+     * continúa en el milisegundo siguiente, como permite el RFC, para conservar el orden.
+     * @return El UUID.
+     */
+    public static UUID next() {
+        long stamp = LAST.accumulateAndGet(System.currentTimeMillis() << COUNTER_BITS,
+                (last, now) -> Math.max(last + 1, now));
+        long mostSignificant = ((stamp >>> COUNTER_BITS) << 16) | (stamp & COUNTER_MASK);
+        return UUIDUtil.constructUUID(UUIDType.TIME_BASED_EPOCH, mostSignificant, ThreadLocalRandom.current().nextLong());
+    }
+}
@@ -0,0 +1,287 @@
+package com.insightflow.tasks_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Caché acotada de los listados de tareas por documento y por usuario, guardados como bytes JSON ya serializados.
+ * Usa Caffeine (W-TinyLFU), que conserva los listados más leídos y desaloja por tamaño total en bytes.
+ * Cada entrada registra la versión de la colección con la que se construyó: solo se devuelve si la colección
+ * sigue en esa versión, por lo que una entrada calculada en paralelo con una escritura nunca queda vigente.
+ * En un acierto no se consulta el repositorio ni se construyen DTOs: el listado se escribe en la respuesta tal cual.
+ */
+@Slf4j
+@Component
+public class TaskResponseCache {
+    private static final TypeReference<List<TaskResponse>> TASK_LIST = new TypeReference<>() {
+    };
+
+    private final boolean enabled;
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+    private final Cache<Key, Entry> cache;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    /**
+     * Constructor de la caché.
+     * @param properties Propiedades de la caché.
+     * @param objectMapper El ObjectMapper de la aplicación, del que se derivan un escritor compacto y un lector.
+     */
+    public TaskResponseCache(TaskCacheProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Key key, Entry entry) -> entry.json().length)
+                .recordStats(() -> stats)
+                .build();
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.reader = objectMapper.readerFor(TASK_LIST);
+    }
+
+    /**
+     * Obtiene un listado de la caché o lo construye y lo guarda.
+     * La versión debe leerse antes de construir el listado, para que la entrada nunca sea más nueva que su contenido.
+     * @param collection El tipo de colección.
+     * @param id El ID del documento o del usuario.
+     * @param epoch Identificador del almacén.
+     * @param version Versión actual de la colección.
+     * @param loader Construye el listado cuando no está en la caché.
+     * @return El listado; en un acierto, una lista que se serializa copiando los bytes almacenados.
+     */
+    public List<TaskResponse> get(Collection collection, String id, long epoch, long version, Supplier<List<TaskResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(collection, id);
+        // asMap().get no registra estadísticas: una entrada de una versión anterior se cuenta como fallo
+        Entry entry = cache.asMap().get(key);
+        if (entry != null && entry.epoch() == epoch && entry.version() == version) {
+            stats.recordHits(1);
+            return new CachedTaskList(entry.json(), reader);
+        }
+        stats.recordMisses(1);
+        List<TaskResponse> tasks = loader.get();
+        try {
+            cache.put(key, new Entry(epoch, version, writer.writeValueAsBytes(tasks)));
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo guardar en caché el listado de {} {}: {}", collection, id, e.getMessage());
+        }
+        return tasks;
+    }
+
+    /**
+     * Descarta el listado de un documento o de un usuario.
+     * @param collection El tipo de colección.
+     * @param id El ID del documento o del usuario; se ignora si es null.
+     */
+    public void invalidate(Collection collection, String id) {
+        if (enabled && id != null) {
+            cache.invalidate(new Key(collection, id));
+        }
+    }
+
+    /**
+     * Obtiene la caché subyacente, para publicar sus estadísticas de aciertos, fallos y desalojos.
+     * @return La caché de Caffeine.
+     */
+    public Cache<?, ?> nativeCache() {
+        return cache;
+    }
+
+    /**
+     * Colecciones de tareas que se guardan en la caché.
+     */
+    public enum Collection {
+        DOCUMENT,
+        ASSIGNED_USER
+    }
+
+    private record Key(Collection collection, String id) {
+    }
+
+    /**
+     * Listado serializado y la versión de la colección con la que se construyó.
+     */
+    private record Entry(long epoch, long version, byte[] json) {
+    }
+
+    /**
+     * Listado de tareas respaldado por su JSON. Jackson lo escribe copiando los bytes, sin recorrer las tareas;
+     * si algún código accede a sus elementos, el JSON se decodifica una sola vez.
+     */
+    @JsonSerialize(using = CachedTaskListSerializer.class)
+    static final class CachedTaskList extends AbstractList<TaskResponse> {
+        private final byte[] json;
+        private final ObjectReader reader;
+        private volatile List<TaskResponse> decoded;
+
+        CachedTaskList(byte[] json, ObjectReader reader) {
+            this.json = json;
+            this.reader = reader;
+        }
+
+        @Override
+        public TaskResponse get(int index) {
+            return decoded().get(index);
+        }
+
+        @Override
+        public int size() {
+            return decoded().size();
+        }
+
+        private List<TaskResponse> decoded() {
+            List<TaskResponse> tasks = decoded;
+            if (tasks == null) {
+                try {
+                    tasks = reader.readValue(json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                decoded = tasks;
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Escribe un {@link CachedTaskList} como valor JSON sin procesar. En los formatos binarios (Smile),
+     * donde el JSON no es válido, escribe las tareas decodificadas.
+     */
+    public static final class CachedTaskListSerializer extends StdSerializer<CachedTaskList> {
+        public CachedTaskListSerializer() {
+            super(CachedTaskList.class);
+        }
+
+        @Override
+        public void serialize(CachedTaskList value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (generator instanceof JsonGeneratorImpl) {
+                generator.writeRawValue(new RawJson(value.json));
+            } else {
+                provider.defaultSerializeValue(value.decoded(), generator);
+            }
+        }
+    }
+
+    /**
+     * JSON ya codificado en UTF-8. El generador de bytes de Jackson lo copia directamente en su buffer;
+     * las variantes de texto o entre comillas, que no se usan al escribir un valor sin procesar, lo decodifican.
+     */
+    private static final class RawJson implements SerializableString {
+        private final byte[] utf8;
+        private SerializedString text;
+
+        RawJson(byte[] utf8) {
+            this.utf8 = utf8;
+        }
+
+        private SerializedString text() {
+            if (text == null) {
+                text = new SerializedString(new String(utf8, StandardCharsets.UTF_8));
+            }
+            return text;
+        }
+
+        @Override
+        public String getValue() {
+            return text().getValue();
+        }
+
+        @Override
+        public int charLength() {
+            return text().charLength();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return text().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return utf8;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return text().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return text().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return text().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + utf8.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+            return utf8.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return text().appendUnquoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return text().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+            return text().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) throws IOException {
+            if (utf8.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(utf8);
+            return utf8.length;
+        }
+    }
+}
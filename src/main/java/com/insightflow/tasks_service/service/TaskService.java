@@ -2,26 +2,84 @@ package com.insightflow.tasks_service.service;
 
 import com.insightflow.tasks_service.dto.TaskDTOs.*;
 import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.TaskDueKey;
+import com.insightflow.tasks_service.repository.TaskKey;
+import com.insightflow.tasks_service.repository.TaskQuery;
 import com.insightflow.tasks_service.repository.TaskRepository;
 import com.insightflow.tasks_service.exception.TaskNotFoundException;
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
+import com.insightflow.tasks_service.service.TaskResponseCache.Collection;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio para la gestión de tareas.
  * Implementa la lógica de negocio para crear, actualizar, obtener y eliminar tareas (CRUD).
+ * Cada método público se mide con un timer tasks.service etiquetado por método. El timer publica un histograma
+ * del que Prometheus calcula p50, p99 y p999 agregando todas las instancias.
+ * Los listados completos por documento y por usuario se sirven desde {@link TaskResponseCache};
+ * cada modificación descarta los listados del documento y del usuario de la tarea, antes y después del cambio.
  */
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "tasks.service", description = "Duración de las operaciones del servicio de tareas", histogram = true)
 public class TaskService {
+    /**
+     * Tamaño de página por defecto cuando se pagina sin indicar un límite.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    /**
+     * Tamaño de página máximo permitido.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+    /**
+     * Duración en horas del intervalo de vencimiento cuando no se indica su fin.
+     */
+    public static final int DEFAULT_DUE_WINDOW_HOURS = 24;
+    /**
+     * Campos de una tarea que se pueden pedir en una búsqueda con {@code fields}, con los mismos nombres que en {@link TaskResponse}.
+     */
+    private static final Map<String, Function<Task, Object>> TASK_FIELDS = Map.ofEntries(
+            Map.entry("id", Task::getId),
+            Map.entry("documentId", Task::getDocumentId),
+            Map.entry("title", Task::getTitle),
+            Map.entry("description", Task::getDescription),
+            Map.entry("status", Task::getStatus),
+            Map.entry("statusDisplayName", task -> task.getStatus().getDisplayName()),
+            Map.entry("assignedUserId", Task::getAssignedUserId),
+            Map.entry("priority", Task::getPriority),
+            Map.entry("priorityDisplayName", task -> task.getPriority().getDisplayName()),
+            Map.entry("dueDate", Task::getDueDate),
+            Map.entry("createdAt", Task::getCreatedAt),
+            Map.entry("updatedAt", Task::getUpdatedAt),
+            Map.entry("active", Task::isActive),
+            Map.entry("version", Task::getVersion));
+
     private final TaskRepository taskRepository;
+    private final Validator validator;
+    private final TaskResponseCache responseCache;
 
     /**
      * Crea una nueva tarea.
@@ -29,39 +87,162 @@ public class TaskService {
      * @return DTO con los datos de la tarea creada.
      */
     public TaskResponse createTask(CreateTaskRequest createTaskRequest) {
-        log.info("Creando una nueva tarea para el documento ID: {}", createTaskRequest.getDocumentId());
+        log.debug("Creando una nueva tarea para el documento ID: {}", createTaskRequest.getDocumentId());
+        Task savedTask = taskRepository.save(newTask(createTaskRequest, LocalDateTime.now()));
+        evict(savedTask);
+        log.debug("Tarea creada con ID: {}", savedTask.getId());
+        return TaskResponse.fromEntity(savedTask);
+    }
 
-        String priority = createTaskRequest.getPriority() != null ? createTaskRequest.getPriority().toUpperCase() : "MEDIUM";
+    /**
+     * Crea un lote de tareas en una sola pasada por el repositorio.
+     * Las tareas inválidas se informan en su posición del resultado sin impedir la creación de las demás.
+     * @param requests DTOs con los datos de cada tarea.
+     * @return El resultado de cada creación, en el mismo orden que las peticiones.
+     */
+    public BatchResponse createTasks(List<CreateTaskRequest> requests) {
+        log.debug("Creando un lote de {} tareas", requests.size());
+        LocalDateTime now = LocalDateTime.now();
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Task> tasks = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest request = requests.get(i);
+            try {
+                validate(request);
+                tasks.add(newTask(request, now));
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = failure(i, null, HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+        for (int i = 0; i < saved.size(); i++) {
+            int position = positions.get(i);
+            evict(saved.get(i));
+            results[position] = success(position, HttpStatus.CREATED, saved.get(i));
+        }
+        return toBatchResponse("Lote de creación", results);
+    }
 
-        Task task = Task.builder()
-                .id(UUID.randomUUID().toString())
-                .documentId(createTaskRequest.getDocumentId())
-                .title(createTaskRequest.getTitle())
-                .description(createTaskRequest.getDescription())
-                .status(createTaskRequest.getStatus())
-                .assignedUserId(createTaskRequest.getAssignedUserId())
-                .priority(priority)
-                .dueDate(createTaskRequest.getDueDate())
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .active(true)
-                .build();
-        Task savedTask = taskRepository.save(task);
-        log.info("Tarea creada con ID: {}", savedTask.getId());
-        return TaskResponse.fromEntity(savedTask);
+    /**
+     * Actualiza un lote de tareas en una sola pasada por el repositorio.
+     * Cada actualización admite la versión esperada, con la misma semántica que If-Match.
+     * Las actualizaciones sin versión esperada que entran en conflicto con otra operación se reintentan individualmente.
+     * @param items Las actualizaciones a aplicar.
+     * @return El resultado de cada actualización, en el mismo orden que las peticiones.
+     */
+    public BatchResponse updateTasks(List<BatchUpdateItem> items) {
+        log.debug("Actualizando un lote de {} tareas", items.size());
+        LocalDateTime now = LocalDateTime.now();
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<Task> tasks = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchUpdateItem item = items.get(i);
+            try {
+                validate(item);
+                UpdateTaskRequest changes = item.getChanges();
+                Task.TaskStatus status = changes.getStatus() != null ? parseStatus(changes.getStatus()) : null;
+                Task.TaskPriority priority = changes.getPriority() != null ? parsePriority(changes.getPriority()) : null;
+                Task current = findActive(item.getId());
+                checkVersion(current, item.getVersion());
+                evict(current);
+                tasks.add(applyChanges(current.toBuilder(), changes, status, priority)
+                        .updatedAt(now)
+                        .version(current.getVersion() + 1)
+                        .build());
+                positions.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = failure(i, item.getId(), HttpStatus.BAD_REQUEST, e.getMessage());
+            } catch (TaskNotFoundException e) {
+                results[i] = failure(i, item.getId(), HttpStatus.NOT_FOUND, e.getMessage());
+            } catch (TaskVersionConflictException e) {
+                results[i] = failure(i, item.getId(), HttpStatus.PRECONDITION_FAILED, e.getMessage());
+            }
+        }
+        List<Task> updated = taskRepository.updateAll(tasks);
+        for (int i = 0; i < updated.size(); i++) {
+            int position = positions.get(i);
+            if (updated.get(i) != null) {
+                evict(updated.get(i));
+            }
+            results[position] = updated.get(i) != null
+                    ? success(position, HttpStatus.OK, updated.get(i))
+                    : retryUpdate(position, items.get(position));
+        }
+        return toBatchResponse("Lote de actualización", results);
+    }
+
+    /**
+     * Elimina lógicamente un lote de tareas en una sola pasada por el repositorio.
+     * @param ids Los IDs de las tareas a eliminar.
+     * @return El resultado de cada eliminación, en el mismo orden que los IDs.
+     */
+    public BatchResponse deleteTasks(List<String> ids) {
+        log.debug("Eliminando un lote de {} tareas", ids.size());
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<String> valid = new ArrayList<>(ids.size());
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                results[i] = failure(i, id, HttpStatus.BAD_REQUEST, "El id no puede estar vacío");
+            } else {
+                valid.add(id);
+                positions.add(i);
+            }
+        }
+        List<Task> deleted = taskRepository.deleteAllById(valid);
+        for (int i = 0; i < deleted.size(); i++) {
+            int position = positions.get(i);
+            String id = valid.get(i);
+            if (deleted.get(i) != null) {
+                evict(deleted.get(i));
+            }
+            results[position] = deleted.get(i) != null
+                    ? BatchItemResult.builder().index(position).id(id).status(HttpStatus.OK.value()).build()
+                    : failure(position, id, HttpStatus.NOT_FOUND, "Tarea con ID " + id + " no encontrada");
+        }
+        return toBatchResponse("Lote de eliminación", results);
     }
 
     /**
      * Obtiene todas las tareas asociadas a un documento específico.
+     * El listado se sirve desde la caché mientras la colección del documento no cambie.
      * @param documentId El ID del documento.
      * @return Lista de tareas asociadas al documento.
      */
     public List<TaskResponse> getTasksByDocumentId(String documentId) {
-        log.info("Obteniendo tareas para el documento ID: {}", documentId);
-        List<Task> tasks = taskRepository.findByDocumentId(documentId);
-        return tasks.stream()
-                .map(TaskResponse::fromEntity)
-                .collect(Collectors.toList());
+        log.debug("Obteniendo tareas para el documento ID: {}", documentId);
+        return responseCache.get(Collection.DOCUMENT, documentId, taskRepository.epoch(),
+                taskRepository.versionByDocumentId(documentId),
+                () -> taskRepository.findByDocumentId(documentId).stream()
+                        .map(TaskResponse::fromEntity)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Obtiene una página de las tareas asociadas a un documento específico.
+     * @param documentId El ID del documento.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas de la página, o null para usar el valor por defecto.
+     * @return La página de tareas y el cursor de la siguiente.
+     */
+    public TaskPageResponse getTasksByDocumentId(String documentId, String cursor, Integer limit) {
+        log.debug("Obteniendo página de tareas para el documento ID: {}", documentId);
+        return toPage(cursor, limit, (after, size) -> taskRepository.findByDocumentId(documentId, after, size));
+    }
+
+    /**
+     * Recorre las tareas asociadas a un documento sin materializar la lista, para respuestas en streaming.
+     * Las tareas se leen del repositorio a medida que se consume el stream.
+     * @param documentId El ID del documento.
+     * @return Stream perezoso de las tareas asociadas al documento.
+     */
+    public Stream<TaskResponse> streamTasksByDocumentId(String documentId) {
+        log.debug("Transmitiendo tareas para el documento ID: {}", documentId);
+        return taskRepository.streamByDocumentId(documentId).map(TaskResponse::fromEntity);
     }
 
     /** 
@@ -71,36 +252,40 @@ public class TaskService {
      * @throws TaskNotFoundException Si la tarea no existe.
      */
     public TaskResponse getTaskById(String id) {
-        log.info("Obteniendo tarea con ID: {}", id);
-        Task task = taskRepository.findById(id)
-                .filter(Task::isActive)
-                .orElseThrow(() -> {
-                    log.error("Tarea con ID {} no encontrada", id);
-                    return new TaskNotFoundException("Tarea con ID " + id + " no encontrada");
-                });
-        log.info("Tarea con ID {} obtenida exitosamente", id);
+        Task task = findActive(id);
+        log.debug("Tarea con ID {} obtenida", id);
         return TaskResponse.fromEntity(task);
     }
 
+    /**
+     * Busca una tarea activa para las lecturas y modificaciones individuales.
+     * No crea un Optional ni registra los fallos: una tarea inexistente es un 404 esperado que
+     * el manejador de excepciones ya contabiliza, y bajo tráfico de escaneo no debe multiplicar el costo de la respuesta.
+     * @param id El ID de la tarea.
+     * @return La tarea activa.
+     * @throws TaskNotFoundException Si la tarea no existe o fue eliminada.
+     */
+    private Task findActive(String id) {
+        Task task = taskRepository.findActiveById(id);
+        if (task == null) {
+            throw TaskNotFoundException.forId(id);
+        }
+        return task;
+    }
+
     /**
      * Actualiza el estado de una tarea existente.
      * @param id El ID de la tarea a actualizar.
      * @param request DTO con el nuevo estado de la tarea.
+     * @param expectedVersion Versión que el cliente espera modificar (If-Match), o null para no verificarla.
      * @return DTO con los datos de la tarea actualizada.
      * @throws TaskNotFoundException Si la tarea no existe.
+     * @throws TaskVersionConflictException Si la versión esperada no coincide con la actual.
      */
-    public TaskResponse updateTaskStatus(String id, UpdateTaskStatusRequest request) {
-        log.info("Actualizando estado de la tarea con ID: {}", id);
-        Task task = taskRepository.findById(id)
-                .filter(Task::isActive)
-                .orElseThrow(() -> {
-                    log.error("Tarea con ID {} no encontrada para actualización", id);
-                    return new TaskNotFoundException("Tarea con ID " + id + " no encontrada");
-                });
-        task.setStatus(request.getStatus());
-        task.setUpdatedAt(LocalDateTime.now());
-        Task updatedTask = taskRepository.update(task);
-        log.info("Estado de la tarea con ID {} actualizado a {}", id, request.getStatus());
+    public TaskResponse updateTaskStatus(String id, UpdateTaskStatusRequest request, Long expectedVersion) {
+        Task.TaskStatus status = parseStatus(request.getStatus());
+        Task updatedTask = applyUpdate(id, expectedVersion, builder -> builder.status(status));
+        log.debug("Estado de la tarea con ID {} actualizado a {}", id, status);
         return TaskResponse.fromEntity(updatedTask);
     }
 
@@ -108,56 +293,222 @@ public class TaskService {
      * Actualiza los detalles de una tarea existente.
      * @param id El ID de la tarea a actualizar.
      * @param request DTO con los nuevos datos de la tarea.
+     * @param expectedVersion Versión que el cliente espera modificar (If-Match), o null para no verificarla.
      * @return DTO con los datos de la tarea actualizada.
+     * @throws TaskNotFoundException Si la tarea no existe.
+     * @throws TaskVersionConflictException Si la versión esperada no coincide con la actual.
      */
 
-    public TaskResponse updateTask(String id, UpdateTaskRequest request) {
-        log.info("Actualizando tarea con ID: {}", id);
-        Task task = taskRepository.findById(id)
-                .filter(Task::isActive)
-                .orElseThrow(() -> {
-                    log.error("Tarea con ID {} no encontrada para actualización", id);
-                    return new TaskNotFoundException("Tarea con ID " + id + " no encontrada");
-                });
+    public TaskResponse updateTask(String id, UpdateTaskRequest request, Long expectedVersion) {
+        Task.TaskStatus status = request.getStatus() != null ? parseStatus(request.getStatus()) : null;
+        Task.TaskPriority priority = request.getPriority() != null ? parsePriority(request.getPriority()) : null;
+        Task updatedTask = applyUpdate(id, expectedVersion, builder -> applyChanges(builder, request, status, priority));
+        log.debug("Tarea con ID {} actualizada", id);
+        return TaskResponse.fromEntity(updatedTask);
+    }
 
+    /**
+     * Aplica una modificación sobre una copia de la tarea y la guarda como una nueva versión.
+     * La lectura, la verificación de la versión esperada y la escritura son una sola operación atómica del repositorio,
+     * que serializa las modificaciones de la misma tarea sin bloquear las de otras: dos modificaciones concurrentes
+     * se aplican una después de la otra, cada una sobre la versión que dejó la anterior.
+     * @param id El ID de la tarea.
+     * @param expectedVersion Versión esperada por el cliente, o null para no verificarla.
+     * @param changes Cambios a aplicar sobre el builder de la versión actual.
+     * @return La nueva versión de la tarea.
+     * @throws TaskNotFoundException Si la tarea no existe.
+     * @throws TaskVersionConflictException Si la versión esperada no coincide con la actual.
+     */
+    private Task applyUpdate(String id, Long expectedVersion, UnaryOperator<Task.TaskBuilder> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        Task[] previous = new Task[1];
+        Task stored = taskRepository.computeIfActive(id, current -> {
+            checkVersion(current, expectedVersion);
+            previous[0] = current;
+            return changes.apply(current.toBuilder())
+                    .updatedAt(now)
+                    .version(current.getVersion() + 1)
+                    .build();
+        });
+        if (stored == null) {
+            throw TaskNotFoundException.forId(id);
+        }
+        evict(previous[0]);
+        evict(stored);
+        return stored;
+    }
+
+    /**
+     * Descarta de la caché los listados del documento y del usuario de una versión de la tarea.
+     * @param task La versión de la tarea.
+     */
+    private void evict(Task task) {
+        responseCache.invalidate(Collection.DOCUMENT, task.getDocumentId());
+        responseCache.invalidate(Collection.ASSIGNED_USER, task.getAssignedUserId());
+    }
+
+    /**
+     * Verifica que la tarea esté en la versión esperada por el cliente.
+     * @param current La versión actual de la tarea.
+     * @param expectedVersion Versión esperada por el cliente, o null para no verificarla.
+     * @throws TaskVersionConflictException Si la versión esperada no coincide con la actual.
+     */
+    private static void checkVersion(Task current, Long expectedVersion) {
+        if (expectedVersion != null && current.getVersion() != expectedVersion) {
+            throw new TaskVersionConflictException("La tarea con ID " + current.getId() + " está en la versión "
+                    + current.getVersion() + " y no en la versión " + expectedVersion);
+        }
+    }
+
+    /**
+     * Construye una tarea nueva a partir de la petición de creación.
+     * @param request DTO con los datos de la tarea.
+     * @param now Fecha de creación de la tarea.
+     * @return La tarea, aún sin guardar.
+     * @throws IllegalArgumentException Si el estado o la prioridad no son válidos.
+     */
+    private static Task newTask(CreateTaskRequest request, LocalDateTime now) {
+        Task.TaskPriority priority = request.getPriority() != null
+                ? parsePriority(request.getPriority())
+                : Task.TaskPriority.MEDIUM;
+        return Task.builder()
+                .id(TaskIdGenerator.nextId())
+                .documentId(request.getDocumentId())
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .status(parseStatus(request.getStatus()))
+                .assignedUserId(request.getAssignedUserId())
+                .priority(priority)
+                .dueDate(request.getDueDate())
+                .createdAt(now)
+                .updatedAt(now)
+                .active(true)
+                .build();
+    }
+
+    /**
+     * Copia en el builder los campos informados en la petición de actualización.
+     * @param builder Builder de la versión actual de la tarea.
+     * @param request DTO con los nuevos datos de la tarea.
+     * @param status El nuevo estado ya convertido, o null si no cambia.
+     * @param priority La nueva prioridad ya convertida, o null si no cambia.
+     * @return El mismo builder.
+     */
+    private static Task.TaskBuilder applyChanges(Task.TaskBuilder builder, UpdateTaskRequest request,
+                                                 Task.TaskStatus status, Task.TaskPriority priority) {
         if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
+            builder.title(request.getTitle());
         }
         if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
+            builder.description(request.getDescription());
         }
-        if (request.getStatus() != null) {
-            task.setStatus(request.getStatus());
+        if (status != null) {
+            builder.status(status);
         }
         if (request.getAssignedUserId() != null) {
-            task.setAssignedUserId(request.getAssignedUserId());
+            builder.assignedUserId(request.getAssignedUserId());
         }
-        if (request.getPriority() != null) {
-            task.setPriority(request.getPriority().toUpperCase());
+        if (priority != null) {
+            builder.priority(priority);
         }
         if (request.getDueDate() != null) {
-            task.setDueDate(request.getDueDate());
+            builder.dueDate(request.getDueDate());
         }
-        task.setUpdatedAt(LocalDateTime.now());
-        Task updatedTask = taskRepository.update(task);
-        log.info("Tarea con ID {} actualizada exitosamente", id);
-        return TaskResponse.fromEntity(updatedTask);
+        return builder;
     }
+
+    /**
+     * Vuelve a aplicar individualmente una actualización del lote que entró en conflicto con otra operación.
+     * Si el cliente indicó la versión esperada el conflicto se informa sin reintentar.
+     * @param index Posición de la actualización en el lote.
+     * @param item La actualización.
+     * @return El resultado de la actualización.
+     */
+    private BatchItemResult retryUpdate(int index, BatchUpdateItem item) {
+        if (item.getVersion() != null) {
+            return failure(index, item.getId(), HttpStatus.PRECONDITION_FAILED,
+                    "La tarea con ID " + item.getId() + " fue modificada por otra operación");
+        }
+        try {
+            UpdateTaskRequest changes = item.getChanges();
+            Task.TaskStatus status = changes.getStatus() != null ? parseStatus(changes.getStatus()) : null;
+            Task.TaskPriority priority = changes.getPriority() != null ? parsePriority(changes.getPriority()) : null;
+            Task updated = applyUpdate(item.getId(), null, builder -> applyChanges(builder, changes, status, priority));
+            return success(index, HttpStatus.OK, updated);
+        } catch (TaskNotFoundException e) {
+            return failure(index, item.getId(), HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Valida un elemento de un lote con las mismas restricciones que su petición individual.
+     * @param item El elemento a validar.
+     * @throws IllegalArgumentException Si el elemento no cumple alguna restricción.
+     */
+    private void validate(Object item) {
+        if (item == null) {
+            throw new IllegalArgumentException("El elemento no puede estar vacío");
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static BatchItemResult success(int index, HttpStatus status, Task task) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(task.getId())
+                .status(status.value())
+                .task(TaskResponse.fromEntity(task))
+                .build();
+    }
+
+    private static BatchItemResult failure(int index, String id, HttpStatus status, String error) {
+        return BatchItemResult.builder()
+                .index(index)
+                .id(id)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+
+    private static BatchResponse toBatchResponse(String operation, BatchItemResult[] results) {
+        int succeeded = 0;
+        for (BatchItemResult result : results) {
+            if (result.getError() == null) {
+                succeeded++;
+            }
+        }
+        log.debug("{} procesado: {} correctas, {} con error", operation, succeeded, results.length - succeeded);
+        return BatchResponse.builder()
+                .results(List.of(results))
+                .succeeded(succeeded)
+                .failed(results.length - succeeded)
+                .build();
+    }
+
     /**
      * Elimina lógicamente una tarea por su ID.
+     * La verificación y la eliminación son una sola operación atómica: de dos eliminaciones concurrentes solo una tiene éxito.
      * @param id El ID de la tarea a eliminar.
      * @throws TaskNotFoundException Si la tarea no existe.
      */
     public void deleteTask(String id) {
-        log.info("Eliminando tarea con ID: {}", id);
-        Task task = taskRepository.findById(id)
-                .filter(Task::isActive)
-                .orElseThrow(() -> {
-                    log.error("Tarea con ID {} no encontrada para eliminación", id);
-                    return new TaskNotFoundException("Tarea con ID " + id + " no encontrada");
-                });
-        taskRepository.deleteById(id);
-        log.info("Tarea con ID {} eliminada exitosamente", id);
+        LocalDateTime now = LocalDateTime.now();
+        Task deleted = taskRepository.computeIfActive(id, current -> current.toBuilder()
+                .active(false)
+                .updatedAt(now)
+                .version(current.getVersion() + 1)
+                .build());
+        if (deleted == null) {
+            throw TaskNotFoundException.forId(id);
+        }
+        evict(deleted);
+        log.debug("Tarea con ID {} eliminada", id);
     }
 
     /**
@@ -165,24 +516,393 @@ public class TaskService {
      * @return Lista de todas las tareas.
      */
     public List<TaskResponse> getAllTasks() {
-        log.info("Obteniendo todas las tareas");
+        log.debug("Obteniendo todas las tareas");
         List<Task> tasks = taskRepository.findAll();
         return tasks.stream()
                 .map(TaskResponse::fromEntity)
                 .collect(Collectors.toList());
     }
+    /**
+     * Obtiene una página de todas las tareas.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas de la página, o null para usar el valor por defecto.
+     * @return La página de tareas y el cursor de la siguiente.
+     */
+    public TaskPageResponse getAllTasks(String cursor, Integer limit) {
+        log.debug("Obteniendo página de todas las tareas");
+        return toPage(cursor, limit, taskRepository::findAll);
+    }
+
+    /**
+     * Recorre todas las tareas sin materializar la lista, para respuestas en streaming.
+     * @return Stream perezoso de todas las tareas.
+     */
+    public Stream<TaskResponse> streamAllTasks() {
+        log.debug("Transmitiendo todas las tareas");
+        return taskRepository.streamAll().map(TaskResponse::fromEntity);
+    }
+
     /**
      * Obtiene todas las tareas asignadas a un usuario específico.
+     * El listado se sirve desde la caché mientras la colección del usuario no cambie.
      * @param assignedUserId El ID del usuario asignado.
      * @return Lista de tareas asignadas al usuario.
      */
 
     public List<TaskResponse> getTasksByAssignedUserId(String assignedUserId) {
-        log.info("Obteniendo tareas para el usuario asignado ID: {}", assignedUserId);
-        List<Task> tasks = taskRepository.findByAssignedUserId(assignedUserId);
-        return tasks.stream()
-                .map(TaskResponse::fromEntity)
-                .collect(Collectors.toList());
+        log.debug("Obteniendo tareas para el usuario asignado ID: {}", assignedUserId);
+        return responseCache.get(Collection.ASSIGNED_USER, assignedUserId, taskRepository.epoch(),
+                taskRepository.versionByAssignedUserId(assignedUserId),
+                () -> taskRepository.findByAssignedUserId(assignedUserId).stream()
+                        .map(TaskResponse::fromEntity)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Obtiene una página de las tareas asignadas a un usuario específico.
+     * @param assignedUserId El ID del usuario asignado.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas de la página, o null para usar el valor por defecto.
+     * @return La página de tareas y el cursor de la siguiente.
+     */
+    public TaskPageResponse getTasksByAssignedUserId(String assignedUserId, String cursor, Integer limit) {
+        log.debug("Obteniendo página de tareas para el usuario asignado ID: {}", assignedUserId);
+        return toPage(cursor, limit, (after, size) -> taskRepository.findByAssignedUserId(assignedUserId, after, size));
+    }
+
+    /**
+     * Recorre las tareas asignadas a un usuario sin materializar la lista, para respuestas en streaming.
+     * @param assignedUserId El ID del usuario asignado.
+     * @return Stream perezoso de las tareas asignadas al usuario.
+     */
+    public Stream<TaskResponse> streamTasksByAssignedUserId(String assignedUserId) {
+        log.debug("Transmitiendo tareas para el usuario asignado ID: {}", assignedUserId);
+        return taskRepository.streamByAssignedUserId(assignedUserId).map(TaskResponse::fromEntity);
+    }
+
+    /**
+     * Busca tareas activas combinando filtros por documento, usuario, estado, prioridad y rango de vencimiento.
+     * El repositorio parte del índice más selectivo entre los criterios indexados. Con el orden por defecto
+     * (creación descendente) la búsqueda se detiene al completar la página y devuelve un cursor; con otro orden
+     * se recorren todas las coincidencias conservando solo las {@code limit} primeras y no se admite cursor.
+     * @param request Criterios, orden, campos y paginación de la búsqueda.
+     * @return Las tareas encontradas, completas o con solo los campos pedidos.
+     * @throws IllegalArgumentException Si algún criterio, clave de ordenamiento, campo o cursor no es válido.
+     */
+    public TaskQueryResponse queryTasks(TaskQueryRequest request) {
+        log.debug("Buscando tareas con los criterios {}", request);
+        int size = pageSize(request.getLimit());
+        if (request.getDueFrom() != null && request.getDueTo() != null && !request.getDueFrom().isBefore(request.getDueTo())) {
+            throw new IllegalArgumentException("dueFrom debe ser anterior a dueTo");
+        }
+        TaskQuery query = new TaskQuery(
+                blankToNull(request.getDocumentId()),
+                blankToNull(request.getAssignedUserId()),
+                blankToNull(request.getStatus()) != null ? parseStatus(request.getStatus()) : null,
+                blankToNull(request.getPriority()) != null ? parsePriority(request.getPriority()) : null,
+                request.getDueFrom(),
+                request.getDueTo());
+        Comparator<Task> order = parseSort(request.getSort());
+        List<String> fields = parseFields(request.getFields());
+        String cursor = blankToNull(request.getCursor());
+
+        List<Task> page;
+        String nextCursor = null;
+        if (order == null) {
+            List<Task> tasks;
+            try (Stream<Task> matches = taskRepository.query(query, cursor != null ? TaskKey.decode(cursor) : null)) {
+                tasks = matches.limit(size + 1L).collect(Collectors.toList());
+            }
+            boolean hasMore = tasks.size() > size;
+            page = hasMore ? tasks.subList(0, size) : tasks;
+            nextCursor = hasMore ? TaskKey.of(page.get(page.size() - 1)).encode() : null;
+        } else {
+            if (cursor != null) {
+                throw new IllegalArgumentException("El cursor solo se admite con el orden por defecto (-createdAt)");
+            }
+            try (Stream<Task> matches = taskRepository.query(query, null)) {
+                page = firstSorted(matches, order.thenComparing(TaskKey::of), size);
+            }
+        }
+        return TaskQueryResponse.builder()
+                .tasks(fields == null
+                        ? page.stream().map(TaskResponse::fromEntity).collect(Collectors.toList())
+                        : page.stream().map(task -> project(task, fields)).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Las {@code size} primeras tareas según {@code order} sin ordenar todas las coincidencias:
+     * un montículo acotado guarda las mejores vistas hasta el momento, con la peor en la cima.
+     * El desempate por {@link TaskKey} mantiene el orden estable de {@code sorted()} sobre el orden por defecto.
+     */
+    private static List<Task> firstSorted(Stream<Task> matches, Comparator<Task> order, int size) {
+        PriorityQueue<Task> best = new PriorityQueue<>(size + 1, order.reversed());
+        matches.forEach(task -> {
+            if (best.size() < size) {
+                best.add(task);
+            } else if (order.compare(task, best.peek()) < 0) {
+                best.poll();
+                best.add(task);
+            }
+        });
+        List<Task> page = new ArrayList<>(best);
+        page.sort(order);
+        return page;
+    }
+
+    /**
+     * Obtiene una página de las tareas sin completar que vencen en un intervalo, de la que vence antes a la que vence después.
+     * @param from Inicio del intervalo (inclusivo), o null para el momento actual.
+     * @param to Fin del intervalo (exclusivo), o null para 24 horas después del inicio.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas de la página, o null para usar el valor por defecto.
+     * @return La página de tareas y el cursor de la siguiente.
+     * @throws IllegalArgumentException Si el intervalo, el cursor o el límite no son válidos.
+     */
+    public TaskPageResponse getTasksDueBetween(LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusHours(DEFAULT_DUE_WINDOW_HOURS);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from debe ser anterior a to");
+        }
+        log.debug("Obteniendo tareas que vencen entre {} y {}", start, end);
+        return toDuePage(start, end, cursor, limit);
     }
 
-}
\ No newline at end of file
+    /**
+     * Obtiene una página de las tareas vencidas: activas, sin completar y con fecha de vencimiento anterior al momento actual,
+     * de la más atrasada a la más reciente.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página.
+     * @param limit Número máximo de tareas de la página, o null para usar el valor por defecto.
+     * @return La página de tareas y el cursor de la siguiente.
+     */
+    public TaskPageResponse getOverdueTasks(String cursor, Integer limit) {
+        log.debug("Obteniendo tareas vencidas");
+        return toDuePage(null, LocalDateTime.now(), cursor, limit);
+    }
+
+    /**
+     * Obtiene los contadores de tareas activas sin recorrer el almacén.
+     * @param documentId ID de documento cuyo contador se incluye, o null.
+     * @param assignedUserId ID de usuario cuyo contador se incluye, o null.
+     * @return DTO con los contadores solicitados.
+     */
+    public TaskStatsResponse getStats(String documentId, String assignedUserId) {
+        Map<Task.TaskStatus, Long> tasksByStatus = new EnumMap<>(Task.TaskStatus.class);
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            tasksByStatus.put(status, taskRepository.countByStatus(status));
+        }
+        return TaskStatsResponse.builder()
+                .activeTasks(taskRepository.count())
+                .tasksByStatus(tasksByStatus)
+                .documentId(documentId)
+                .documentTasks(documentId != null ? taskRepository.countByDocumentId(documentId) : null)
+                .assignedUserId(assignedUserId)
+                .assignedUserTasks(assignedUserId != null ? taskRepository.countByAssignedUserId(assignedUserId) : null)
+                .build();
+    }
+
+    /**
+     * Obtiene el ETag del listado de todas las tareas a partir de la versión de la colección, sin recorrerla.
+     * @return El ETag, sin comillas.
+     */
+    public String getAllTasksETag() {
+        return collectionETag(taskRepository.version());
+    }
+
+    /**
+     * Obtiene el ETag del listado de tareas de un documento a partir de la versión de su colección, sin recorrerla.
+     * @param documentId El ID del documento.
+     * @return El ETag, sin comillas.
+     */
+    public String getTasksByDocumentIdETag(String documentId) {
+        return collectionETag(taskRepository.versionByDocumentId(documentId));
+    }
+
+    /**
+     * Obtiene el ETag del listado de tareas de un usuario a partir de la versión de su colección, sin recorrerla.
+     * @param assignedUserId El ID del usuario asignado.
+     * @return El ETag, sin comillas.
+     */
+    public String getTasksByAssignedUserIdETag(String assignedUserId) {
+        return collectionETag(taskRepository.versionByAssignedUserId(assignedUserId));
+    }
+
+    /**
+     * Construye el ETag de una colección con el identificador del almacén y la versión de la colección,
+     * de modo que no se repita tras un reinicio ni entre instancias.
+     * @param version La versión de la colección.
+     * @return El ETag, sin comillas.
+     */
+    private String collectionETag(long version) {
+        return Long.toHexString(taskRepository.epoch()) + "-" + version;
+    }
+
+    /**
+     * Ejecuta una consulta paginada por cursor.
+     * Se solicita una tarea adicional para saber si existe una página siguiente.
+     * @param cursor Cursor de la página anterior, o null para la primera página.
+     * @param limit Tamaño de página solicitado, o null para el valor por defecto.
+     * @param query Consulta del repositorio que recibe la clave de inicio y el número de tareas.
+     * @return La página de tareas.
+     * @throws IllegalArgumentException Si el cursor o el límite no son válidos.
+     */
+    private TaskPageResponse toPage(String cursor, Integer limit, BiFunction<TaskKey, Integer, List<Task>> query) {
+        int size = pageSize(limit);
+        TaskKey after = cursor != null && !cursor.isBlank() ? TaskKey.decode(cursor) : null;
+        List<Task> tasks = query.apply(after, size + 1);
+        boolean hasMore = tasks.size() > size;
+        List<Task> page = hasMore ? tasks.subList(0, size) : tasks;
+        return TaskPageResponse.builder()
+                .tasks(page.stream()
+                        .map(TaskResponse::fromEntity)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? TaskKey.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Ejecuta una consulta paginada sobre el índice por fecha de vencimiento.
+     * @param from Inicio del intervalo (inclusivo), o null para no acotarlo.
+     * @param to Fin del intervalo (exclusivo).
+     * @param cursor Cursor de la página anterior, o null para la primera página.
+     * @param limit Tamaño de página solicitado, o null para el valor por defecto.
+     * @return La página de tareas.
+     * @throws IllegalArgumentException Si el cursor o el límite no son válidos.
+     */
+    private TaskPageResponse toDuePage(LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        TaskDueKey after = cursor != null && !cursor.isBlank() ? TaskDueKey.decode(cursor) : null;
+        List<Task> tasks = taskRepository.findOpenByDueDate(from, to, after, size + 1);
+        boolean hasMore = tasks.size() > size;
+        List<Task> page = hasMore ? tasks.subList(0, size) : tasks;
+        return TaskPageResponse.builder()
+                .tasks(page.stream()
+                        .map(TaskResponse::fromEntity)
+                        .collect(Collectors.toList()))
+                .nextCursor(hasMore ? TaskDueKey.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Valida el tamaño de página solicitado.
+     * @param limit Tamaño de página solicitado, o null para el valor por defecto.
+     * @return El tamaño de página.
+     * @throws IllegalArgumentException Si el límite está fuera de rango.
+     */
+    private static int pageSize(Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Convierte las claves de ordenamiento de una búsqueda, por ejemplo {@code priority,-dueDate}, en un comparador.
+     * Los valores nulos quedan al final en ambos sentidos y los empates conservan el orden de creación descendente.
+     * @param sort Claves separadas por comas; el prefijo - indica orden descendente.
+     * @return El comparador, o null si el orden es el del índice (creación descendente).
+     * @throws IllegalArgumentException Si alguna clave no existe.
+     */
+    private static Comparator<Task> parseSort(String sort) {
+        if (sort == null || sort.isBlank() || sort.trim().equals("-createdAt")) {
+            return null;
+        }
+        Comparator<Task> order = null;
+        for (String key : sort.split(",")) {
+            String field = key.trim();
+            boolean descending = field.startsWith("-");
+            if (descending) {
+                field = field.substring(1);
+            }
+            Comparator<Task> next = switch (field) {
+                case "createdAt" -> sortKey(Task::getCreatedAt, descending);
+                case "updatedAt" -> sortKey(Task::getUpdatedAt, descending);
+                case "dueDate" -> sortKey(Task::getDueDate, descending);
+                case "priority" -> sortKey(Task::getPriority, descending);
+                case "status" -> sortKey(Task::getStatus, descending);
+                case "title" -> sortKey(Task::getTitle, descending);
+                default -> throw new IllegalArgumentException("Clave de ordenamiento inválida: " + key.trim());
+            };
+            order = order == null ? next : order.thenComparing(next);
+        }
+        return order;
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<Task> sortKey(Function<Task, T> key, boolean descending) {
+        return Comparator.comparing(key, Comparator.nullsLast(descending ? Comparator.<T>reverseOrder() : Comparator.<T>naturalOrder()));
+    }
+
+    /**
+     * Convierte la lista de campos de una búsqueda, por ejemplo {@code id,title,status}, validando cada uno.
+     * @param fields Campos separados por comas.
+     * @return Los campos sin repetir en el orden pedido, o null si se piden todos.
+     * @throws IllegalArgumentException Si algún campo no existe.
+     */
+    private static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!TASK_FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("Campo inválido: " + name);
+            }
+            names.add(name);
+        }
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * Construye la vista parcial de una tarea con los campos pedidos, omitiendo los nulos como en {@link TaskResponse}.
+     * @param task La tarea.
+     * @param fields Los campos, ya validados.
+     * @return Los campos y sus valores, en el orden pedido.
+     */
+    private static Map<String, Object> project(Task task, List<String> fields) {
+        Map<String, Object> projection = new LinkedHashMap<>(fields.size() * 2);
+        for (String field : fields) {
+            Object value = TASK_FIELDS.get(field).apply(task);
+            if (value != null) {
+                projection.put(field, value);
+            }
+        }
+        return projection;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Convierte el estado recibido en una petición a su constante, sin distinguir mayúsculas.
+     * @param status El estado recibido.
+     * @return La constante del estado.
+     * @throws IllegalArgumentException Si el estado no existe.
+     */
+    private static Task.TaskStatus parseStatus(String status) {
+        try {
+            return Task.TaskStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado inválido: " + status, e);
+        }
+    }
+
+    /**
+     * Convierte la prioridad recibida en una petición a su constante, sin distinguir mayúsculas.
+     * @param priority La prioridad recibida.
+     * @return La constante de la prioridad.
+     * @throws IllegalArgumentException Si la prioridad no existe.
+     */
+    private static Task.TaskPriority parsePriority(String priority) {
+        try {
+            return Task.TaskPriority.valueOf(priority.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Prioridad inválida: " + priority, e);
+        }
+    }
+}
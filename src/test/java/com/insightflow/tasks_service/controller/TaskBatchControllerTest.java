@@ -0,0 +1,136 @@
+package com.insightflow.tasks_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.insightflow.tasks_service.dto.TaskDTOs.MAX_BATCH_SIZE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lotes con resultados mixtos: cada posición informa su propio código y el lote responde 200.
+ */
+@SpringBootTest(properties = {"tasks.seed.enabled=false", "tasks.compaction.enabled=false"})
+@AutoConfigureMockMvc
+class TaskBatchControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String documentId = "doc-" + UUID.randomUUID();
+
+    private String createTaskJson(String title) {
+        return """
+                {"documentId": "%s", "title": "%s", "status": "PENDING", "assignedUserId": "user-1",
+                 "priority": "HIGH", "dueDate": "2025-06-01T00:00:00"}""".formatted(documentId, title);
+    }
+
+    private JsonNode data(String body) throws Exception {
+        return objectMapper.readTree(body).get("data");
+    }
+
+    @Test
+    void createBatchReportsEachInvalidTaskInItsPosition() throws Exception {
+        String body = """
+                {"tasks": [%s, {"documentId": "%s", "title": "", "status": "PENDING", "assignedUserId": "user-1",
+                 "dueDate": "2025-06-01T00:00:00"}, %s, {"documentId": "%s", "title": "Estado", "status": "UNKNOWN",
+                 "assignedUserId": "user-1", "dueDate": "2025-06-01T00:00:00"}]}"""
+                .formatted(createTaskJson("Primera"), documentId, createTaskJson("Tercera"), documentId);
+
+        String response = mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.failed").value(2))
+                .andExpect(jsonPath("$.data.results[0].status").value(201))
+                .andExpect(jsonPath("$.data.results[1].status").value(400))
+                .andExpect(jsonPath("$.data.results[2].status").value(201))
+                .andExpect(jsonPath("$.data.results[3].status").value(400))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode results = data(response).get("results");
+        assertThat(results.get(0).get("task").get("title").asText()).isEqualTo("Primera");
+        assertThat(results.get(1).get("error").asText()).isNotBlank();
+        assertThat(results.get(1).has("task")).isFalse();
+        mockMvc.perform(get("/api/tasks/document/{documentId}/tasks", documentId))
+                .andExpect(jsonPath("$.data.length()").value(2));
+    }
+
+    @Test
+    void updateBatchReportsMissingStaleAndInvalidItems() throws Exception {
+        String created = mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\": [" + createTaskJson("A") + ", " + createTaskJson("B") + "]}"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode results = data(created).get("results");
+        String first = results.get(0).get("id").asText();
+        String second = results.get(1).get("id").asText();
+        String body = """
+                {"tasks": [
+                  {"id": "%s", "version": 1, "changes": {"status": "COMPLETED"}},
+                  {"id": "%s", "version": 7, "changes": {"title": "Desactualizada"}},
+                  {"id": "missing-%s", "changes": {"title": "No existe"}},
+                  {"id": "%s", "changes": {"priority": "URGENTISIMA"}}
+                ]}""".formatted(first, second, UUID.randomUUID(), second);
+
+        mockMvc.perform(patch("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(1))
+                .andExpect(jsonPath("$.data.failed").value(3))
+                .andExpect(jsonPath("$.data.results[0].status").value(200))
+                .andExpect(jsonPath("$.data.results[0].task.version").value(2))
+                .andExpect(jsonPath("$.data.results[1].status").value(412))
+                .andExpect(jsonPath("$.data.results[2].status").value(404))
+                .andExpect(jsonPath("$.data.results[3].status").value(400));
+
+        mockMvc.perform(get("/api/tasks/{id}", second))
+                .andExpect(jsonPath("$.data.title").value("B"))
+                .andExpect(jsonPath("$.data.version").value(1));
+    }
+
+    @Test
+    void deleteBatchReportsMissingAndBlankIds() throws Exception {
+        String created = mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\": [" + createTaskJson("A") + "]}"))
+                .andReturn().getResponse().getContentAsString();
+        String id = data(created).get("results").get(0).get("id").asText();
+        String body = "{\"ids\": [\"%s\", \"missing-%s\", \" \", \"%s\"]}".formatted(id, UUID.randomUUID(), id);
+
+        mockMvc.perform(delete("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.succeeded").value(1))
+                .andExpect(jsonPath("$.data.failed").value(3))
+                .andExpect(jsonPath("$.data.results[0].status").value(200))
+                .andExpect(jsonPath("$.data.results[1].status").value(404))
+                .andExpect(jsonPath("$.data.results[2].status").value(400))
+                .andExpect(jsonPath("$.data.results[3].status").value(404));
+
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void oversizedBatchIsRejectedAsAWhole() throws Exception {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i <= MAX_BATCH_SIZE; i++) {
+            ids.append(i == 0 ? "" : ",").append("\"t").append(i).append('"');
+        }
+
+        mockMvc.perform(delete("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [" + ids + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,186 @@
+package com.insightflow.tasks_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.service.TaskChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Feed de cambios por Server-Sent Events: reanudación con {@code since} o Last-Event-ID y evento reset
+ * cuando el buffer circular ya reemplazó los cambios pedidos. La capacidad se reduce para forzar la vuelta.
+ */
+@SpringBootTest(properties = {"tasks.seed.enabled=false", "tasks.compaction.enabled=false",
+        "tasks.changes.capacity=8", "tasks.changes.poll-interval=5ms"})
+@AutoConfigureMockMvc
+class TaskChangesControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskChangeFeed feed;
+
+    private final String documentId = "doc-" + UUID.randomUUID();
+
+    private String createTask(String title) throws Exception {
+        String body = """
+                {"documentId": "%s", "title": "%s", "status": "PENDING", "assignedUserId": "user-1",
+                 "dueDate": "2025-06-01T00:00:00"}""".formatted(documentId, title);
+        String response = mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("data").get("id").asText();
+    }
+
+    private MockHttpServletResponse subscribe(String query, String lastEventId) throws Exception {
+        MockHttpServletRequestBuilder builder = get("/api/tasks/changes?documentId=" + documentId + query).accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    /**
+     * Espera a que la conexión reciba al menos {@code count} eventos y los devuelve, cada uno como sus líneas.
+     */
+    private List<SseEvent> awaitEvents(MockHttpServletResponse response, int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<SseEvent> events;
+        do {
+            events = parse(response.getContentAsString());
+            if (events.size() >= count) {
+                return events;
+            }
+            Thread.sleep(10);
+        } while (System.nanoTime() < deadline);
+        throw new AssertionError("Se esperaban " + count + " eventos y llegaron " + events + ": " + response.getContentAsString());
+    }
+
+    private static List<SseEvent> parse(String stream) {
+        List<SseEvent> events = new ArrayList<>();
+        for (String block : stream.split("\n\n")) {
+            String id = null;
+            String name = null;
+            String data = null;
+            for (String line : block.split("\n")) {
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+            if (name != null) {
+                events.add(new SseEvent(id, name, data));
+            }
+        }
+        return events;
+    }
+
+    private void awaitComment(MockHttpServletResponse response) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!response.getContentAsString().contains(":secuencia")) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private String title(String data) {
+        try {
+            return objectMapper.readTree(data).get("task").get("title").asText();
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void newSubscriptionReceivesOnlyLaterChangesOfItsDocument() throws Exception {
+        createTask("Anterior");
+        MockHttpServletResponse response = subscribe("", null);
+        awaitComment(response);
+
+        String id = createTask("Nueva");
+        mockMvc.perform(patch("/api/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Editada\"}"))
+                .andExpect(status().isOk());
+
+        List<SseEvent> events = awaitEvents(response, 2);
+        JsonNode created = objectMapper.readTree(events.get(0).data());
+        JsonNode updated = objectMapper.readTree(events.get(1).data());
+        assertThat(created.get("type").asText()).isEqualTo("CREATED");
+        assertThat(created.get("task").get("title").asText()).isEqualTo("Nueva");
+        assertThat(updated.get("type").asText()).isEqualTo("UPDATED");
+        assertThat(updated.get("task").get("title").asText()).isEqualTo("Editada");
+        assertThat(Long.parseLong(events.get(1).id())).isEqualTo(updated.get("sequence").asLong());
+    }
+
+    @Test
+    void sinceResumesAfterTheLastReceivedChange() throws Exception {
+        createTask("Primera");
+        long seen = feed.lastSequence();
+        createTask("Segunda");
+        createTask("Tercera");
+
+        List<SseEvent> events = awaitEvents(subscribe("&since=" + seen, null), 2);
+
+        assertThat(events).extracting(SseEvent::name).containsExactly("task", "task");
+        assertThat(events).extracting(event -> title(event.data())).containsExactly("Segunda", "Tercera");
+        assertThat(Long.parseLong(events.get(0).id())).isGreaterThan(seen);
+    }
+
+    @Test
+    void lastEventIdResumesLikeSince() throws Exception {
+        createTask("Primera");
+        long seen = feed.lastSequence();
+        createTask("Segunda");
+
+        List<SseEvent> events = awaitEvents(subscribe("", Long.toString(seen)), 1);
+
+        assertThat(events).extracting(event -> title(event.data())).containsExactly("Segunda");
+    }
+
+    @Test
+    void resetIsSentWhenTheBufferWrappedPastTheRequestedChange() throws Exception {
+        createTask("Perdida");
+        long seen = feed.lastSequence() - 1;
+        for (int i = 0; i < 12; i++) {
+            createTask("Tarea " + i);
+        }
+        long oldest = feed.oldestSequence();
+
+        List<SseEvent> events = awaitEvents(subscribe("&since=" + seen, null), 9);
+
+        assertThat(events.get(0).name()).isEqualTo("reset");
+        assertThat(Long.parseLong(events.get(0).data())).isEqualTo(oldest - 1);
+        List<SseEvent> tasks = events.subList(1, events.size());
+        assertThat(tasks).extracting(SseEvent::name).containsOnly("task");
+        assertThat(Long.parseLong(tasks.get(0).id())).isEqualTo(oldest);
+        assertThat(tasks).extracting(event -> title(event.data())).doesNotContain("Perdida").contains("Tarea 11");
+    }
+
+    private record SseEvent(String id, String name, String data) {
+    }
+}
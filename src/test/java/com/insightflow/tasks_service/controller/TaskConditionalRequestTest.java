@@ -0,0 +1,140 @@
+package com.insightflow.tasks_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags, respuestas 304 con If-None-Match y precondiciones con If-Match.
+ */
+@SpringBootTest(properties = {"tasks.seed.enabled=false", "tasks.compaction.enabled=false"})
+@AutoConfigureMockMvc
+class TaskConditionalRequestTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String documentId = "doc-" + UUID.randomUUID();
+
+    private String createTask(String document) throws Exception {
+        String body = """
+                {"documentId": "%s", "title": "Revisar", "status": "PENDING", "assignedUserId": "user-1",
+                 "dueDate": "2025-06-01T00:00:00"}""".formatted(document);
+        String response = mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("data").get("id").asText();
+    }
+
+    private String documentETag() throws Exception {
+        return mockMvc.perform(get("/api/tasks/document/{documentId}/tasks", documentId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void taskETagIsItsVersionAndMatchingIfNoneMatchReturns304() throws Exception {
+        String id = createTask(documentId);
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-json\""));
+        mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"1-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-json\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"0-json\", W/\"1-json\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/tasks/{id}/status", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\": \"IN_PROGRESS\"}"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-json\""));
+        mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "\"1-json\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    void listETagChangesOnlyWhenItsCollectionChanges() throws Exception {
+        String id = createTask(documentId);
+        String eTag = documentETag();
+
+        mockMvc.perform(get("/api/tasks/document/{documentId}/tasks", documentId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get("/api/tasks/document/{documentId}/tasks", documentId).param("limit", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        createTask("other-" + documentId);
+        assertThat(documentETag()).isEqualTo(eTag);
+
+        mockMvc.perform(delete("/api/tasks/{id}", id)).andExpect(status().is2xxSuccessful());
+        String afterDelete = documentETag();
+        assertThat(afterDelete).isNotEqualTo(eTag);
+        mockMvc.perform(get("/api/tasks/document/{documentId}/tasks", documentId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    void ifMatchWithStaleVersionFailsWith412AndLeavesTaskUnchanged() throws Exception {
+        String id = createTask(documentId);
+        mockMvc.perform(patch("/api/tasks/{id}", id).header(HttpHeaders.IF_MATCH, "\"1-json\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Primera\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-json\""));
+
+        mockMvc.perform(patch("/api/tasks/{id}", id).header(HttpHeaders.IF_MATCH, "\"1-json\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Perdida\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/tasks/{id}/status", id).header(HttpHeaders.IF_MATCH, "\"1-json\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\": \"COMPLETED\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(jsonPath("$.data.title").value("Primera"))
+                .andExpect(jsonPath("$.data.status").value("PENDING"))
+                .andExpect(jsonPath("$.data.version").value(2));
+    }
+
+    @Test
+    void ifMatchUsesStrongComparison() throws Exception {
+        String id = createTask(documentId);
+
+        mockMvc.perform(patch("/api/tasks/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"1-json\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Débil\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/tasks/{id}", id).header(HttpHeaders.IF_MATCH, "\"1-smile\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Fuerte\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Fuerte"));
+    }
+
+    @Test
+    void ifMatchOnMissingTaskIsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}", "missing-" + UUID.randomUUID()).header(HttpHeaders.IF_MATCH, "\"1-json\"")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\": \"Nada\"}"))
+                .andExpect(status().isNotFound());
+    }
+}
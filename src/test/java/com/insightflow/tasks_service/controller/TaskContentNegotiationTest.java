@@ -0,0 +1,122 @@
+package com.insightflow.tasks_service.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Respuestas en JSON o en Smile según Accept, con ETags distintos por representación y {@code Vary: Accept}.
+ */
+@SpringBootTest(properties = {"tasks.seed.enabled=false", "tasks.compaction.enabled=false"})
+@AutoConfigureMockMvc
+class TaskContentNegotiationTest {
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SmileMapper smileMapper = new SmileMapper();
+
+    private final String documentId = "doc-" + UUID.randomUUID();
+
+    private String createTask(String title) throws Exception {
+        String body = """
+                {"documentId": "%s", "title": "%s", "status": "PENDING", "assignedUserId": "user-1",
+                 "dueDate": "2025-06-01T00:00:00"}""".formatted(documentId, title);
+        String response = mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("data").get("id").asText();
+    }
+
+    private MockHttpServletResponse fetch(String path, String accept) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, accept)).andReturn().getResponse();
+    }
+
+    @Test
+    void smileAndJsonCarryTheSameContentWithDistinctETags() throws Exception {
+        String id = createTask("Ñandú");
+
+        MockHttpServletResponse json = fetch("/api/tasks/" + id, MediaType.APPLICATION_JSON_VALUE);
+        MockHttpServletResponse smile = fetch("/api/tasks/" + id, SMILE);
+
+        assertThat(json.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(smile.getContentType()).isEqualTo(SMILE);
+        assertThat(json.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1-json\"");
+        assertThat(smile.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1-smile\"");
+        assertThat(json.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThat(smile.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        JsonNode fromJson = objectMapper.readTree(json.getContentAsByteArray()).get("data");
+        JsonNode fromSmile = smileMapper.readTree(smile.getContentAsByteArray()).get("data");
+        assertThat(fromSmile).isEqualTo(fromJson);
+        assertThat(fromSmile.get("title").asText()).isEqualTo("Ñandú");
+    }
+
+    @Test
+    void negotiationFollowsQualityValues() throws Exception {
+        String id = createTask("Calidad");
+
+        assertThat(fetch("/api/tasks/" + id, "application/json;q=0.5, " + SMILE).getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"1-smile\"");
+        assertThat(fetch("/api/tasks/" + id, SMILE + ";q=0.5, application/json").getHeader(HttpHeaders.ETAG))
+                .isEqualTo("\"1-json\"");
+        MockHttpServletResponse wildcard = fetch("/api/tasks/" + id, "*/*");
+        assertThat(wildcard.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1-json\"");
+        assertThat(wildcard.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Test
+    void etagOfOneRepresentationDoesNotValidateTheOther() throws Exception {
+        String id = createTask("Representación");
+
+        mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.ACCEPT, SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-json\""))
+                .andExpect(status().isOk());
+        MockHttpServletResponse notModified = mockMvc.perform(get("/api/tasks/{id}", id).header(HttpHeaders.ACCEPT, SMILE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-smile\""))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse();
+        assertThat(notModified.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void cachedListIsServedInSmile() throws Exception {
+        createTask("Primera");
+        createTask("Segunda");
+        String path = "/api/tasks/document/" + documentId + "/tasks";
+        JsonNode expected = objectMapper.readTree(fetch(path, MediaType.APPLICATION_JSON_VALUE).getContentAsByteArray()).get("data");
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse smile = fetch(path, SMILE);
+            assertThat(smile.getContentType()).isEqualTo(SMILE);
+            assertThat(smileMapper.readTree(smile.getContentAsByteArray()).get("data")).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void errorResponsesAlsoVaryByAccept() throws Exception {
+        MockHttpServletResponse missing = fetch("/api/tasks/missing-" + UUID.randomUUID(), SMILE);
+
+        assertThat(missing.getStatus()).isEqualTo(404);
+        assertThat(missing.getContentType()).isEqualTo(SMILE);
+        assertThat(missing.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+}
@@ -0,0 +1,101 @@
+package com.insightflow.tasks_service.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Listados transmitidos en NDJSON o Server-Sent Events, con el mismo contenido que el listado completo.
+ */
+@SpringBootTest(properties = {"tasks.seed.enabled=false", "tasks.compaction.enabled=false"})
+@AutoConfigureMockMvc
+class TaskStreamingControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String documentId = "doc-" + UUID.randomUUID();
+
+    private void createTasks(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            String body = """
+                    {"documentId": "%s", "title": "Tarea %d", "status": "PENDING", "assignedUserId": "user-1",
+                     "dueDate": "2025-06-01T00:00:00"}""".formatted(documentId, i);
+            mockMvc.perform(post("/api/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated());
+        }
+    }
+
+    private MockHttpServletResponse stream(String accept) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/tasks/document/{documentId}/tasks/stream", documentId)
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    private List<String> listedIds() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks/document/{documentId}/tasks", documentId))
+                .andReturn().getResponse().getContentAsString();
+        List<String> ids = new ArrayList<>();
+        objectMapper.readTree(body).get("data").forEach(task -> ids.add(task.get("id").asText()));
+        return ids;
+    }
+
+    @Test
+    void ndjsonStreamsOneTaskPerLineInListOrder() throws Exception {
+        createTasks(5);
+
+        MockHttpServletResponse response = stream(MediaType.APPLICATION_NDJSON_VALUE);
+
+        assertThat(response.getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(response.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        List<String> ids = new ArrayList<>();
+        for (String line : response.getContentAsString().split("\n")) {
+            ids.add(objectMapper.readTree(line).get("id").asText());
+        }
+        assertThat(ids).containsExactlyElementsOf(listedIds());
+    }
+
+    @Test
+    void eventStreamSendsOneEventPerTask() throws Exception {
+        createTasks(3);
+
+        MockHttpServletResponse response = stream(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        assertThat(response.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        List<String> ids = new ArrayList<>();
+        for (String event : response.getContentAsString().split("\n\n")) {
+            assertThat(event).startsWith("data: ");
+            ids.add(objectMapper.readTree(event.substring("data: ".length())).get("id").asText());
+        }
+        assertThat(ids).containsExactlyElementsOf(listedIds());
+    }
+
+    @Test
+    void emptyCollectionStreamsNothing() throws Exception {
+        assertThat(stream(MediaType.APPLICATION_NDJSON_VALUE).getContentAsString()).isEmpty();
+    }
+}
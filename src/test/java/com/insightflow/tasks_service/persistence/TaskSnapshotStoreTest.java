@@ -0,0 +1,220 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Escritura y carga de los snapshots mapeados en memoria.
+ */
+class TaskSnapshotStoreTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Tareas que recorren todos los estados y prioridades, los campos opcionales nulos,
+     * textos no ASCII, fechas con nanosegundos y fuera del rango de los nanosegundos desde epoch.
+     */
+    private static List<Task> variedTasks() {
+        List<Task> tasks = new ArrayList<>();
+        int i = 0;
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            for (Task.TaskPriority priority : Task.TaskPriority.values()) {
+                LocalDateTime createdAt = BASE.plusMinutes(i).plusNanos(123_456_789);
+                tasks.add(Task.builder()
+                        .id("t" + i)
+                        .documentId("doc-" + (i % 2))
+                        .title("Título ñandú " + i)
+                        .description("Descripción con acentos y emoji 📝 " + i)
+                        .status(status)
+                        .assignedUserId("user-" + (i % 3))
+                        .priority(priority)
+                        .dueDate(createdAt.plusDays(i))
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt.plusSeconds(i))
+                        .active(i % 4 != 0)
+                        .version(i + 1)
+                        .build());
+                i++;
+            }
+        }
+        tasks.add(Task.builder()
+                .id("t-nulls")
+                .documentId("doc-0")
+                .title("")
+                .active(true)
+                .build());
+        tasks.add(Task.builder()
+                .id("t-far")
+                .documentId("doc-0")
+                .title("Lejana")
+                .status(Task.TaskStatus.PENDING)
+                .dueDate(LocalDateTime.of(2300, 1, 1, 0, 0))
+                .createdAt(LocalDateTime.of(1600, 1, 1, 0, 0))
+                .updatedAt(BASE)
+                .active(true)
+                .version(Long.MAX_VALUE)
+                .build());
+        return tasks;
+    }
+
+    private Path onlySnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = files.filter(path -> path.getFileName().toString().startsWith("snapshot-")).toList();
+            assertThat(snapshots).hasSize(1);
+            return snapshots.get(0);
+        }
+    }
+
+    @Test
+    void roundTripsEveryField() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        List<Task> tasks = variedTasks();
+
+        assertThat(store.write(42, tasks)).isEqualTo(tasks.size());
+        Map<String, Task> loaded = new ConcurrentHashMap<>();
+        long sequence = store.load(task -> loaded.put(task.getId(), task));
+
+        assertThat(sequence).isEqualTo(42);
+        assertThat(loaded.values()).containsExactlyInAnyOrderElementsOf(tasks);
+    }
+
+    @Test
+    void sharesRepeatedStringsAcrossTasks() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        store.write(1, variedTasks());
+        Map<String, Task> loaded = new ConcurrentHashMap<>();
+        store.load(task -> loaded.put(task.getId(), task));
+
+        assertThat(loaded.get("t0").getDocumentId()).isSameAs(loaded.get("t2").getDocumentId());
+        assertThat(loaded.get("t0").getAssignedUserId()).isSameAs(loaded.get("t3").getAssignedUserId());
+    }
+
+    @Test
+    void loadsSnapshotsLargerThanOneParallelChunk() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 70_000; i++) {
+            tasks.add(Task.builder()
+                    .id("t" + i)
+                    .documentId("doc-" + (i % 100))
+                    .title("Tarea " + i)
+                    .status(Task.TaskStatus.PENDING)
+                    .createdAt(BASE.plusSeconds(i))
+                    .updatedAt(BASE.plusSeconds(i))
+                    .active(true)
+                    .build());
+        }
+        store.write(7, tasks);
+        Map<String, Task> loaded = new ConcurrentHashMap<>();
+
+        store.load(task -> loaded.put(task.getId(), task));
+
+        assertThat(loaded).hasSize(tasks.size());
+        assertThat(loaded.get("t69999")).isEqualTo(tasks.get(69_999));
+    }
+
+    @Test
+    void emptyDirectoryLoadsNothing() throws IOException {
+        assertThat(new TaskSnapshotStore(directory.resolve("missing")).load(task -> { })).isZero();
+    }
+
+    @Test
+    void loadsLatestSnapshotAndDeletesOlderOnes() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        List<Task> tasks = variedTasks();
+        store.write(5, tasks.subList(0, 1));
+        store.write(9, tasks.subList(0, 2));
+        Map<String, Task> loaded = new ConcurrentHashMap<>();
+
+        assertThat(store.load(task -> loaded.put(task.getId(), task))).isEqualTo(9);
+        assertThat(loaded).hasSize(2);
+
+        store.deleteOlderThan(9);
+        assertThat(onlySnapshot().getFileName().toString()).isEqualTo(String.format("snapshot-%020d.bin", 9));
+    }
+
+    @Test
+    void rejectsBadMagic() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        store.write(1, variedTasks());
+        Path snapshot = onlySnapshot();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0x54534E50).flip(), 0);
+        }
+
+        assertThatThrownBy(() -> store.load(task -> { })).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsCorruptedBody() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        store.write(1, variedTasks());
+        Path snapshot = onlySnapshot();
+        long size = Files.size(snapshot);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            last.put(0, (byte) (last.get(0) ^ 0xFF));
+            channel.write(last.flip(), size - 1);
+        }
+
+        assertThatThrownBy(() -> store.load(task -> { })).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTruncatedSnapshot() throws IOException {
+        TaskSnapshotStore store = new TaskSnapshotStore(directory);
+        store.write(1, variedTasks());
+        Path snapshot = onlySnapshot();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(snapshot) - 5);
+        }
+
+        assertThatThrownBy(() -> store.load(task -> { })).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void walReplayOnTopOfSnapshotKeepsNewestVersion() throws IOException {
+        Task v1 = variedTasks().get(1).toBuilder().version(1).build();
+        Task v2 = v1.toBuilder().title("Versión 2").version(2).build();
+        Task v3 = v1.toBuilder().title("Versión 3").version(3).build();
+        Task other = variedTasks().get(2);
+        // El snapshot se toma sin detener las escrituras: ya contiene v3, aunque el WAL posterior a la rotación traiga v2.
+        new TaskSnapshotStore(directory).write(1, List.of(v3));
+        WriteAheadLog wal = new WriteAheadLog(directory, Duration.ZERO);
+        wal.replay(1, task -> { });
+        wal.start();
+        wal.awaitDurable(wal.append(v2));
+        wal.awaitDurable(wal.append(other));
+        wal.close();
+
+        TaskRepository repository = new InMemoryTaskRepository();
+        long sequence = new TaskSnapshotStore(directory).load(repository::restore);
+        new WriteAheadLog(directory, Duration.ZERO).replay(sequence, repository::restore);
+
+        assertThat(repository.findById(v1.getId())).contains(v3);
+        assertThat(repository.findById(other.getId())).contains(other);
+    }
+}
@@ -0,0 +1,243 @@
+package com.insightflow.tasks_service.persistence;
+
+import com.insightflow.tasks_service.config.TaskPersistenceProperties;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Recuperación del repositorio a partir del WAL y los snapshots.
+ * Una caída se simula abandonando la instancia sin llamar a {@link WalTaskPersistence#stop()}:
+ * cada escritura espera su fsync, por lo que lo escrito ya está en disco y el arranque siguiente
+ * solo cuenta con el WAL.
+ */
+class WalTaskPersistenceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private static Task task(String id, int minute) {
+        LocalDateTime createdAt = BASE.plusMinutes(minute);
+        return Task.builder()
+                .id(id)
+                .documentId("doc-1")
+                .title("Tarea " + id)
+                .description("Descripción de " + id)
+                .status(Task.TaskStatus.PENDING)
+                .assignedUserId("user-1")
+                .priority(Task.TaskPriority.HIGH)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .active(true)
+                .build();
+    }
+
+    private static Task nextVersion(Task task, Task.TaskStatus status) {
+        return task.toBuilder()
+                .status(status)
+                .updatedAt(task.getUpdatedAt().plusSeconds(1))
+                .version(task.getVersion() + 1)
+                .build();
+    }
+
+    private Recovered open() throws IOException {
+        TaskPersistenceProperties properties = new TaskPersistenceProperties();
+        properties.setMode(TaskPersistenceProperties.Mode.WAL);
+        properties.setDirectory(directory);
+        TaskRepository repository = new InMemoryTaskRepository();
+        WalTaskPersistence persistence = new WalTaskPersistence(repository, properties);
+        persistence.start();
+        return new Recovered(repository, persistence);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    /**
+     * Segmento WAL con registros más reciente (el arranque abre un segmento vacío nuevo).
+     */
+    private Path lastWrittenSegment() throws IOException {
+        List<Path> segments = new ArrayList<>(files("wal-"));
+        segments.removeIf(segment -> segment.toFile().length() <= Integer.BYTES);
+        return segments.get(segments.size() - 1);
+    }
+
+    @Test
+    void replaysWalAfterCrash() throws IOException {
+        Recovered first = open();
+        Task t1 = first.repository().save(task("t1", 1));
+        first.repository().save(task("t2", 2));
+        Task updated = first.repository().update(nextVersion(t1, Task.TaskStatus.COMPLETED));
+        first.repository().deleteById("t2");
+        Task deleted = first.repository().findById("t2").orElseThrow();
+
+        Recovered second = open();
+
+        assertThat(second.repository().findById("t1")).contains(updated);
+        assertThat(second.repository().findById("t2")).contains(deleted);
+        assertThat(second.repository().findActiveById("t2")).isNull();
+        assertThat(second.repository().countByStatus(Task.TaskStatus.COMPLETED)).isEqualTo(1);
+        second.persistence().stop();
+    }
+
+    @Test
+    void truncatesTornTailRecordAndKeepsWriting() throws IOException {
+        Recovered first = open();
+        first.repository().save(task("t1", 1));
+        first.repository().save(task("t2", 2));
+        Path segment = lastWrittenSegment();
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        Recovered second = open();
+
+        assertThat(second.repository().existsById("t1")).isTrue();
+        assertThat(second.repository().existsById("t2")).isFalse();
+        assertThat(Files.size(segment)).isLessThan(size - 3);
+        second.repository().save(task("t3", 3));
+
+        Recovered third = open();
+        assertThat(third.repository().existsById("t1")).isTrue();
+        assertThat(third.repository().existsById("t2")).isFalse();
+        assertThat(third.repository().existsById("t3")).isTrue();
+        third.persistence().stop();
+    }
+
+    @Test
+    void discardsTailRecordWithBadChecksum() throws IOException {
+        Recovered first = open();
+        first.repository().save(task("t1", 1));
+        first.repository().save(task("t2", 2));
+        Path segment = lastWrittenSegment();
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            last.put(0, (byte) (last.get(0) ^ 0xFF));
+            channel.write(last.flip(), size - 1);
+        }
+
+        Recovered second = open();
+
+        assertThat(second.repository().existsById("t1")).isTrue();
+        assertThat(second.repository().existsById("t2")).isFalse();
+        second.persistence().stop();
+    }
+
+    @Test
+    void snapshotRotatesSegmentsAndWalTailIsReplayedOnTop() throws IOException {
+        Recovered first = open();
+        Task t1 = first.repository().save(task("t1", 1));
+        first.repository().save(task("t2", 2));
+        first.repository().save(task("t3", 3));
+        first.persistence().snapshot();
+        Task updated = first.repository().update(nextVersion(t1, Task.TaskStatus.IN_PROGRESS));
+        first.repository().save(task("t4", 4));
+
+        assertThat(files("snapshot-")).hasSize(1);
+        assertThat(files("wal-")).extracting(path -> path.getFileName().toString())
+                .containsExactly(String.format("wal-%020d.log", 4));
+
+        Recovered second = open();
+
+        assertThat(second.repository().count()).isEqualTo(4);
+        assertThat(second.repository().findById("t1")).contains(updated);
+        assertThat(second.repository().existsById("t4")).isTrue();
+        second.persistence().stop();
+    }
+
+    @Test
+    void rejectedAppendAfterCloseLeavesRepositoryAndDiskUnchanged() throws IOException {
+        Recovered first = open();
+        Task saved = first.repository().save(task("t1", 1));
+        first.persistence().stop();
+
+        assertThatThrownBy(() -> first.repository().update(nextVersion(saved, Task.TaskStatus.COMPLETED)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(first.repository().findById("t1")).contains(saved);
+        assertThat(first.repository().countByStatus(Task.TaskStatus.COMPLETED)).isZero();
+
+        Recovered second = open();
+        assertThat(second.repository().findById("t1")).contains(saved);
+        second.persistence().stop();
+    }
+
+    @Test
+    void groupCommitSharesOneFsyncAcrossConcurrentWriters() throws Exception {
+        int writers = 32;
+        Duration delay = Duration.ofMillis(50);
+        WriteAheadLog wal = new WriteAheadLog(directory, delay);
+        wal.replay(0, task -> { });
+        wal.start();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch ready = new CountDownLatch(writers);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        List<Long> sequences = new ArrayList<>();
+        long startedAt;
+        try {
+            for (int i = 0; i < writers; i++) {
+                Task task = task("t" + i, i);
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    long sequence = wal.append(task);
+                    wal.awaitDurable(sequence);
+                    return sequence;
+                }));
+            }
+            ready.await();
+            startedAt = System.nanoTime();
+            go.countDown();
+            for (Future<Long> future : futures) {
+                sequences.add(future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        wal.close();
+
+        // Un fsync por escritura tardaría al menos writers * delay; con commit agrupado son unos pocos lotes.
+        assertThat(elapsed).isLessThan(delay.multipliedBy(writers / 4).toNanos());
+        assertThat(sequences.stream().distinct()).hasSize(writers);
+
+        WriteAheadLog reopened = new WriteAheadLog(directory, Duration.ZERO);
+        ConcurrentHashMap<String, Task> replayed = new ConcurrentHashMap<>();
+        assertThat(reopened.replay(0, task -> replayed.put(task.getId(), task))).isEqualTo(writers);
+        assertThat(replayed).hasSize(writers);
+        assertThat(reopened.lastSequence()).isEqualTo(writers);
+    }
+
+    private record Recovered(TaskRepository repository, WalTaskPersistence persistence) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTaskRepositoryTest extends TaskRepositoryContract {
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Override
+    protected TaskRepository createRepository() {
+        return new InMemoryTaskRepository() {
+            @Override
+            protected Task lookup(String id) {
+                lookups.incrementAndGet();
+                return super.lookup(id);
+            }
+        };
+    }
+
+    @Test
+    void queryByDueRangeOnlyResolvesTasksInTheRange() {
+        LocalDateTime dueDate = LocalDateTime.of(2025, 6, 1, 0, 0);
+        for (int i = 0; i < 500; i++) {
+            repository.save(task("n" + i, "doc-1", "user-1", Task.TaskStatus.PENDING, i));
+        }
+        for (int i = 0; i < 3; i++) {
+            repository.save(task("d" + i, "doc-1", "user-1", Task.TaskStatus.PENDING, 1000 + i).toBuilder()
+                    .dueDate(dueDate.plusHours(i)).build());
+        }
+        lookups.set(0);
+
+        long matches = repository.query(new TaskQuery(null, null, null, null, dueDate, dueDate.plusDays(1)), null).count();
+
+        assertThat(matches).isEqualTo(3);
+        assertThat(lookups.get()).isEqualTo(3);
+    }
+
+    @Test
+    void queryByDocumentStillUsesSmallerDocumentIndex() {
+        LocalDateTime dueDate = LocalDateTime.of(2025, 6, 1, 0, 0);
+        for (int i = 0; i < 200; i++) {
+            repository.save(task("d" + i, "doc-1", "user-1", Task.TaskStatus.PENDING, i).toBuilder()
+                    .dueDate(dueDate.plusMinutes(i)).build());
+        }
+        repository.save(task("x1", "doc-2", "user-1", Task.TaskStatus.PENDING, 500).toBuilder()
+                .dueDate(dueDate).build());
+        lookups.set(0);
+
+        assertThat(repository.query(new TaskQuery("doc-2", null, null, null, dueDate, dueDate.plusDays(1)), null)
+                .map(Task::getId).collect(Collectors.toList())).containsExactly("x1");
+        assertThat(lookups.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapTaskRepositoryTest extends TaskRepositoryContract {
+    @Override
+    protected TaskRepository createRepository() {
+        return new OffHeapTaskRepository();
+    }
+
+    @Test
+    void truncatesDatesToMilliseconds() {
+        Task task = task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1);
+        Task saved = repository.save(task.toBuilder().createdAt(task.getCreatedAt().plusNanos(1_234_567)).build());
+
+        assertThat(saved.getCreatedAt()).isEqualTo(task.getCreatedAt().plusNanos(1_000_000));
+        assertThat(repository.findById("t1")).contains(saved);
+    }
+
+    @Test
+    void countsStringsLeftBehindByUpdatesAndPurges() {
+        OffHeapTaskRepository offHeap = (OffHeapTaskRepository) repository;
+        Task saved = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        Task updated = repository.update(saved.toBuilder().title("Título nuevo").version(saved.getVersion() + 1).build());
+        long replacedTitle = Integer.BYTES + utf8Length(saved.getTitle());
+
+        assertThat(offHeap.unreclaimedStringBytes()).isEqualTo(replacedTitle);
+
+        repository.deleteById("t1");
+        Task deleted = repository.findById("t1").orElseThrow();
+        assertThat(repository.purge("t1", deleted.getVersion())).isEqualTo(TaskColumns.ROW_BYTES);
+
+        assertThat(offHeap.unreclaimedStringBytes()).isEqualTo(replacedTitle
+                + Integer.BYTES + utf8Length(updated.getId())
+                + Integer.BYTES + utf8Length(updated.getTitle())
+                + Integer.BYTES + utf8Length(updated.getDescription()));
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Test
+    void releasedSlotsAreReusedBeforeGrowing() {
+        TaskColumns columns = new TaskColumns();
+        int first = columns.allocate();
+        int second = columns.allocate();
+
+        columns.release(first);
+
+        assertThat(columns.freeCount()).isEqualTo(1);
+        assertThat(columns.allocate()).isEqualTo(first);
+        assertThat(columns.freeCount()).isZero();
+        assertThat(columns.allocate()).isEqualTo(second + 1);
+        assertThat(columns.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removedSlotIndexEntriesAreNotFound() {
+        TaskSlotIndex index = new TaskSlotIndex();
+        for (int slot = 0; slot < 1_000; slot++) {
+            index.insert(slot % 64, slot);
+        }
+        for (int slot = 0; slot < 1_000; slot += 2) {
+            index.remove(slot % 64, slot);
+        }
+        for (int slot = 1_000; slot < 2_000; slot++) {
+            index.insert(slot % 64, slot);
+        }
+
+        for (int slot = 0; slot < 2_000; slot++) {
+            int expected = slot < 1_000 && slot % 2 == 0 ? -1 : slot;
+            int hash = slot % 64;
+            assertThat(index.find(hash, candidate -> candidate == expected)).isEqualTo(expected);
+        }
+    }
+}
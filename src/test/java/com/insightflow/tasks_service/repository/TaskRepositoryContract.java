@@ -0,0 +1,536 @@
+package com.insightflow.tasks_service.repository;
+
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.persistence.TaskJournal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Comportamiento que deben cumplir todas las implementaciones de {@link TaskRepository}.
+ * Cada almacén extiende esta clase e indica cómo crear un repositorio vacío.
+ * Las fechas tienen precisión de milisegundos, la que conserva el almacén offheap.
+ */
+abstract class TaskRepositoryContract {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    protected TaskRepository repository;
+
+    /**
+     * Crea un repositorio vacío de la implementación probada.
+     * @return El repositorio.
+     */
+    protected abstract TaskRepository createRepository();
+
+    @BeforeEach
+    void setUp() {
+        repository = createRepository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.clear();
+    }
+
+    /**
+     * Crea una tarea activa en versión 1, creada {@code minute} minutos después de la fecha base.
+     */
+    protected static Task task(String id, String documentId, String assignedUserId, Task.TaskStatus status, int minute) {
+        LocalDateTime createdAt = BASE.plusMinutes(minute);
+        return Task.builder()
+                .id(id)
+                .documentId(documentId)
+                .title("Tarea " + id)
+                .description("Descripción de " + id)
+                .status(status)
+                .assignedUserId(assignedUserId)
+                .priority(Task.TaskPriority.MEDIUM)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .active(true)
+                .build();
+    }
+
+    private static Task nextVersion(Task task, Task.TaskStatus status) {
+        return task.toBuilder()
+                .status(status)
+                .updatedAt(task.getUpdatedAt().plusSeconds(1))
+                .version(task.getVersion() + 1)
+                .build();
+    }
+
+    private static List<String> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void saveAndFindById() {
+        Task task = task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1).toBuilder()
+                .dueDate(BASE.plusDays(3))
+                .build();
+
+        repository.save(task);
+
+        assertThat(repository.findById("t1")).contains(task);
+        assertThat(repository.findActiveById("t1")).isEqualTo(task);
+        assertThat(repository.findById("missing")).isEmpty();
+        assertThat(repository.findActiveById("missing")).isNull();
+        assertThat(repository.existsById("t1")).isTrue();
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.isEmpty()).isFalse();
+    }
+
+    @Test
+    void keepsNullOptionalFields() {
+        Task task = task("t1", "doc-1", null, null, 1).toBuilder()
+                .description(null)
+                .priority(null)
+                .build();
+
+        repository.save(task);
+
+        assertThat(repository.findById("t1")).contains(task);
+    }
+
+    @Test
+    void updateStoresNextVersion() {
+        Task saved = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+
+        Task updated = repository.update(nextVersion(saved, Task.TaskStatus.COMPLETED));
+
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(repository.findById("t1")).contains(updated);
+        assertThat(repository.countByStatus(Task.TaskStatus.PENDING)).isZero();
+        assertThat(repository.countByStatus(Task.TaskStatus.COMPLETED)).isEqualTo(1);
+    }
+
+    @Test
+    void updateRejectsStaleVersion() {
+        Task saved = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.update(nextVersion(saved, Task.TaskStatus.IN_PROGRESS));
+
+        assertThatThrownBy(() -> repository.update(nextVersion(saved, Task.TaskStatus.COMPLETED)))
+                .isInstanceOf(TaskVersionConflictException.class);
+        assertThatThrownBy(() -> repository.update(task("missing", "doc-1", "user-1", Task.TaskStatus.PENDING, 1)
+                .toBuilder().version(2).build()))
+                .isInstanceOf(TaskVersionConflictException.class);
+        assertThat(repository.findActiveById("t1").getStatus()).isEqualTo(Task.TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void computeIfActiveAppliesChangeToCurrentVersion() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+
+        Task updated = repository.computeIfActive("t1", current -> nextVersion(current, Task.TaskStatus.COMPLETED));
+
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(repository.findActiveById("t1")).isEqualTo(updated);
+        assertThat(repository.computeIfActive("missing", current -> current)).isNull();
+    }
+
+    @Test
+    void computeIfActivePropagatesExceptionsWithoutWriting() {
+        Task saved = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+
+        assertThatThrownBy(() -> repository.computeIfActive("t1", current -> {
+            throw new TaskVersionConflictException("conflicto");
+        })).isInstanceOf(TaskVersionConflictException.class);
+
+        assertThat(repository.findById("t1")).contains(saved);
+    }
+
+    @Test
+    void concurrentComputeIfActiveLosesNoUpdates() throws Exception {
+        int threads = 8;
+        int updatesPerThread = 250;
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1).toBuilder().description("").build());
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                String mark = Integer.toString(t, Character.MAX_RADIX);
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        repository.computeIfActive("t1", current -> current.toBuilder()
+                                .description(current.getDescription() + mark)
+                                .version(current.getVersion() + 1)
+                                .build());
+                        repository.computeIfActive("t2", current -> nextVersion(current, Task.TaskStatus.IN_PROGRESS));
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Task t1 = repository.findActiveById("t1");
+        assertThat(t1.getVersion()).isEqualTo(1 + threads * updatesPerThread);
+        assertThat(t1.getDescription()).hasSize(threads * updatesPerThread);
+        for (int t = 0; t < threads; t++) {
+            String mark = Integer.toString(t, Character.MAX_RADIX);
+            assertThat(t1.getDescription().chars().filter(c -> c == mark.charAt(0)).count()).isEqualTo(updatesPerThread);
+        }
+        assertThat(repository.findActiveById("t2").getVersion()).isEqualTo(1 + threads * updatesPerThread);
+        assertThat(repository.countByStatus(Task.TaskStatus.IN_PROGRESS)).isEqualTo(1);
+        assertThat(repository.countByStatus(Task.TaskStatus.PENDING)).isEqualTo(1);
+    }
+
+    @Test
+    void deleteHidesTaskFromQueries() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2));
+
+        repository.deleteById("t1");
+
+        Task deleted = repository.findById("t1").orElseThrow();
+        assertThat(deleted.isActive()).isFalse();
+        assertThat(deleted.getVersion()).isEqualTo(2);
+        assertThat(repository.findActiveById("t1")).isNull();
+        assertThat(repository.computeIfActive("t1", current -> current)).isNull();
+        assertThat(ids(repository.findAll())).containsExactly("t2");
+        assertThat(ids(repository.findByDocumentId("doc-1"))).containsExactly("t2");
+        assertThat(ids(repository.findByAssignedUserId("user-1"))).containsExactly("t2");
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.countDeleted()).isEqualTo(1);
+        assertThat(repository.countByDocumentId("doc-1")).isEqualTo(1);
+    }
+
+    @Test
+    void deletingDeletedTaskWritesNothing() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.deleteById("t1");
+        Task deleted = repository.findById("t1").orElseThrow();
+        long version = repository.version();
+        List<Task> notified = new ArrayList<>();
+        repository.attachChangeListener((previous, current) -> notified.add(current));
+
+        repository.deleteById("t1");
+        repository.deleteById("missing");
+
+        assertThat(repository.findById("t1")).contains(deleted);
+        assertThat(repository.existsById("missing")).isFalse();
+        assertThat(repository.version()).isEqualTo(version);
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    void batchOperationsReportEachTask() {
+        Task first = task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1);
+        Task second = task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2);
+        repository.saveAll(List.of(first, second));
+
+        List<Task> updated = repository.updateAll(List.of(
+                nextVersion(first, Task.TaskStatus.COMPLETED),
+                first.toBuilder().version(5).build()));
+        List<Task> deleted = repository.deleteAllById(List.of("t2", "missing"));
+
+        assertThat(updated.get(0).getStatus()).isEqualTo(Task.TaskStatus.COMPLETED);
+        assertThat(updated.get(1)).isNull();
+        assertThat(deleted.get(0).isActive()).isFalse();
+        assertThat(deleted.get(1)).isNull();
+        assertThat(ids(repository.findAll())).containsExactly("t1");
+    }
+
+    @Test
+    void indexesFollowDocumentUserAndStatusChanges() {
+        Task saved = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.save(task("t2", "doc-2", "user-2", Task.TaskStatus.PENDING, 2));
+
+        repository.update(saved.toBuilder()
+                .documentId("doc-2")
+                .assignedUserId("user-2")
+                .status(Task.TaskStatus.IN_PROGRESS)
+                .version(2)
+                .build());
+
+        assertThat(repository.findByDocumentId("doc-1")).isEmpty();
+        assertThat(ids(repository.findByDocumentId("doc-2"))).containsExactly("t2", "t1");
+        assertThat(ids(repository.findByAssignedUserId("user-2"))).containsExactly("t2", "t1");
+        assertThat(ids(repository.findByStatus(Task.TaskStatus.IN_PROGRESS))).containsExactly("t1");
+        assertThat(repository.countByDocumentId("doc-1")).isZero();
+        assertThat(repository.countByAssignedUserId("user-2")).isEqualTo(2);
+        assertThat(ids(repository.streamByDocumentId("doc-2").collect(Collectors.toList()))).containsExactly("t2", "t1");
+    }
+
+    @Test
+    void listsAreOrderedByCreationDateDescending() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.save(task("t3", "doc-1", "user-1", Task.TaskStatus.PENDING, 3));
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2));
+
+        assertThat(ids(repository.findAll())).containsExactly("t3", "t2", "t1");
+        assertThat(ids(repository.streamAll().collect(Collectors.toList()))).containsExactly("t3", "t2", "t1");
+    }
+
+    @Test
+    void cursorPagesCoverAllTasksOnce() {
+        for (int i = 0; i < 25; i++) {
+            repository.save(task(String.format("t%02d", i), "doc-" + (i % 2), "user-1", Task.TaskStatus.PENDING, i));
+        }
+
+        List<String> seen = new ArrayList<>();
+        TaskKey cursor = null;
+        while (true) {
+            List<Task> page = repository.findAll(cursor, 10);
+            seen.addAll(ids(page));
+            if (page.size() < 10) {
+                break;
+            }
+            cursor = TaskKey.decode(TaskKey.of(page.get(page.size() - 1)).encode());
+        }
+        List<Task> firstDocumentPage = repository.findByDocumentId("doc-0", null, 5);
+        List<Task> secondDocumentPage = repository.findByDocumentId("doc-0",
+                TaskKey.of(firstDocumentPage.get(4)), 5);
+
+        assertThat(seen).hasSize(25).doesNotHaveDuplicates();
+        assertThat(seen.get(0)).isEqualTo("t24");
+        assertThat(ids(firstDocumentPage)).containsExactly("t24", "t22", "t20", "t18", "t16");
+        assertThat(ids(secondDocumentPage)).containsExactly("t14", "t12", "t10", "t08", "t06");
+        assertThat(repository.findByAssignedUserId("user-1", TaskKey.of(repository.findActiveById("t00")), 10)).isEmpty();
+    }
+
+    @Test
+    void queryCombinesFilters() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1).toBuilder()
+                .priority(Task.TaskPriority.HIGH).dueDate(BASE.plusDays(1)).build());
+        repository.save(task("t2", "doc-1", "user-2", Task.TaskStatus.PENDING, 2).toBuilder()
+                .priority(Task.TaskPriority.HIGH).dueDate(BASE.plusDays(5)).build());
+        repository.save(task("t3", "doc-1", "user-1", Task.TaskStatus.COMPLETED, 3));
+        repository.save(task("t4", "doc-2", "user-1", Task.TaskStatus.PENDING, 4).toBuilder()
+                .priority(Task.TaskPriority.HIGH).dueDate(BASE.plusDays(1)).build());
+
+        List<Task> byDocumentAndPriority = repository.query(
+                new TaskQuery("doc-1", null, null, Task.TaskPriority.HIGH, null, null), null).collect(Collectors.toList());
+        List<Task> byUserAndStatus = repository.query(
+                new TaskQuery(null, "user-1", Task.TaskStatus.PENDING, null, null, null), null).collect(Collectors.toList());
+        List<Task> byDueRange = repository.query(
+                new TaskQuery(null, null, null, null, BASE, BASE.plusDays(2)), null).collect(Collectors.toList());
+        List<Task> afterCursor = repository.query(
+                new TaskQuery(null, "user-1", null, null, null, null), TaskKey.of(repository.findActiveById("t3")))
+                .collect(Collectors.toList());
+
+        assertThat(ids(byDocumentAndPriority)).containsExactly("t2", "t1");
+        assertThat(ids(byUserAndStatus)).containsExactly("t4", "t1");
+        assertThat(ids(byDueRange)).containsExactly("t4", "t1");
+        assertThat(ids(afterCursor)).containsExactly("t1");
+    }
+
+    @Test
+    void queryByDueRangeKeepsDefaultOrderAndCompletedTasks() {
+        for (int i = 0; i < 20; i++) {
+            repository.save(task(String.format("n%02d", i), "doc-1", "user-1", Task.TaskStatus.PENDING, 100 + i));
+        }
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1).toBuilder()
+                .dueDate(BASE.plusDays(1)).build());
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.COMPLETED, 2).toBuilder()
+                .dueDate(BASE.plusDays(1)).build());
+        repository.save(task("t3", "doc-2", "user-2", Task.TaskStatus.IN_PROGRESS, 3).toBuilder()
+                .dueDate(BASE.plusHours(30)).build());
+        repository.save(task("t4", "doc-1", "user-1", Task.TaskStatus.PENDING, 4).toBuilder()
+                .dueDate(BASE.plusDays(9)).build());
+        TaskQuery range = new TaskQuery(null, null, null, null, BASE, BASE.plusDays(2));
+
+        assertThat(ids(repository.query(range, null).collect(Collectors.toList()))).containsExactly("t3", "t2", "t1");
+        assertThat(ids(repository.query(range, TaskKey.of(repository.findActiveById("t3"))).collect(Collectors.toList())))
+                .containsExactly("t2", "t1");
+        assertThat(ids(repository.query(new TaskQuery(null, null, Task.TaskStatus.PENDING, null, BASE, BASE.plusDays(2)), null)
+                .collect(Collectors.toList()))).containsExactly("t1");
+        assertThat(ids(repository.query(new TaskQuery(null, null, Task.TaskStatus.COMPLETED, null, BASE, BASE.plusDays(2)), null)
+                .collect(Collectors.toList()))).containsExactly("t2");
+        assertThat(ids(repository.query(new TaskQuery(null, null, null, null, BASE.plusDays(5), null), null)
+                .collect(Collectors.toList()))).containsExactly("t4");
+    }
+
+    @Test
+    void dueDateIndexSkipsCompletedAndDeletedTasks() {
+        Task first = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1).toBuilder()
+                .dueDate(BASE.plusDays(2)).build());
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2).toBuilder()
+                .dueDate(BASE.plusDays(1)).build());
+        repository.save(task("t3", "doc-1", "user-1", Task.TaskStatus.PENDING, 3).toBuilder()
+                .dueDate(BASE.plusDays(3)).build());
+        repository.save(task("t4", "doc-1", "user-1", Task.TaskStatus.PENDING, 4));
+
+        assertThat(ids(repository.findOpenByDueDate(BASE, BASE.plusDays(10), null, 10))).containsExactly("t2", "t1", "t3");
+        assertThat(ids(repository.findOpenByDueDate(null, BASE.plusDays(2), null, 10))).containsExactly("t2");
+
+        repository.update(nextVersion(first, Task.TaskStatus.COMPLETED));
+        repository.deleteById("t3");
+        List<Task> open = repository.findOpenByDueDate(BASE, BASE.plusDays(10), null, 10);
+        assertThat(ids(open)).containsExactly("t2");
+
+        TaskDueKey cursor = TaskDueKey.decode(TaskDueKey.of(open.get(0)).encode());
+        assertThat(repository.findOpenByDueDate(BASE, BASE.plusDays(10), cursor, 10)).isEmpty();
+    }
+
+    @Test
+    void dueDateIndexOrdersDatesOutsideTheNanosecondRange() {
+        LocalDateTime farFuture = LocalDateTime.of(2300, 1, 1, 0, 0);
+        LocalDateTime farPast = LocalDateTime.of(1600, 1, 1, 0, 0);
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1).toBuilder()
+                .dueDate(farFuture).build());
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2).toBuilder()
+                .dueDate(BASE.plusDays(1)).build());
+        repository.save(task("t3", "doc-1", "user-1", Task.TaskStatus.PENDING, 3).toBuilder()
+                .dueDate(farPast).build());
+
+        assertThat(ids(repository.findOpenByDueDate(null, null, null, 10))).containsExactly("t3", "t2", "t1");
+        assertThat(ids(repository.findOpenByDueDate(null, BASE.plusDays(10), null, 10))).containsExactly("t3", "t2");
+        assertThat(ids(repository.findOpenByDueDate(farFuture.minusYears(1), farFuture.plusYears(1), null, 10)))
+                .containsExactly("t1");
+
+        TaskDueKey cursor = TaskDueKey.decode(TaskDueKey.of(repository.findById("t2").orElseThrow()).encode());
+        assertThat(ids(repository.findOpenByDueDate(null, null, cursor, 10))).containsExactly("t1");
+    }
+
+    @Test
+    void purgeRemovesDeletedTaskAtExpectedVersion() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.save(task("t2", "doc-1", "user-1", Task.TaskStatus.PENDING, 2));
+        repository.deleteById("t1");
+        LocalDateTime cutoff = LocalDateTime.now().plusMinutes(1);
+
+        List<Task> deleted = repository.findDeletedBefore(cutoff, 10);
+        assertThat(ids(deleted)).containsExactly("t1");
+        assertThat(repository.purge("t2", 1)).isEqualTo(-1);
+        assertThat(repository.purge("t1", deleted.get(0).getVersion() - 1)).isEqualTo(-1);
+
+        assertThat(repository.purge("t1", deleted.get(0).getVersion())).isPositive();
+        assertThat(repository.findById("t1")).isEmpty();
+        assertThat(repository.existsById("t1")).isFalse();
+        assertThat(repository.findDeletedBefore(cutoff, 10)).isEmpty();
+        assertThat(repository.countDeleted()).isZero();
+        assertThat(repository.allTasks()).extracting(Task::getId).containsExactly("t2");
+        assertThat(repository.purge("t1", deleted.get(0).getVersion())).isEqualTo(-1);
+    }
+
+    @Test
+    void purgedIdCanBeCreatedAgain() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        repository.deleteById("t1");
+        repository.purge("t1", 2);
+
+        Task recreated = repository.save(task("t1", "doc-2", "user-2", Task.TaskStatus.IN_PROGRESS, 5));
+
+        assertThat(repository.findById("t1")).contains(recreated);
+        assertThat(ids(repository.findByDocumentId("doc-2"))).containsExactly("t1");
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void storageIsReusedAfterPurge() {
+        for (int round = 0; round < 3; round++) {
+            List<String> created = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String id = "r" + round + "-" + i;
+                repository.save(task(id, "doc-" + (i % 5), "user-" + (i % 3), Task.TaskStatus.PENDING, i));
+                created.add(id);
+            }
+            List<Task> deleted = repository.deleteAllById(created);
+            for (Task task : deleted) {
+                assertThat(repository.purge(task.getId(), task.getVersion())).isPositive();
+            }
+            for (String id : created) {
+                assertThat(repository.findById(id)).isEmpty();
+            }
+        }
+        repository.save(task("last", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+
+        assertThat(repository.allTasks()).extracting(Task::getId).containsExactly("last");
+        assertThat(ids(repository.findByDocumentId("doc-1"))).containsExactly("last");
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.countDeleted()).isZero();
+    }
+
+    @Test
+    void restoreKeepsNewestVersion() {
+        Task first = task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1);
+        Task second = nextVersion(first, Task.TaskStatus.COMPLETED);
+
+        repository.restore(second);
+        repository.restore(first);
+
+        assertThat(repository.findById("t1")).contains(second);
+        assertThat(repository.countByStatus(Task.TaskStatus.COMPLETED)).isEqualTo(1);
+    }
+
+    @Test
+    void versionsChangeOnlyForAffectedCollections() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        long all = repository.version();
+        long document = repository.versionByDocumentId("doc-1");
+        long otherDocument = repository.versionByDocumentId("doc-2");
+
+        repository.computeIfActive("t1", current -> nextVersion(current, Task.TaskStatus.COMPLETED));
+
+        assertThat(repository.version()).isNotEqualTo(all);
+        assertThat(repository.versionByDocumentId("doc-1")).isNotEqualTo(document);
+        assertThat(repository.versionByDocumentId("doc-2")).isEqualTo(otherDocument);
+    }
+
+    @Test
+    void rejectedJournalAppendLeavesRepositoryUnchanged() {
+        Task saved = repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        List<Task> notified = new ArrayList<>();
+        repository.attachChangeListener((previous, current) -> notified.add(current));
+        repository.attachJournal(new TaskJournal() {
+            @Override
+            public long append(Task task) {
+                throw new IllegalStateException("El WAL de tareas está cerrado");
+            }
+
+            @Override
+            public void awaitDurable(long sequence) {
+            }
+        });
+
+        assertThatThrownBy(() -> repository.update(saved.toBuilder()
+                .documentId("doc-2")
+                .status(Task.TaskStatus.COMPLETED)
+                .version(2)
+                .build()))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.findById("t1")).contains(saved);
+        assertThat(ids(repository.findByDocumentId("doc-1"))).containsExactly("t1");
+        assertThat(repository.findByDocumentId("doc-2")).isEmpty();
+        assertThat(repository.countByStatus(Task.TaskStatus.PENDING)).isEqualTo(1);
+        assertThat(repository.countByStatus(Task.TaskStatus.COMPLETED)).isZero();
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    void clearRemovesEverything() {
+        repository.save(task("t1", "doc-1", "user-1", Task.TaskStatus.PENDING, 1));
+        long epoch = repository.epoch();
+
+        repository.clear();
+
+        assertThat(repository.isEmpty()).isTrue();
+        assertThat(repository.findAll()).isEmpty();
+        assertThat(repository.count()).isZero();
+        assertThat(repository.epoch()).isNotEqualTo(epoch);
+    }
+}
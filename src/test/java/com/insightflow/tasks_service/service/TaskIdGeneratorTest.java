@@ -0,0 +1,99 @@
+package com.insightflow.tasks_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Orden y unicidad de los IDs de tareas (UUID versión 7).
+ */
+class TaskIdGeneratorTest {
+    private static long millis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long counter(UUID id) {
+        return id.getMostSignificantBits() & 0xFFF;
+    }
+
+    private static void assertStrictlyIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            UUID previous = ids.get(i - 1);
+            UUID current = ids.get(i);
+            assertThat(current.toString()).isGreaterThan(previous.toString());
+            assertThat(millis(current) > millis(previous)
+                    || millis(current) == millis(previous) && counter(current) > counter(previous)).isTrue();
+        }
+    }
+
+    @Test
+    void idsAreVersion7AndStartWithTheCreationMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID id = TaskIdGenerator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(millis(id)).isGreaterThanOrEqualTo(before);
+        assertThat(UUID.fromString(TaskIdGenerator.nextId()).version()).isEqualTo(7);
+    }
+
+    @Test
+    void idsIncreaseWithinEachThreadAndAreUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    go.await();
+                    List<UUID> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(TaskIdGenerator.next());
+                    }
+                    return ids;
+                }));
+            }
+            go.countDown();
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> future : futures) {
+                List<UUID> ids = future.get(30, TimeUnit.SECONDS);
+                assertStrictlyIncreasing(ids);
+                all.addAll(ids);
+            }
+            assertThat(all).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void counterOverflowContinuesInTheNextMillisecond() throws Exception {
+        Field field = TaskIdGenerator.class.getDeclaredField("LAST");
+        field.setAccessible(true);
+        AtomicLong last = (AtomicLong) field.get(null);
+        // Un segundo por delante del reloj, para que el reloj no alcance al contador durante la prueba
+        long millisecond = System.currentTimeMillis() + 1_000;
+        last.set(millisecond << 12 | 4093);
+
+        List<UUID> ids = List.of(TaskIdGenerator.next(), TaskIdGenerator.next(), TaskIdGenerator.next());
+
+        assertStrictlyIncreasing(ids);
+        assertThat(ids).extracting(TaskIdGeneratorTest::millis).containsExactly(millisecond, millisecond, millisecond + 1);
+        assertThat(ids).extracting(TaskIdGeneratorTest::counter).containsExactly(4094L, 4095L, 0L);
+    }
+}
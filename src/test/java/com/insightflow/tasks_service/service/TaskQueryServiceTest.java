@@ -0,0 +1,151 @@
+package com.insightflow.tasks_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskQueryRequest;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskQueryResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Búsquedas con filtros, orden, proyección de campos y paginación.
+ */
+class TaskQueryServiceTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final Task.TaskPriority[] PRIORITIES = Task.TaskPriority.values();
+    private static final Task.TaskStatus[] STATUSES = Task.TaskStatus.values();
+
+    private TaskRepository repository;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        TaskResponseCache cache = new TaskResponseCache(new TaskCacheProperties(), new ObjectMapper().findAndRegisterModules());
+        service = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(), cache);
+        for (int i = 0; i < 60; i++) {
+            repository.save(Task.builder()
+                    .id(String.format("t%02d", i))
+                    .documentId("doc-" + (i % 3))
+                    .title("Tarea " + (i * 7 % 60))
+                    .status(STATUSES[i % STATUSES.length])
+                    .assignedUserId("user-" + (i % 2))
+                    .priority(PRIORITIES[i % PRIORITIES.length])
+                    .dueDate(i % 5 == 0 ? null : BASE.plusHours(i * 11 % 60))
+                    .createdAt(BASE.plusMinutes(i))
+                    .updatedAt(BASE.plusMinutes(i))
+                    .active(true)
+                    .build());
+        }
+    }
+
+    private static List<String> ids(TaskQueryResponse response) {
+        return response.getTasks().stream().map(task -> ((TaskResponse) task).getId()).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> projection(Object task) {
+        return (Map<String, Object>) task;
+    }
+
+    private List<Task> allActive() {
+        return new ArrayList<>(repository.findAll());
+    }
+
+    @Test
+    void sortedQueryReturnsTheFirstTasksOfTheFullOrder() {
+        Comparator<Task> order = Comparator.comparing(Task::getPriority)
+                .thenComparing(Task::getDueDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()));
+        List<String> expected = allActive().stream()
+                .filter(task -> task.getDocumentId().equals("doc-1"))
+                .sorted(order)
+                .limit(7)
+                .map(Task::getId)
+                .toList();
+
+        TaskQueryResponse response = service.queryTasks(TaskQueryRequest.builder()
+                .documentId("doc-1").sort("priority,-dueDate").limit(7).build());
+
+        assertThat(ids(response)).containsExactlyElementsOf(expected);
+        assertThat(response.getNextCursor()).isNull();
+    }
+
+    @Test
+    void sortTiesKeepNewestFirst() {
+        List<String> expected = allActive().stream()
+                .filter(task -> task.getStatus() == Task.TaskStatus.PENDING)
+                .map(Task::getId)
+                .limit(5)
+                .toList();
+
+        assertThat(ids(service.queryTasks(TaskQueryRequest.builder().sort("status").limit(5).build())))
+                .containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void sortedQueryRejectsCursorAndUnknownKeys() {
+        assertThatThrownBy(() -> service.queryTasks(TaskQueryRequest.builder().sort("title").cursor("abc").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.queryTasks(TaskQueryRequest.builder().sort("owner").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fieldsProjectOnlyTheRequestedNonNullValues() {
+        TaskQueryResponse response = service.queryTasks(TaskQueryRequest.builder()
+                .documentId("doc-0").fields("id, title,dueDate,id").limit(60).build());
+
+        assertThat(response.getTasks()).hasSize(20).allSatisfy(task ->
+                assertThat(projection(task).keySet()).isSubsetOf("id", "title", "dueDate").contains("id", "title"));
+        Map<String, Object> withoutDueDate = response.getTasks().stream()
+                .map(TaskQueryServiceTest::projection)
+                .filter(task -> task.get("id").equals("t00"))
+                .findFirst().orElseThrow();
+        assertThat(withoutDueDate.keySet()).containsExactly("id", "title");
+        assertThatThrownBy(() -> service.queryTasks(TaskQueryRequest.builder().fields("id,secret").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void dueRangePagesFollowTheCursorAndIncludeCompletedTasks() {
+        LocalDateTime from = BASE.plusHours(10);
+        LocalDateTime to = BASE.plusHours(40);
+        List<String> expected = allActive().stream()
+                .filter(task -> task.getDueDate() != null && !task.getDueDate().isBefore(from) && task.getDueDate().isBefore(to))
+                .map(Task::getId)
+                .toList();
+        assertThat(expected).anyMatch(id -> repository.findActiveById(id).getStatus() == Task.TaskStatus.COMPLETED);
+
+        List<String> collected = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskQueryResponse page = service.queryTasks(TaskQueryRequest.builder()
+                    .dueFrom(from).dueTo(to).cursor(cursor).limit(4).build());
+            assertThat(page.getTasks()).hasSizeLessThanOrEqualTo(4);
+            collected.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(collected).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void invalidDueRangeIsRejected() {
+        assertThatThrownBy(() -> service.queryTasks(TaskQueryRequest.builder().dueFrom(BASE).dueTo(BASE).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,142 @@
+package com.insightflow.tasks_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.BatchUpdateItem;
+import com.insightflow.tasks_service.dto.TaskDTOs.CreateTaskRequest;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.UpdateTaskRequest;
+import com.insightflow.tasks_service.dto.TaskDTOs.UpdateTaskStatusRequest;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los listados por documento y por usuario se sirven desde la caché y nunca quedan desactualizados tras una escritura.
+ */
+class TaskResponseCacheTest {
+    private TaskRepository repository;
+    private TaskResponseCache cache;
+    private TaskService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        cache = new TaskResponseCache(new TaskCacheProperties(), new ObjectMapper().findAndRegisterModules());
+        service = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(), cache);
+    }
+
+    private TaskResponse create(String documentId, String userId, String title) {
+        return service.createTask(CreateTaskRequest.builder()
+                .documentId(documentId)
+                .title(title)
+                .status("PENDING")
+                .assignedUserId(userId)
+                .dueDate(LocalDateTime.of(2025, 6, 1, 0, 0))
+                .build());
+    }
+
+    private static List<String> titles(List<TaskResponse> tasks) {
+        return tasks.stream().map(TaskResponse::getTitle).toList();
+    }
+
+    private long hits() {
+        return cache.nativeCache().stats().hitCount();
+    }
+
+    @Test
+    void secondReadIsServedFromTheCache() {
+        create("doc-1", "user-1", "A");
+
+        List<TaskResponse> first = service.getTasksByDocumentId("doc-1");
+        List<TaskResponse> second = service.getTasksByDocumentId("doc-1");
+
+        assertThat(hits()).isEqualTo(1);
+        assertThat(second).isNotSameAs(first).containsExactlyElementsOf(first);
+    }
+
+    @Test
+    void updateInvalidatesCachedDocumentAndUserLists() {
+        TaskResponse task = create("doc-1", "user-1", "A");
+        service.getTasksByDocumentId("doc-1");
+        service.getTasksByAssignedUserId("user-1");
+
+        service.updateTask(task.getId(), UpdateTaskRequest.builder().title("B").build(), null);
+
+        assertThat(titles(service.getTasksByDocumentId("doc-1"))).containsExactly("B");
+        assertThat(titles(service.getTasksByAssignedUserId("user-1"))).containsExactly("B");
+        assertThat(hits()).isZero();
+    }
+
+    @Test
+    void reassignmentInvalidatesBothUserLists() {
+        TaskResponse task = create("doc-1", "user-1", "A");
+        create("doc-1", "user-2", "B");
+        service.getTasksByAssignedUserId("user-1");
+        service.getTasksByAssignedUserId("user-2");
+
+        service.updateTask(task.getId(), UpdateTaskRequest.builder().assignedUserId("user-2").build(), null);
+
+        assertThat(service.getTasksByAssignedUserId("user-1")).isEmpty();
+        assertThat(titles(service.getTasksByAssignedUserId("user-2"))).containsExactlyInAnyOrder("A", "B");
+    }
+
+    @Test
+    void statusChangeDeleteAndBatchWritesInvalidateTheList() {
+        TaskResponse first = create("doc-1", "user-1", "A");
+        TaskResponse second = create("doc-1", "user-1", "B");
+        service.getTasksByDocumentId("doc-1");
+
+        service.updateTaskStatus(first.getId(), UpdateTaskStatusRequest.builder().status("COMPLETED").build(), null);
+        assertThat(service.getTasksByDocumentId("doc-1"))
+                .filteredOn(task -> task.getId().equals(first.getId()))
+                .extracting(TaskResponse::getStatus).containsExactly(Task.TaskStatus.COMPLETED);
+
+        service.updateTasks(List.of(BatchUpdateItem.builder()
+                .id(second.getId())
+                .changes(UpdateTaskRequest.builder().title("B2").build())
+                .build()));
+        assertThat(titles(service.getTasksByDocumentId("doc-1"))).containsExactlyInAnyOrder("A", "B2");
+
+        service.deleteTask(first.getId());
+        assertThat(titles(service.getTasksByDocumentId("doc-1"))).containsExactly("B2");
+
+        service.deleteTasks(List.of(second.getId()));
+        assertThat(service.getTasksByDocumentId("doc-1")).isEmpty();
+    }
+
+    @Test
+    void writeThatBypassesTheServiceIsDetectedByTheCollectionVersion() {
+        TaskResponse task = create("doc-1", "user-1", "A");
+        service.getTasksByDocumentId("doc-1");
+        Task stored = repository.findActiveById(task.getId());
+
+        repository.update(stored.toBuilder().title("Directa").version(stored.getVersion() + 1).build());
+
+        assertThat(titles(service.getTasksByDocumentId("doc-1"))).containsExactly("Directa");
+        assertThat(hits()).isZero();
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        TaskCacheProperties properties = new TaskCacheProperties();
+        properties.setEnabled(false);
+        cache = new TaskResponseCache(properties, new ObjectMapper().findAndRegisterModules());
+        service = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(), cache);
+        create("doc-1", "user-1", "A");
+
+        service.getTasksByDocumentId("doc-1");
+        service.getTasksByDocumentId("doc-1");
+
+        assertThat(cache.nativeCache().estimatedSize()).isZero();
+        assertThat(hits()).isZero();
+    }
+}
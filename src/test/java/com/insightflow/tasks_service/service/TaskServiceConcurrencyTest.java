@@ -0,0 +1,147 @@
+package com.insightflow.tasks_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insightflow.tasks_service.config.TaskCacheProperties;
+import com.insightflow.tasks_service.dto.TaskDTOs.CreateTaskRequest;
+import com.insightflow.tasks_service.dto.TaskDTOs.TaskResponse;
+import com.insightflow.tasks_service.dto.TaskDTOs.UpdateTaskRequest;
+import com.insightflow.tasks_service.dto.TaskDTOs.UpdateTaskStatusRequest;
+import com.insightflow.tasks_service.exception.TaskNotFoundException;
+import com.insightflow.tasks_service.exception.TaskVersionConflictException;
+import com.insightflow.tasks_service.model.Task;
+import com.insightflow.tasks_service.repository.InMemoryTaskRepository;
+import com.insightflow.tasks_service.repository.TaskRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Modificaciones concurrentes de una misma tarea desde el servicio: se aplican una después de la otra y ninguna se pierde.
+ */
+class TaskServiceConcurrencyTest {
+    private static final int THREADS = 8;
+
+    private TaskRepository repository;
+    private TaskService service;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+        TaskResponseCache cache = new TaskResponseCache(new TaskCacheProperties(), new ObjectMapper().findAndRegisterModules());
+        service = new TaskService(repository, Validation.buildDefaultValidatorFactory().getValidator(), cache);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private TaskResponse create() {
+        return service.createTask(CreateTaskRequest.builder()
+                .documentId("doc-1")
+                .title("Tarea")
+                .status("PENDING")
+                .assignedUserId("user-1")
+                .dueDate(LocalDateTime.of(2025, 6, 1, 0, 0))
+                .build());
+    }
+
+    /**
+     * Ejecuta la misma tarea en todos los hilos a la vez y espera a que terminen.
+     */
+    private void runConcurrently(Callable<Void> work) throws Exception {
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                go.await();
+                return work.call();
+            }));
+        }
+        go.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void concurrentUpdatesWithoutIfMatchAreAllApplied() throws Exception {
+        String id = create().getId();
+        int updatesPerThread = 200;
+        AtomicInteger next = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int i = 0; i < updatesPerThread; i++) {
+                String priority = Task.TaskPriority.values()[next.incrementAndGet() % Task.TaskPriority.values().length].name();
+                service.updateTask(id, UpdateTaskRequest.builder().priority(priority).build(), null);
+                service.updateTaskStatus(id, UpdateTaskStatusRequest.builder().status("IN_PROGRESS").build(), null);
+            }
+            return null;
+        });
+
+        assertThat(service.getTaskById(id).getVersion()).isEqualTo(1 + 2L * THREADS * updatesPerThread);
+        assertThat(repository.countByStatus(Task.TaskStatus.IN_PROGRESS)).isEqualTo(1);
+    }
+
+    @Test
+    void onlyOneConcurrentUpdateWinsTheSameIfMatchVersion() throws Exception {
+        String id = create().getId();
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                service.updateTask(id, UpdateTaskRequest.builder().title(Thread.currentThread().getName()).build(), 1L);
+                applied.incrementAndGet();
+            } catch (TaskVersionConflictException e) {
+                rejected.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertThat(applied.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(THREADS - 1);
+        assertThat(service.getTaskById(id).getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void updatesRacingWithDeleteNeverResurrectTheTask() throws Exception {
+        String id = create().getId();
+        AtomicInteger applied = new AtomicInteger();
+        Future<?> deletion = executor.submit(() -> service.deleteTask(id));
+
+        runConcurrently(() -> {
+            for (int i = 0; i < 200; i++) {
+                try {
+                    service.updateTask(id, UpdateTaskRequest.builder().title("Carrera " + i).build(), null);
+                    applied.incrementAndGet();
+                } catch (TaskNotFoundException e) {
+                    return null;
+                }
+            }
+            return null;
+        });
+        deletion.get(30, TimeUnit.SECONDS);
+
+        Task stored = repository.findById(id).orElseThrow();
+        assertThat(stored.isActive()).isFalse();
+        assertThat(stored.getVersion()).isEqualTo(1 + applied.get() + 1);
+        assertThat(repository.count()).isZero();
+    }
+}